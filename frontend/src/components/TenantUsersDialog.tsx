@@ -25,6 +25,7 @@ import EditIcon from '@mui/icons-material/Edit'
 import DeleteIcon from '@mui/icons-material/Delete'
 import CloseIcon from '@mui/icons-material/Close'
 import apiService from '@/services/api'
+import { subscribeToChanges } from '@/services/events'
 import type { Tenant, TenantUser, CreateTenantUserRequest, UpdateTenantUserRequest } from '@/types'
 import TenantUserDialog from './TenantUserDialog'
 
@@ -44,10 +45,10 @@ export default function TenantUsersDialog({ open, onClose, tenant }: TenantUsers
   const [deleteDialogOpen, setDeleteDialogOpen] = useState(false)
   const [userToDelete, setUserToDelete] = useState<TenantUser | null>(null)
 
-  const fetchUsers = async () => {
+  const fetchUsers = async (showLoading = true) => {
     if (!tenant) return
 
-    setLoading(true)
+    setLoading(showLoading)
     setError('')
     try {
       const response = await apiService.getTenantUsers(tenant.id)
@@ -69,6 +70,18 @@ export default function TenantUsersDialog({ open, onClose, tenant }: TenantUsers
     }
   }, [open, tenant])
 
+  useEffect(() => {
+    if (!open || !tenant) return
+    return subscribeToChanges(
+      (event) => {
+        if (event.entity === 'TENANT_USER' && event.tenantId === tenant.id) {
+          fetchUsers(false)
+        }
+      },
+      () => fetchUsers(false)
+    )
+  }, [open, tenant])
+
   const handleCreateClick = () => {
     setUserDialogMode('create')
     setSelectedUser(undefined)
@@ -8,9 +8,12 @@ import {
   CardActionArea,
 } from '@mui/material'
 import { useNavigate } from '@tanstack/react-router'
+import { useEffect, useState } from 'react'
 import PeopleIcon from '@mui/icons-material/People'
 import BusinessIcon from '@mui/icons-material/Business'
 import SettingsIcon from '@mui/icons-material/Settings'
+import apiService from '@/services/api'
+import type { PlatformStats } from '@/types'
 
 export const Route = createFileRoute('/platform/_authenticated/dashboard')({
   component: PlatformDashboard,
@@ -18,6 +21,15 @@ export const Route = createFileRoute('/platform/_authenticated/dashboard')({
 
 function PlatformDashboard() {
   const navigate = useNavigate()
+  const [stats, setStats] = useState<PlatformStats | null>(null)
+
+  useEffect(() => {
+    apiService.getPlatformStats().then((response) => {
+      if (response.data) {
+        setStats(response.data as PlatformStats)
+      }
+    })
+  }, [])
 
   return (
     <Box>
@@ -38,9 +50,13 @@ function PlatformDashboard() {
                   <Typography variant="h5">Tenants</Typography>
                 </Box>
                 <Typography variant="h3" color="primary.main">
-                  -
+                  {stats ? stats.totalTenants.toLocaleString() : '-'}
+                </Typography>
+                <Typography color="text.secondary">
+                  {stats
+                    ? `${(stats.tenantsByStatus.ACTIVE ?? 0).toLocaleString()} active, ${stats.totalMembers.toLocaleString()} members`
+                    : 'Manage Tenants'}
                 </Typography>
-                <Typography color="text.secondary">Manage Tenants</Typography>
               </CardContent>
             </CardActionArea>
           </Card>
@@ -28,6 +28,7 @@ import EditIcon from '@mui/icons-material/Edit'
 import DeleteIcon from '@mui/icons-material/Delete'
 import PeopleIcon from '@mui/icons-material/People'
 import apiService from '@/services/api'
+import { subscribeToChanges } from '@/services/events'
 import { Tenant, CreateTenantRequest, UpdateTenantRequest } from '@/types'
 import TenantDialog from '@/components/TenantDialog'
 
@@ -46,8 +47,8 @@ function TenantsPage() {
   const [tenantToDelete, setTenantToDelete] = useState<Tenant | null>(null)
   const navigate = useNavigate()
 
-  const fetchTenants = async () => {
-    setLoading(true)
+  const fetchTenants = async (showLoading = true) => {
+    setLoading(showLoading)
     setError('')
     try {
       const response = await apiService.getTenants()
@@ -67,6 +68,18 @@ function TenantsPage() {
     fetchTenants()
   }, [])
 
+  // Other admins' changes show up without a manual refresh
+  useEffect(() => {
+    return subscribeToChanges(
+      (event) => {
+        if (event.entity === 'TENANT') {
+          fetchTenants(false)
+        }
+      },
+      () => fetchTenants(false)
+    )
+  }, [])
+
   const handleCreateClick = () => {
     setDialogMode('create')
     setSelectedTenant(undefined)
@@ -1,6 +1,7 @@
 // API service for making HTTP requests to the backend
 
 const API_BASE_URL = '/api'
+const TOKEN_STORAGE_KEY = 'mms.authToken'
 
 interface LoginRequest {
   username: string
@@ -23,10 +24,13 @@ class ApiService {
     options: RequestInit = {}
   ): Promise<ApiResponse<T>> {
     try {
+      // Stateless auth mode: the backend returns a token at login instead of a session cookie
+      const token = sessionStorage.getItem(TOKEN_STORAGE_KEY)
       const response = await fetch(`${API_BASE_URL}${endpoint}`, {
         ...options,
         headers: {
           'Content-Type': 'application/json',
+          ...(token ? { Authorization: `Bearer ${token}` } : {}),
           ...options.headers,
         },
         credentials: 'include', // Include cookies for session management
@@ -49,18 +53,32 @@ class ApiService {
     }
   }
 
+  private storeToken(response: ApiResponse<unknown>) {
+    const token = (response.data as { token?: string } | undefined)?.token
+    if (token) {
+      sessionStorage.setItem(TOKEN_STORAGE_KEY, token)
+    }
+    return response
+  }
+
+  private async logout(endpoint: string) {
+    const response = await this.request(endpoint, {
+      method: 'POST',
+    })
+    sessionStorage.removeItem(TOKEN_STORAGE_KEY)
+    return response
+  }
+
   // Platform authentication
   async platformLogin(credentials: LoginRequest) {
-    return this.request('/auth/platform/login', {
+    return this.storeToken(await this.request('/auth/platform/login', {
       method: 'POST',
       body: JSON.stringify(credentials),
-    })
+    }))
   }
 
   async platformLogout() {
-    return this.request('/auth/platform/logout', {
-      method: 'POST',
-    })
+    return this.logout('/auth/platform/logout')
   }
 
   // Check authentication status
@@ -72,16 +90,14 @@ class ApiService {
 
   // Tenant authentication
   async tenantLogin(credentials: TenantLoginRequest) {
-    return this.request('/auth/tenant/login', {
+    return this.storeToken(await this.request('/auth/tenant/login', {
       method: 'POST',
       body: JSON.stringify(credentials),
-    })
+    }))
   }
 
   async tenantLogout() {
-    return this.request('/auth/tenant/logout', {
-      method: 'POST',
-    })
+    return this.logout('/auth/tenant/logout')
   }
 
   // Platform API endpoints
@@ -125,12 +141,32 @@ class ApiService {
     })
   }
 
+  // Answers 202 with the progress of the background purge
   async deleteTenant(id: string) {
     return this.request(`/platform/tenants/${id}`, {
       method: 'DELETE',
     })
   }
 
+  async getTenantDeletion(id: string) {
+    return this.request(`/platform/tenants/${id}/deletion`, {
+      method: 'GET',
+    })
+  }
+
+  // Platform dashboard statistics
+  async getPlatformStats() {
+    return this.request('/platform/stats', {
+      method: 'GET',
+    })
+  }
+
+  async getTenantStats(tenantId: string) {
+    return this.request(`/platform/stats/tenants/${tenantId}`, {
+      method: 'GET',
+    })
+  }
+
   // Tenant API endpoints
   async getTenantMembers() {
     return this.request('/tenant/members', {
@@ -0,0 +1,40 @@
+// Live tenant and member changes pushed by the backend over Server-Sent Events
+
+const EVENTS_URL = '/api/platform/events'
+const TOKEN_STORAGE_KEY = 'mms.authToken'
+
+export interface ChangeEvent {
+  entity: 'TENANT' | 'TENANT_USER'
+  action: 'CREATED' | 'UPDATED' | 'DELETED'
+  id: string
+  tenantId: string
+}
+
+/**
+ * Calls `onChange` for every committed change and `onResync` when events may have been missed
+ * (the server lost its database listener, or this client was dropped for falling behind and
+ * reconnected). Returns a function that closes the stream.
+ */
+export function subscribeToChanges(onChange: (event: ChangeEvent) => void, onResync: () => void) {
+  // EventSource cannot send an Authorization header, so only session cookie auth gets live updates
+  if (sessionStorage.getItem(TOKEN_STORAGE_KEY)) {
+    return () => {}
+  }
+
+  const source = new EventSource(EVENTS_URL, { withCredentials: true })
+  let opened = false
+
+  source.addEventListener('change', (message) => {
+    onChange(JSON.parse((message as MessageEvent).data) as ChangeEvent)
+  })
+  source.addEventListener('resync', onResync)
+  source.onopen = () => {
+    // Anything may have changed while the stream was down
+    if (opened) {
+      onResync()
+    }
+    opened = true
+  }
+
+  return () => source.close()
+}
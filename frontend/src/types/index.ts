@@ -37,6 +37,33 @@ export interface UpdateTenantRequest {
   status?: 'ACTIVE' | 'INACTIVE' | 'SUSPENDED'
 }
 
+export interface PlatformStats {
+  totalTenants: number
+  tenantsByStatus: Record<string, number>
+  totalMembers: number
+  membersByStatus: Record<string, number>
+  loadedAt: string
+}
+
+export interface TenantMemberStats {
+  tenantId: string
+  tenantStatus: string
+  totalMembers: number
+  membersByStatus: Record<string, number>
+}
+
+export interface TenantDeletion {
+  tenantId: string
+  slug: string
+  status: 'IN_PROGRESS' | 'COMPLETED'
+  membersTotal: number
+  membersDeleted: number
+  sessionsDeleted: number
+  requestedBy: string
+  requestedDate: string
+  completedDate: string | null
+}
+
 export interface AuthState {
   isAuthenticated: boolean
   user?: User
@@ -50,6 +77,7 @@ export interface LoginResponse {
   userType: string
   tenantId?: string
   message: string
+  token?: string
 }
 
 export interface TenantUser {
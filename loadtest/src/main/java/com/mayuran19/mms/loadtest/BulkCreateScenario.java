@@ -0,0 +1,34 @@
+package com.mayuran19.mms.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every arrival creates one tenant user in a dedicated tenant with a shared platform session.
+ */
+final class BulkCreateScenario implements Scenario {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private String platformSession;
+    private Fixtures.Tenant tenant;
+
+    @Override
+    public void setUp(MmsClient client, LoadTestOptions options) throws Exception {
+        platformSession = client.platformLogin(options.platformUsername(), options.platformPassword());
+        tenant = Fixtures.createTenant(client, platformSession);
+    }
+
+    @Override
+    public void iteration(MmsClient client, Metrics metrics, long intendedStartNanos) throws Exception {
+        String email = "bulk" + sequence.incrementAndGet() + "@" + tenant.slug() + ".example";
+        MmsClient.Response created = client.post("/api/platform/tenants/" + tenant.id() + "/users",
+            "{\"email\":\"" + email + "\",\"password\":\"" + Fixtures.TENANT_USER_PASSWORD + "\","
+                + "\"firstName\":\"Bulk\",\"lastName\":\"User\",\"isActive\":true}",
+            platformSession);
+        metrics.record("1-create-tenant-user", intendedStartNanos, System.nanoTime(), created.ok());
+    }
+
+    @Override
+    public void tearDown(MmsClient client) throws Exception {
+        client.post("/api/auth/platform/logout", "", platformSession);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mayuran19.mms.loadtest;
+
+import java.io.IOException;
+
+/**
+ * Creates the tenants and tenant users a scenario needs through the platform API, so the
+ * load test works against any database that contains the initial platform admin.
+ */
+final class Fixtures {
+
+    static final String TENANT_USER_PASSWORD = "LoadTest@123";
+
+    private Fixtures() {
+    }
+
+    static Tenant createTenant(MmsClient client, String platformSession) throws IOException, InterruptedException {
+        String slug = "loadtest-" + System.currentTimeMillis();
+        MmsClient.Response response = client.post("/api/platform/tenants",
+            "{\"name\":\"Load Test " + slug + "\",\"slug\":\"" + slug + "\",\"status\":\"ACTIVE\"}",
+            platformSession);
+        return new Tenant(response.firstId("create tenant"), slug);
+    }
+
+    static String createTenantUser(MmsClient client, String platformSession, Tenant tenant, String email)
+            throws IOException, InterruptedException {
+        MmsClient.Response response = client.post("/api/platform/tenants/" + tenant.id() + "/users",
+            "{\"email\":\"" + email + "\",\"password\":\"" + TENANT_USER_PASSWORD + "\","
+                + "\"firstName\":\"Load\",\"lastName\":\"Test\",\"isActive\":true}",
+            platformSession);
+        return response.firstId("create tenant user");
+    }
+
+    record Tenant(String id, String slug) {}
+}
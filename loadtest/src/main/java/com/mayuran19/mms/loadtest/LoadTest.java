@@ -0,0 +1,103 @@
+package com.mayuran19.mms.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Entry point:
+ *
+ * <pre>
+ * cd loadtest
+ * ../mvnw -q compile exec:java -Dexec.args="--scenario=tenant-me --rate=200 --duration=60"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String CSV_HEADER =
+        "timestamp,scenario,step,rate,count,errors,queued,throughput,p50_ms,p99_ms,p999_ms,max_ms";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        MmsClient client = new MmsClient(options.baseUrl());
+        Scenario scenario = scenario(options.scenario());
+        Metrics metrics = new Metrics();
+
+        System.out.printf("Setting up %s against %s%n", options.scenario(), options.baseUrl());
+        scenario.setUp(client, options);
+
+        OpenModelDriver driver = new OpenModelDriver(client, scenario, metrics, options.maxInFlight());
+        if (!options.warmup().isZero()) {
+            System.out.printf("Warming up for %ds at %.1f/s%n", options.warmup().toSeconds(), options.rate());
+            driver.run(options.rate(), options.warmup());
+            metrics.interval();
+            metrics.queuedThenReset();
+        }
+
+        System.out.printf("Measuring for %ds at %.1f/s%n", options.duration().toSeconds(), options.rate());
+        driver.run(options.rate(), options.duration());
+        List<Metrics.StepResult> results = metrics.interval();
+        long queued = metrics.queuedThenReset();
+
+        scenario.tearDown(client);
+        report(options, results, queued);
+    }
+
+    private static Scenario scenario(String name) {
+        return switch (name) {
+            case "platform-browse" -> new PlatformBrowseScenario();
+            case "tenant-me" -> new TenantSessionScenario();
+            case "bulk-create" -> new BulkCreateScenario();
+            case "member-search" -> new MemberSearchScenario();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+        };
+    }
+
+    private static void report(LoadTestOptions options, List<Metrics.StepResult> results, long queued) throws IOException {
+        double seconds = options.duration().toMillis() / 1000.0;
+        String timestamp = Instant.now().toString();
+        StringBuilder csv = new StringBuilder();
+
+        System.out.printf("%n%-24s %10s %8s %8s %12s %10s %10s %10s %10s%n",
+            "step", "count", "errors", "err%", "throughput/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Metrics.StepResult result : results) {
+            Histogram histogram = result.histogram();
+            long count = histogram.getTotalCount();
+            double errorRate = count > 0 ? 100.0 * result.errors() / count : 0;
+            System.out.printf(Locale.ROOT, "%-24s %10d %8d %8.2f %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                result.name(), count, result.errors(), errorRate, count / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+            csv.append(String.format(Locale.ROOT, "%s,%s,%s,%.1f,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                timestamp, options.scenario(), result.name(), options.rate(), count, result.errors(), queued,
+                count / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        }
+        System.out.printf("arrivals queued behind max in-flight: %d%n", queued);
+
+        if (options.reportFile() != null) {
+            if (Files.notExists(options.reportFile())) {
+                Files.writeString(options.reportFile(), CSV_HEADER + System.lineSeparator());
+            }
+            Files.writeString(options.reportFile(), csv, StandardOpenOption.APPEND);
+            System.out.printf("appended results to %s%n", options.reportFile());
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
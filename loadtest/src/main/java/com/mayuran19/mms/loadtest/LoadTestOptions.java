@@ -0,0 +1,62 @@
+package com.mayuran19.mms.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param baseUrl          application under test
+ * @param scenario         {@code platform-browse}, {@code tenant-me}, {@code bulk-create} or
+ *                         {@code member-search}
+ * @param rate             arrivals per second, independent of response times (open model)
+ * @param duration         length of the measured phase
+ * @param warmup           length of the warm-up phase whose results are discarded
+ * @param maxInFlight      iterations running at once; later arrivals wait for a slot, and the wait
+ *                         counts towards their latency
+ * @param sessions         number of pre-authenticated tenant sessions for {@code tenant-me}
+ * @param platformUsername platform user used by the scenarios
+ * @param platformPassword password of the platform user
+ * @param reportFile       CSV file the results are appended to, or {@code null}
+ */
+public record LoadTestOptions(
+    URI baseUrl,
+    String scenario,
+    double rate,
+    Duration duration,
+    Duration warmup,
+    int maxInFlight,
+    int sessions,
+    String platformUsername,
+    String platformPassword,
+    Path reportFile
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String reportFile = values.get("report-file");
+        return new LoadTestOptions(
+            URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+            values.getOrDefault("scenario", "tenant-me"),
+            Double.parseDouble(values.getOrDefault("rate", "50")),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+            Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+            Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+            Integer.parseInt(values.getOrDefault("sessions", "20")),
+            values.getOrDefault("platform-username", "admin"),
+            values.getOrDefault("platform-password", "Admin@123"),
+            reportFile != null ? Path.of(reportFile) : null
+        );
+    }
+}
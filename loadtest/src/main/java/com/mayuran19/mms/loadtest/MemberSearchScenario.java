@@ -0,0 +1,60 @@
+package com.mayuran19.mms.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Member search within the largest tenants, where the trigram index has the most rows to cover.
+ * Run against the {@code datagen} data set; queries are name fragments of the generated members.
+ * One platform session is shared by all arrivals.
+ */
+final class MemberSearchScenario implements Scenario {
+
+    private static final Pattern USER_COUNT = Pattern.compile("\"([0-9a-fA-F-]{36})\"\\s*:\\s*(\\d+)");
+    private static final int TENANTS = 10;
+    private static final String[] QUERIES = {
+        "smith", "garcia", "priya", "tanaka", "kowalski", "jenn", "rober", "ivanov", "chen", "mart"
+    };
+
+    private String session;
+    private List<String> tenantIds;
+
+    @Override
+    public void setUp(MmsClient client, LoadTestOptions options) throws Exception {
+        session = client.platformLogin(options.platformUsername(), options.platformPassword());
+        Matcher matcher = USER_COUNT.matcher(client.get("/api/platform/tenants/user-counts", session).body());
+        Map<String, Long> counts = new HashMap<>();
+        while (matcher.find()) {
+            counts.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+        }
+        tenantIds = counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(TENANTS)
+            .map(Map.Entry::getKey)
+            .toList();
+        if (tenantIds.isEmpty()) {
+            throw new IllegalStateException("No tenants to search, load the datagen data set first");
+        }
+    }
+
+    @Override
+    public void iteration(MmsClient client, Metrics metrics, long intendedStartNanos) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String tenantId = tenantIds.get(random.nextInt(tenantIds.size()));
+        String query = URLEncoder.encode(QUERIES[random.nextInt(QUERIES.length)], StandardCharsets.UTF_8);
+        MmsClient.Response search = client.get("/api/platform/tenants/" + tenantId + "/users/search?q=" + query, session);
+        metrics.record("1-search-members", intendedStartNanos, System.nanoTime(), search.ok());
+    }
+
+    @Override
+    public void tearDown(MmsClient client) throws Exception {
+        client.post("/api/auth/platform/logout", "", session);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mayuran19.mms.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error recording per named step. Latencies are recorded in nanoseconds from the
+ * time the step was <em>supposed</em> to start, which avoids coordinated omission.
+ */
+public final class Metrics {
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final LongAdder queued = new LongAdder();
+
+    public void record(String step, long intendedStartNanos, long endNanos, boolean success) {
+        Step stats = steps.computeIfAbsent(step, name -> new Step());
+        stats.latency.recordValue(Math.max(0, endNanos - intendedStartNanos));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Counts an arrival that had to wait for an in-flight slot before it could start.
+     */
+    public void queued() {
+        queued.increment();
+    }
+
+    /**
+     * Returns the results recorded since the previous call and starts a new interval.
+     */
+    public List<StepResult> interval() {
+        List<StepResult> results = new ArrayList<>();
+        steps.forEach((name, stats) -> results.add(new StepResult(
+            name,
+            stats.latency.getIntervalHistogram(),
+            stats.errors.sumThenReset()
+        )));
+        results.sort((a, b) -> a.name().compareTo(b.name()));
+        return results;
+    }
+
+    public long queuedThenReset() {
+        return queued.sumThenReset();
+    }
+
+    private static final class Step {
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public record StepResult(String name, Histogram histogram, long errors) {}
+}
@@ -0,0 +1,111 @@
+package com.mayuran19.mms.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal HTTP client for the MMS API. Session cookies are passed explicitly so one client
+ * can drive many independent sessions.
+ */
+public final class MmsClient {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI baseUrl;
+
+    public MmsClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public Response get(String path, String session) throws IOException, InterruptedException {
+        return send(request(path, session).GET().build());
+    }
+
+    public Response post(String path, String json, String session) throws IOException, InterruptedException {
+        return send(request(path, session)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build());
+    }
+
+    /**
+     * Logs in as a platform user and returns the session cookie.
+     */
+    public String platformLogin(String username, String password) throws IOException, InterruptedException {
+        Response response = post("/api/auth/platform/login",
+            "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}", null);
+        return response.requireSession("platform login");
+    }
+
+    /**
+     * Logs in as a tenant user and returns the session cookie.
+     */
+    public String tenantLogin(String tenantSlug, String email, String password) throws IOException, InterruptedException {
+        Response response = post("/api/auth/tenant/login",
+            "{\"username\":\"" + email + "\",\"tenantSlug\":\"" + tenantSlug + "\",\"password\":\"" + password + "\"}", null);
+        return response.requireSession("tenant login");
+    }
+
+    private HttpRequest.Builder request(String path, String session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (session != null) {
+            builder.header("Cookie", session);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        List<String> cookies = new ArrayList<>();
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            int end = header.indexOf(';');
+            cookies.add(end >= 0 ? header.substring(0, end) : header);
+        }
+        return new Response(response.statusCode(), response.body(), cookies.isEmpty() ? null : String.join("; ", cookies));
+    }
+
+    public record Response(int status, String body, String session) {
+
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        public List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            Matcher matcher = ID.matcher(body);
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            return ids;
+        }
+
+        public String firstId(String operation) {
+            List<String> ids = ids();
+            if (!ok() || ids.isEmpty()) {
+                throw new IllegalStateException(operation + " failed with status " + status + ": " + body);
+            }
+            return ids.getFirst();
+        }
+
+        String requireSession(String operation) {
+            if (!ok() || session == null) {
+                throw new IllegalStateException(operation + " failed with status " + status + ": " + body);
+            }
+            return session;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mayuran19.mms.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts scenario iterations at a fixed arrival rate on virtual threads, regardless of how
+ * long earlier iterations take. Each iteration is told its scheduled start time so a slow
+ * server shows up as latency instead of as a lower request rate.
+ * <p>
+ * At most {@code maxInFlight} iterations run at once. Later arrivals wait for a slot rather than
+ * being skipped, so the time they wait is part of their latency and a stall shows up in the
+ * upper percentiles instead of removing the samples that would reveal it.
+ */
+final class OpenModelDriver {
+
+    private final MmsClient client;
+    private final Scenario scenario;
+    private final Metrics metrics;
+    private final Semaphore inFlight;
+
+    OpenModelDriver(MmsClient client, Scenario scenario, Metrics metrics, int maxInFlight) {
+        this.client = client;
+        this.scenario = scenario;
+        this.metrics = metrics;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    void run(double rate, Duration duration) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long durationNanos = duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart - start >= durationNanos) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.execute(() -> {
+                    try {
+                        if (!inFlight.tryAcquire()) {
+                            metrics.queued();
+                            inFlight.acquire();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        scenario.iteration(client, metrics, intendedStart);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        metrics.record("error", intendedStart, System.nanoTime(), false);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mayuran19.mms.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lists all tenants, then the users of one tenant, with one platform session shared by every
+ * arrival. The platform user may only hold {@code mms.session.maximum-sessions} sessions, so
+ * logging in on every arrival would expire the sessions of concurrent arrivals; login latency
+ * with many sessions per principal is measured by {@code ConcurrentSessionControlBenchmark}.
+ */
+final class PlatformBrowseScenario implements Scenario {
+
+    private String session;
+    private List<String> tenantIds;
+
+    @Override
+    public void setUp(MmsClient client, LoadTestOptions options) throws Exception {
+        session = client.platformLogin(options.platformUsername(), options.platformPassword());
+        tenantIds = client.get("/api/platform/tenants", session).ids();
+        if (tenantIds.isEmpty()) {
+            tenantIds = List.of(Fixtures.createTenant(client, session).id());
+        }
+    }
+
+    @Override
+    public void iteration(MmsClient client, Metrics metrics, long intendedStartNanos) throws Exception {
+        MmsClient.Response tenants = client.get("/api/platform/tenants", session);
+        long listedTenants = System.nanoTime();
+        metrics.record("1-list-tenants", intendedStartNanos, listedTenants, tenants.ok());
+
+        String tenantId = tenantIds.get(ThreadLocalRandom.current().nextInt(tenantIds.size()));
+        MmsClient.Response users = client.get("/api/platform/tenants/" + tenantId + "/users", session);
+        long listedUsers = System.nanoTime();
+        metrics.record("2-list-tenant-users", listedTenants, listedUsers, users.ok());
+
+        metrics.record("0-flow", intendedStartNanos, listedUsers, tenants.ok() && users.ok());
+    }
+
+    @Override
+    public void tearDown(MmsClient client) throws Exception {
+        client.post("/api/auth/platform/logout", "", session);
+    }
+}
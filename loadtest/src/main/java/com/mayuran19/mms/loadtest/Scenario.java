@@ -0,0 +1,18 @@
+package com.mayuran19.mms.loadtest;
+
+/**
+ * One load test flow. {@link #setUp} runs once before the test, {@link #iteration} once per arrival.
+ */
+public interface Scenario {
+
+    void setUp(MmsClient client, LoadTestOptions options) throws Exception;
+
+    /**
+     * Executes one iteration. {@code intendedStartNanos} is the arrival time chosen by the
+     * driver; the first step must measure its latency from there.
+     */
+    void iteration(MmsClient client, Metrics metrics, long intendedStartNanos) throws Exception;
+
+    default void tearDown(MmsClient client) throws Exception {
+    }
+}
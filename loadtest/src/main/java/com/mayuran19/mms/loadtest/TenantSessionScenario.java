@@ -0,0 +1,41 @@
+package com.mayuran19.mms.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs in a pool of tenant users once, then every arrival calls {@code /api/auth/me} with one
+ * of the pooled sessions. Measures the per-request cost of an authenticated session.
+ */
+final class TenantSessionScenario implements Scenario {
+
+    private final List<String> sessions = new ArrayList<>();
+    private final AtomicLong next = new AtomicLong();
+
+    @Override
+    public void setUp(MmsClient client, LoadTestOptions options) throws Exception {
+        String platformSession = client.platformLogin(options.platformUsername(), options.platformPassword());
+        Fixtures.Tenant tenant = Fixtures.createTenant(client, platformSession);
+        for (int i = 0; i < options.sessions(); i++) {
+            String email = "user" + i + "@" + tenant.slug() + ".example";
+            Fixtures.createTenantUser(client, platformSession, tenant, email);
+            sessions.add(client.tenantLogin(tenant.slug(), email, Fixtures.TENANT_USER_PASSWORD));
+        }
+        client.post("/api/auth/platform/logout", "", platformSession);
+    }
+
+    @Override
+    public void iteration(MmsClient client, Metrics metrics, long intendedStartNanos) throws Exception {
+        String session = sessions.get((int) (next.getAndIncrement() % sessions.size()));
+        MmsClient.Response me = client.get("/api/auth/me", session);
+        metrics.record("1-auth-me", intendedStartNanos, System.nanoTime(), me.ok());
+    }
+
+    @Override
+    public void tearDown(MmsClient client) throws Exception {
+        for (String session : sessions) {
+            client.post("/api/auth/tenant/logout", "", session);
+        }
+    }
+}
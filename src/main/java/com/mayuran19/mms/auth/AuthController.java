@@ -3,9 +3,16 @@ package com.mayuran19.mms.auth;
 import com.mayuran19.mms.auth.dto.LoginRequest;
 import com.mayuran19.mms.auth.dto.LoginResponse;
 import com.mayuran19.mms.auth.dto.TenantLoginRequest;
-import com.mayuran19.mms.security.CustomUserDetails;
+import com.mayuran19.mms.observability.LoginMetrics;
+import com.mayuran19.mms.security.AuthenticatedUser;
+import com.mayuran19.mms.security.session.ConcurrentSessionControl;
+import com.mayuran19.mms.security.throttle.LoginThrottle;
+import com.mayuran19.mms.security.token.TokenAuthenticationFilter;
+import com.mayuran19.mms.security.token.TokenService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,20 +22,44 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-
-    public AuthController(AuthenticationManager authenticationManager) {
+    private final LoginMetrics loginMetrics;
+    private final TokenService tokenService;
+    private final ConcurrentSessionControl concurrentSessionControl;
+    private final LoginThrottle loginThrottle;
+
+    public AuthController(
+            AuthenticationManager authenticationManager,
+            LoginMetrics loginMetrics,
+            ObjectProvider<TokenService> tokenService,
+            ConcurrentSessionControl concurrentSessionControl,
+            LoginThrottle loginThrottle
+    ) {
         this.authenticationManager = authenticationManager;
+        this.loginMetrics = loginMetrics;
+        this.tokenService = tokenService.getIfAvailable();
+        this.concurrentSessionControl = concurrentSessionControl;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/platform/login")
     public ResponseEntity<?> platformLogin(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        LoginThrottle.Attempt attempt = loginThrottle.attempt(request.getRemoteAddr(), loginRequest.username(), null);
+        Duration retryAfter = loginThrottle.retryAfter(attempt);
+        if (!retryAfter.isZero()) {
+            loginMetrics.platformLoginThrottled();
+            return tooManyAttempts(retryAfter);
+        }
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -37,26 +68,26 @@ public class AuthController {
                     )
             );
 
-            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
-            securityContext.setAuthentication(authentication);
-            SecurityContextHolder.setContext(securityContext);
+            String token = establishAuthentication(authentication, request);
 
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
-
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
             LoginResponse response = new LoginResponse(
-                    userDetails.getId(),
-                    userDetails.getUsername(),
-                    userDetails.getEmail(),
-                    userDetails.getUserType().name(),
-                    userDetails.getTenantId(),
-                    "Platform login successful"
+                    user.id(),
+                    user.username(),
+                    user.email(),
+                    user.userType().name(),
+                    user.tenantId(),
+                    "Platform login successful",
+                    token
             );
 
+            loginThrottle.succeeded(attempt);
+            loginMetrics.platformLogin(true);
             return ResponseEntity.ok(response);
         } catch (AuthenticationException e) {
+            loginThrottle.failed(attempt);
+            loginMetrics.platformLogin(false);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new LoginResponse(null, null, null, null, null, "Invalid credentials"));
         }
@@ -64,16 +95,21 @@ public class AuthController {
 
     @PostMapping("/platform/logout")
     public ResponseEntity<?> platformLogout(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
-        }
-        SecurityContextHolder.clearContext();
+        invalidateAuthentication(request);
         return ResponseEntity.ok(new LoginResponse(null, null, null, null, null, "Platform logout successful"));
     }
 
     @PostMapping("/tenant/login")
     public ResponseEntity<?> tenantLogin(@RequestBody TenantLoginRequest loginRequest, HttpServletRequest request) {
+        LoginThrottle.Attempt attempt = loginThrottle.attempt(
+                request.getRemoteAddr(), loginRequest.username(), loginRequest.tenantSlug());
+        Duration retryAfter = loginThrottle.retryAfter(attempt);
+        if (!retryAfter.isZero()) {
+            // No lookup here: this is the path a flood of attempts takes
+            loginMetrics.tenantLoginThrottled();
+            return tooManyAttempts(retryAfter);
+        }
+
         try {
             String username = loginRequest.username() + "@tenant:" + loginRequest.tenantSlug();
 
@@ -84,26 +120,26 @@ public class AuthController {
                     )
             );
 
-            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
-            securityContext.setAuthentication(authentication);
-            SecurityContextHolder.setContext(securityContext);
+            String token = establishAuthentication(authentication, request);
 
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
-
-            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+            AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
             LoginResponse response = new LoginResponse(
-                    userDetails.getId(),
-                    userDetails.getUsername(),
-                    userDetails.getEmail(),
-                    userDetails.getUserType().name(),
-                    userDetails.getTenantId(),
-                    "Tenant login successful"
+                    user.id(),
+                    user.username(),
+                    user.email(),
+                    user.userType().name(),
+                    user.tenantId(),
+                    "Tenant login successful",
+                    token
             );
 
+            loginThrottle.succeeded(attempt);
+            loginMetrics.tenantLogin(loginRequest.tenantSlug(), true);
             return ResponseEntity.ok(response);
         } catch (AuthenticationException e) {
+            loginThrottle.failed(attempt);
+            loginMetrics.tenantLogin(loginRequest.tenantSlug(), false);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new LoginResponse(null, null, null, null, null, "Invalid credentials"));
         }
@@ -111,11 +147,7 @@ public class AuthController {
 
     @PostMapping("/tenant/logout")
     public ResponseEntity<?> tenantLogout(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
-        }
-        SecurityContextHolder.clearContext();
+        invalidateAuthentication(request);
         return ResponseEntity.ok(new LoginResponse(null, null, null, null, null, "Tenant logout successful"));
     }
 
@@ -128,17 +160,61 @@ public class AuthController {
                     .body(new LoginResponse(null, null, null, null, null, "Not authenticated"));
         }
 
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
         LoginResponse response = new LoginResponse(
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                userDetails.getUserType().name(),
-                userDetails.getTenantId(),
+                user.id(),
+                user.username(),
+                user.email(),
+                user.userType().name(),
+                user.tenantId(),
                 "User retrieved successfully"
         );
 
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<?> tooManyAttempts(Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(new LoginResponse(null, null, null, null, null, "Too many login attempts, try again later"));
+    }
+
+    /**
+     * Makes the authentication available to subsequent requests: a signed token in stateless
+     * mode, otherwise the security context stored in the HTTP session. In session mode the
+     * principal's older sessions beyond the configured limit are expired.
+     */
+    private String establishAuthentication(Authentication authentication, HttpServletRequest request) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        if (tokenService != null) {
+            return tokenService.issue(user);
+        }
+
+        String principalName = ConcurrentSessionControl.principalName(user);
+        HttpSession session = request.getSession(true);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, securityContext);
+        session.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, principalName);
+        concurrentSessionControl.onLogin(principalName, session.getId());
+        return null;
+    }
+
+    private void invalidateAuthentication(HttpServletRequest request) {
+        if (tokenService != null) {
+            String token = TokenAuthenticationFilter.resolveToken(request);
+            if (token != null) {
+                tokenService.revoke(token);
+            }
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        SecurityContextHolder.clearContext();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.mayuran19.mms.auth.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.UUID;
 
 public record LoginResponse(
@@ -8,5 +10,11 @@ public record LoginResponse(
         String email,
         String userType,
         UUID tenantId,
-        String message
-) {}
\ No newline at end of file
+        String message,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String token
+) {
+    public LoginResponse(UUID userId, String username, String email, String userType, UUID tenantId, String message) {
+        this(userId, username, email, userType, tenantId, message, null);
+    }
+}
\ No newline at end of file
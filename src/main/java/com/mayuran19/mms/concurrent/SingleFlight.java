@@ -0,0 +1,80 @@
+package com.mayuran19.mms.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, callers
+ * arriving while it is in flight wait for and share its result (or exception). Nothing is cached
+ * once the call completes.
+ * <p>
+ * Calls made inside a transaction bypass coalescing, since they may need to see their own
+ * uncommitted writes. Shared results must therefore be immutable.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    /**
+     * @param name value of the {@code operation} tag on {@code mms.single_flight.calls}
+     */
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.executed = Counter.builder("mms.single_flight.calls")
+            .description("Reads executed or coalesced into a concurrent identical read")
+            .tag("operation", name)
+            .tag("result", "executed")
+            .register(registry);
+        this.coalesced = Counter.builder("mms.single_flight.calls")
+            .description("Reads executed or coalesced into a concurrent identical read")
+            .tag("operation", name)
+            .tag("result", "coalesced")
+            .register(registry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,9 +1,35 @@
 package com.mayuran19.mms.config;
 
+import com.mayuran19.mms.observability.SessionRepositoryPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
 
+/**
+ * JDBC sessions. Exactly one cleanup of expired sessions runs: ExpiredSessionCleaner's batches
+ * while {@code mms.session.cleanup.enabled} is on, otherwise Spring Session's own cron.
+ */
 @Configuration
-@EnableJdbcHttpSession
 public class SessionConfig {
+
+    @Bean
+    public static SessionRepositoryPostProcessor sessionRepositoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SessionRepositoryPostProcessor(meterRegistry);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "mms.session.cleanup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @EnableJdbcHttpSession(cleanupCron = Scheduled.CRON_DISABLED)
+    static class BatchedCleanupSessionConfig {
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "mms.session.cleanup", name = "enabled", havingValue = "false")
+    @EnableJdbcHttpSession
+    static class DefaultCleanupSessionConfig {
+    }
 }
\ No newline at end of file
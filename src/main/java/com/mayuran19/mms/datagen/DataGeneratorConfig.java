@@ -0,0 +1,38 @@
+package com.mayuran19.mms.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads a synthetic perf data set when the application is started with the {@code datagen} profile:
+ *
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=datagen \
+ *     -Dspring-boot.run.arguments="--mms.datagen.tenants=100000 --mms.datagen.members=1000000"
+ * </pre>
+ */
+@Configuration
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGeneratorConfig.class);
+
+    @Bean
+    public ApplicationRunner dataGeneratorRunner(DataSource dataSource, DataGeneratorProperties properties) {
+        return args -> {
+            log.info("Generating {} tenants with ~{} members (skew {}, seed {})",
+                properties.tenants(), properties.members(), properties.skew(), properties.seed());
+            SyntheticDataGenerator.Result result = new SyntheticDataGenerator(dataSource, properties).generate();
+            log.info("Generated {} tenants and {} tenant users in {}; member password is '{}'",
+                result.tenants(), result.tenantUsers(), result.elapsed(), properties.password());
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.mayuran19.mms.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Shape of the synthetic data set produced by the {@code datagen} profile.
+ *
+ * @param tenants  number of tenants to create
+ * @param members  approximate total number of tenant users across all tenants
+ * @param skew     Zipf exponent of the tenant size distribution; higher means a few larger tenants
+ * @param seed     random seed, the same seed produces the same data set
+ * @param password plain-text password shared by all generated tenant users
+ */
+@ConfigurationProperties(prefix = "mms.datagen")
+public record DataGeneratorProperties(
+    @DefaultValue("1000000") int tenants,
+    @DefaultValue("10000000") long members,
+    @DefaultValue("1.1") double skew,
+    @DefaultValue("42") long seed,
+    @DefaultValue("Password@123") String password
+) {}
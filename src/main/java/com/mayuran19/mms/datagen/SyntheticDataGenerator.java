@@ -0,0 +1,230 @@
+package com.mayuran19.mms.datagen;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk loads tenants and tenant users with a Zipf-distributed tenant size (a handful of very
+ * large tenants and a long tail of tiny ones) using {@code COPY ... FROM STDIN}.
+ * <p>
+ * Passwords are hashed once up front and reused, so generation speed is bound by COPY
+ * throughput rather than BCrypt.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String SYSTEM_USER_ID = "00000000-0000-0000-0000-000000000001";
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+    private static final int PASSWORD_HASH_POOL = 8;
+    private static final Duration HISTORY = Duration.ofDays(3 * 365);
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Priya", "Wei",
+        "Arjun", "Mei", "Carlos", "Sofia", "Ahmed", "Fatima", "Kenji", "Yuki", "Olga", "Ivan"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee",
+        "Perera", "Kumar", "Chen", "Wang", "Tanaka", "Sato", "Silva", "Kowalski", "Novak", "Ivanova"
+    };
+    private static final String[] WORDS = {
+        "acme", "globex", "initech", "umbrella", "stark", "wayne", "wonka", "cyberdyne", "tyrell", "soylent",
+        "hooli", "vandelay", "oceanic", "aperture", "monarch", "gringotts", "dunder", "pied", "massive", "nakatomi"
+    };
+
+    private final DataSource dataSource;
+    private final DataGeneratorProperties properties;
+    private final TimeBasedEpochGenerator uuidGenerator = Generators.timeBasedEpochGenerator();
+
+    public SyntheticDataGenerator(DataSource dataSource, DataGeneratorProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public Result generate() throws SQLException {
+        Random random = new Random(properties.seed());
+        int tenantCount = properties.tenants();
+        int[] memberCounts = memberCounts(random);
+        String[] passwordHashes = passwordHashes();
+
+        long[] tenantIdMsb = new long[tenantCount];
+        long[] tenantIdLsb = new long[tenantCount];
+        Instant now = Instant.now();
+        long started = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            CopyIn tenants = copyManager.copyIn(
+                "COPY tenants (id, name, slug, status, created_by, created_date, last_modified_by, last_modified_date) "
+                    + "FROM STDIN WITH (FORMAT csv)");
+            StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+            for (int t = 0; t < tenantCount; t++) {
+                UUID id = uuidGenerator.generate();
+                tenantIdMsb[t] = id.getMostSignificantBits();
+                tenantIdLsb[t] = id.getLeastSignificantBits();
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String created = randomInstant(random, now).toString();
+                buffer.append(id).append(',')
+                    .append(capitalize(word)).append(' ').append(t).append(',')
+                    .append(slug(word, t)).append(',')
+                    .append(tenantStatus(random)).append(',')
+                    .append(SYSTEM_USER_ID).append(',').append(created).append(',')
+                    .append(SYSTEM_USER_ID).append(',').append(created).append('\n');
+                flushIfFull(tenants, buffer);
+            }
+            flush(tenants, buffer);
+            long tenantRows = tenants.endCopy();
+            log.info("Loaded {} tenants in {} ms", tenantRows, elapsedMillis(started));
+
+            CopyIn users = copyManager.copyIn(
+                "COPY tenant_users (id, tenant_id, email, password_hash, first_name, last_name, status, "
+                    + "created_by, created_date, last_modified_by, last_modified_date) FROM STDIN WITH (FORMAT csv)");
+            for (int t = 0; t < tenantCount; t++) {
+                String tenantId = new UUID(tenantIdMsb[t], tenantIdLsb[t]).toString();
+                String domain = "t" + t + ".example";
+                for (int m = 0; m < memberCounts[t]; m++) {
+                    String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    String created = randomInstant(random, now).toString();
+                    buffer.append(uuidGenerator.generate()).append(',')
+                        .append(tenantId).append(',')
+                        .append(firstName.toLowerCase()).append('.').append(lastName.toLowerCase())
+                        .append('.').append(m).append('@').append(domain).append(',')
+                        .append(passwordHashes[random.nextInt(passwordHashes.length)]).append(',')
+                        .append(firstName).append(',')
+                        .append(lastName).append(',')
+                        .append(memberStatus(random)).append(',')
+                        .append(SYSTEM_USER_ID).append(',').append(created).append(',')
+                        .append(SYSTEM_USER_ID).append(',').append(created).append('\n');
+                    flushIfFull(users, buffer);
+                }
+            }
+            flush(users, buffer);
+            long userRows = users.endCopy();
+
+            // Member counters are known up front, no need to count them afterwards
+            CopyIn stats = copyManager.copyIn(
+                "COPY tenant_stats (tenant_id, member_count, created_by, last_modified_by) FROM STDIN WITH (FORMAT csv)");
+            for (int t = 0; t < tenantCount; t++) {
+                buffer.append(new UUID(tenantIdMsb[t], tenantIdLsb[t])).append(',')
+                    .append(memberCounts[t]).append(',')
+                    .append(SYSTEM_USER_ID).append(',')
+                    .append(SYSTEM_USER_ID).append('\n');
+                flushIfFull(stats, buffer);
+            }
+            flush(stats, buffer);
+            stats.endCopy();
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE tenants, tenant_users, tenant_stats");
+                statement.execute("REFRESH MATERIALIZED VIEW tenant_member_status_stats");
+            }
+
+            long millis = elapsedMillis(started);
+            log.info("Loaded {} tenant users in {} ms ({} rows/s overall)",
+                userRows, millis, millis > 0 ? (tenantRows + userRows) * 1000 / millis : tenantRows + userRows);
+            return new Result(tenantRows, userRows, Duration.ofMillis(millis));
+        }
+    }
+
+    /**
+     * Member count per tenant following a Zipf distribution over a random ranking of tenants,
+     * with every tenant getting at least one member.
+     */
+    private int[] memberCounts(Random random) {
+        int tenantCount = properties.tenants();
+        double harmonic = 0;
+        for (int rank = 1; rank <= tenantCount; rank++) {
+            harmonic += 1 / Math.pow(rank, properties.skew());
+        }
+
+        int[] ranks = new int[tenantCount];
+        for (int i = 0; i < tenantCount; i++) {
+            ranks[i] = i + 1;
+        }
+        for (int i = tenantCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+
+        int[] counts = new int[tenantCount];
+        for (int i = 0; i < tenantCount; i++) {
+            double share = (1 / Math.pow(ranks[i], properties.skew())) / harmonic;
+            counts[i] = (int) Math.max(1, Math.round(properties.members() * share));
+        }
+        return counts;
+    }
+
+    private String[] passwordHashes() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        String[] hashes = new String[PASSWORD_HASH_POOL];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = encoder.encode(properties.password());
+        }
+        return hashes;
+    }
+
+    private static Instant randomInstant(Random random, Instant now) {
+        return now.minusSeconds((long) (random.nextDouble() * HISTORY.toSeconds()));
+    }
+
+    private static String tenantStatus(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 85 ? "ACTIVE" : roll < 95 ? "INACTIVE" : "SUSPENDED";
+    }
+
+    private static String memberStatus(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 90 ? "ACTIVE" : roll < 97 ? "INACTIVE" : "SUSPENDED";
+    }
+
+    private static String slug(String word, int index) {
+        return word + "-" + index;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void flushIfFull(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush(copy, buffer);
+        }
+    }
+
+    private static void flush(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    public record Result(long tenants, long tenantUsers, Duration elapsed) {}
+}
@@ -0,0 +1,110 @@
+package com.mayuran19.mms.observability;
+
+import com.mayuran19.mms.observability.jfr.SessionStoreEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates the JDBC session repository so every load, save and delete performed by
+ * {@code SessionRepositoryFilter} is timed ({@code mms.session.store}) and recorded as a
+ * {@link SessionStoreEvent}.
+ */
+public class InstrumentedSessionRepository<S extends Session> implements FindByIndexNameSessionRepository<S> {
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+    private final Timer saveTimer;
+    private final Timer findTimer;
+    private final Timer deleteTimer;
+    private final Timer findByIndexTimer;
+
+    public InstrumentedSessionRepository(FindByIndexNameSessionRepository<S> delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.saveTimer = timer(registry, "save");
+        this.findTimer = timer(registry, "findById");
+        this.deleteTimer = timer(registry, "deleteById");
+        this.findByIndexTimer = timer(registry, "findByIndexNameAndIndexValue");
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("mms.session.store")
+            .description("Time spent reading and writing HTTP sessions in the session store")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @Override
+    public S createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(S session) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            delegate.save(session);
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.operation = "save";
+            event.found = true;
+            event.attributeCount = session.getAttributeNames().size();
+            event.commit();
+        }
+    }
+
+    @Override
+    public S findById(String id) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        S session = null;
+        try {
+            session = delegate.findById(id);
+            return session;
+        } finally {
+            findTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.operation = "findById";
+            event.found = session != null;
+            event.attributeCount = session != null ? session.getAttributeNames().size() : 0;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            deleteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.operation = "deleteById";
+            event.commit();
+        }
+    }
+
+    @Override
+    public Map<String, S> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, S> sessions = Map.of();
+        try {
+            sessions = delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+            return sessions;
+        } finally {
+            findByIndexTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.operation = "findByIndexNameAndIndexValue";
+            event.found = !sessions.isEmpty();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.mayuran19.mms.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Login attempt counters ({@code mms.auth.login}) tagged by user type, outcome (success, failure
+ * or throttled) and, for tenant logins, the tenant slug. A slug is only used as a tag once a login
+ * through it succeeded, which proves the tenant exists; failed logins through any other slug are
+ * tagged {@code unknown}, so clients cannot create series and no failure costs a lookup. The
+ * slugs are remembered in a map of at most {@value #MAX_KNOWN_TENANTS}, forgetting the least
+ * recently used.
+ */
+@Component
+public class LoginMetrics {
+
+    private static final String PLATFORM_TENANT_TAG = "none";
+    private static final String UNKNOWN_TENANT_TAG = "unknown";
+    private static final int MAX_KNOWN_TENANTS = 10_000;
+
+    private final MeterRegistry registry;
+    private final Map<String, Boolean> knownTenants = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_KNOWN_TENANTS;
+        }
+    };
+
+    public LoginMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void platformLogin(boolean success) {
+        counter("PLATFORM", PLATFORM_TENANT_TAG, success ? "success" : "failure").increment();
+    }
+
+    /**
+     * @param tenantSlug slug the login was attempted with, as sent by the client
+     */
+    public void tenantLogin(String tenantSlug, boolean success) {
+        counter("TENANT", tenantTag(tenantSlug, success), success ? "success" : "failure").increment();
+    }
+
+    public void platformLoginThrottled() {
+        counter("PLATFORM", PLATFORM_TENANT_TAG, "throttled").increment();
+    }
+
+    public void tenantLoginThrottled() {
+        counter("TENANT", UNKNOWN_TENANT_TAG, "throttled").increment();
+    }
+
+    private String tenantTag(String tenantSlug, boolean success) {
+        if (tenantSlug == null) {
+            return UNKNOWN_TENANT_TAG;
+        }
+        synchronized (knownTenants) {
+            if (success) {
+                knownTenants.put(tenantSlug, Boolean.TRUE);
+                return tenantSlug;
+            }
+            return knownTenants.containsKey(tenantSlug) ? tenantSlug : UNKNOWN_TENANT_TAG;
+        }
+    }
+
+    private Counter counter(String userType, String tenant, String outcome) {
+        return Counter.builder("mms.auth.login")
+            .description("Login attempts by user type, tenant and outcome")
+            .tag("user_type", userType)
+            .tag("tenant", tenant)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+}
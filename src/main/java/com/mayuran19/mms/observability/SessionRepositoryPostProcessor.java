@@ -0,0 +1,30 @@
+package com.mayuran19.mms.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.session.FindByIndexNameSessionRepository;
+
+/**
+ * Wraps the session repository created by {@code @EnableJdbcHttpSession} in an
+ * {@link InstrumentedSessionRepository} before it is handed to the session filter.
+ * The meter registry is looked up lazily because post-processors are created early.
+ */
+public class SessionRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SessionRepositoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof FindByIndexNameSessionRepository repository
+                && !(bean instanceof InstrumentedSessionRepository)) {
+            return new InstrumentedSessionRepository(repository, meterRegistry.getObject());
+        }
+        return bean;
+    }
+}
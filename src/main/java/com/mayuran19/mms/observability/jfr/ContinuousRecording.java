@@ -0,0 +1,89 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Always-on flight recording based on the JDK "default" settings (below 1% overhead)
+ * plus the application events, retained for {@link JfrProperties#maxAge()}.
+ */
+public class ContinuousRecording implements InitializingBean, DisposableBean {
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+        UserLookupEvent.class,
+        PasswordVerificationEvent.class,
+        SessionStoreEvent.class,
+        RepositoryQueryEvent.class,
+        PrincipalResolutionEvent.class
+    );
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public ContinuousRecording(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("mms-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.maxAge());
+        recording.setMaxSize(properties.maxSize().toBytes());
+        for (Class<? extends Event> eventType : APPLICATION_EVENTS) {
+            recording.enable(eventType).withThreshold(properties.threshold()).withStackTrace();
+        }
+        recording.start();
+    }
+
+    /**
+     * Writes the events of the last {@code window} to {@code out} in JFR format. The running
+     * recording is cloned so that it keeps recording while the copy is streamed.
+     */
+    public void dump(Duration window, OutputStream out) throws IOException {
+        FlightRecorderMXBean flightRecorder = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+        Instant end = Instant.now();
+        long cloneId = flightRecorder.cloneRecording(recording.getId(), true);
+        try {
+            long streamId = flightRecorder.openStream(cloneId, Map.of(
+                "startTime", end.minus(window).toString(),
+                "endTime", end.toString()
+            ));
+            try {
+                byte[] chunk;
+                while ((chunk = flightRecorder.readStream(streamId)) != null) {
+                    out.write(chunk);
+                }
+            } finally {
+                flightRecorder.closeStream(streamId);
+            }
+        } finally {
+            flightRecorder.closeRecording(cloneId);
+        }
+    }
+
+    public Duration maxAge() {
+        return properties.maxAge();
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
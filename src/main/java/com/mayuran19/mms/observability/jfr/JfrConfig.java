@@ -0,0 +1,24 @@
+package com.mayuran19.mms.observability.jfr;
+
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+
+    @Bean
+    public ExecuteListenerProvider jfrExecuteListenerProvider() {
+        return new DefaultExecuteListenerProvider(new JfrExecuteListener());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mms.jfr", name = "enabled", havingValue = "true")
+    public ContinuousRecording continuousRecording(JfrProperties properties) {
+        return new ContinuousRecording(properties);
+    }
+}
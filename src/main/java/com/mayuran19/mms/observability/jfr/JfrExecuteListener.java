@@ -0,0 +1,49 @@
+package com.mayuran19.mms.observability.jfr;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+/**
+ * jOOQ listener that wraps every executed statement in a {@link RepositoryQueryEvent}.
+ * The call site is the first {@code *Repository} frame on the stack and is only resolved
+ * when the event is actually going to be committed.
+ */
+public class JfrExecuteListener implements ExecuteListener {
+
+    private static final String EVENT_KEY = JfrExecuteListener.class.getName() + ".event";
+    private static final String APPLICATION_PACKAGE = "com.mayuran19.mms.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    @Override
+    public void start(ExecuteContext ctx) {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            ctx.data(EVENT_KEY, event);
+        }
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        if (!(ctx.data(EVENT_KEY) instanceof RepositoryQueryEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = ctx.sql();
+            event.rows = ctx.result() != null ? ctx.result().size() : ctx.rows();
+            event.callSite = callSite();
+            event.commit();
+        }
+    }
+
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                && frame.getClassName().endsWith("Repository"))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName())
+            .orElse("unknown"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.mayuran19.mms.observability.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the continuous Java Flight Recorder recording.
+ *
+ * @param enabled   whether the recording is started with the application
+ * @param maxAge    how much history the recording keeps on disk
+ * @param maxSize   upper bound on the disk space used by the recording
+ * @param threshold minimum duration for application events to be recorded
+ */
+@ConfigurationProperties(prefix = "mms.jfr")
+public record JfrProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("30m") Duration maxAge,
+    @DefaultValue("250MB") DataSize maxSize,
+    @DefaultValue("1ms") Duration threshold
+) {}
@@ -0,0 +1,44 @@
+package com.mayuran19.mms.observability.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/platform/diagnostics/jfr")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+@ConditionalOnProperty(prefix = "mms.jfr", name = "enabled", havingValue = "true")
+public class JfrRecordingController {
+
+    private final ContinuousRecording recording;
+
+    public JfrRecordingController(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> dump(@RequestParam(defaultValue = "5") long minutes) {
+        Duration window = Duration.ofMinutes(Math.max(1, minutes));
+        if (window.compareTo(recording.maxAge()) > 0) {
+            window = recording.maxAge();
+        }
+        Duration requested = window;
+        String filename = "mms-" + Instant.now().getEpochSecond() + ".jfr";
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(out -> recording.dump(requested, out));
+    }
+}
@@ -0,0 +1,20 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mayuran19.mms.PasswordVerification")
+@Label("Password Verification")
+@Category({"MMS", "Security"})
+@Description("Password hashing or verification performed by the application PasswordEncoder")
+public class PasswordVerificationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
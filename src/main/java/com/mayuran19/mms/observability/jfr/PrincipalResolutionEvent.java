@@ -0,0 +1,20 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mayuran19.mms.PrincipalResolution")
+@Label("Principal Resolution")
+@Category({"MMS", "Security"})
+@Description("Resolution of @CurrentPlatformUser / @CurrentTenantUser controller arguments")
+public class PrincipalResolutionEvent extends Event {
+
+    @Label("Principal Type")
+    public String principalType;
+
+    @Label("Resolved")
+    public boolean resolved;
+}
@@ -0,0 +1,23 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mayuran19.mms.RepositoryQuery")
+@Label("Repository Query")
+@Category({"MMS", "Database"})
+@Description("SQL statement executed through jOOQ, attributed to the calling repository method")
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Call Site")
+    public String callSite;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    public int rows;
+}
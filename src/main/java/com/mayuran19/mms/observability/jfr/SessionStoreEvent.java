@@ -0,0 +1,23 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mayuran19.mms.SessionStore")
+@Label("Session Store Access")
+@Category({"MMS", "Session"})
+@Description("Load, save or delete of an HTTP session in the JDBC session store")
+public class SessionStoreEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Attribute Count")
+    public int attributeCount;
+}
@@ -0,0 +1,23 @@
+package com.mayuran19.mms.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mayuran19.mms.UserLookup")
+@Label("User Lookup")
+@Category({"MMS", "Security"})
+@Description("User lookup performed by CustomUserDetailsService.loadUserByUsername")
+public class UserLookupEvent extends Event {
+
+    @Label("User Type")
+    public String userType;
+
+    @Label("Tenant Slug")
+    public String tenantSlug;
+
+    @Label("Found")
+    public boolean found;
+}
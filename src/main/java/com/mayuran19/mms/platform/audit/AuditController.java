@@ -0,0 +1,46 @@
+package com.mayuran19.mms.platform.audit;
+
+import com.mayuran19.mms.platform.audit.dto.AuditPageResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/platform/audit")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+public class AuditController {
+
+    private final AuditLog auditLog;
+
+    public AuditController(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<AuditPageResponse> getEvents(
+        @RequestParam(required = false) UUID tenantId,
+        @RequestParam(required = false) String entityType,
+        @RequestParam(required = false) UUID entityId,
+        @RequestParam(required = false) UUID actorId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+        @RequestParam(defaultValue = "50") int limit,
+        @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(auditLog.getEvents(tenantId, entityType, entityId, actorId, from, to, limit, cursor));
+    }
+
+    @ExceptionHandler(AuditLog.InvalidAuditQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQuery(AuditLog.InvalidAuditQueryException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    public record ErrorResponse(String message) {}
+}
\ No newline at end of file
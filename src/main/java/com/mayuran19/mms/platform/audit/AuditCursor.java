@@ -0,0 +1,37 @@
+package com.mayuran19.mms.platform.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Time and id of the last event on an audit page. The time is kept in microseconds, the
+ * precision PostgreSQL stores, so the keyset comparison never skips or repeats an event.
+ */
+record AuditCursor(OffsetDateTime occurredDate, UUID id) {
+
+    static AuditCursor of(AuditEvent event) {
+        return new AuditCursor(event.occurredDate(), event.id());
+    }
+
+    static AuditCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split(":", 2);
+            OffsetDateTime occurredDate = OffsetDateTime.ofInstant(
+                Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS), ZoneOffset.UTC);
+            return new AuditCursor(occurredDate, UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new AuditLog.InvalidAuditQueryException("Invalid audit cursor");
+        }
+    }
+
+    String encode() {
+        String value = ChronoUnit.MICROS.between(Instant.EPOCH, occurredDate.toInstant()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
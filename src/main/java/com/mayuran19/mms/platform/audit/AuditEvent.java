@@ -0,0 +1,32 @@
+package com.mayuran19.mms.platform.audit;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One tenant or member mutation. {@code details} is a short human-readable description of what
+ * changed, e.g. {@code status: ACTIVE -> SUSPENDED}.
+ */
+public record AuditEvent(
+    UUID id,
+    OffsetDateTime occurredDate,
+    UUID actorId,
+    Entity entity,
+    UUID entityId,
+    UUID tenantId,
+    Action action,
+    String details
+) {
+
+    public enum Entity {
+        TENANT,
+        TENANT_USER
+    }
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED,
+        PURGED
+    }
+}
\ No newline at end of file
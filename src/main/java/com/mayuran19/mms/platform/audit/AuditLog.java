@@ -0,0 +1,171 @@
+package com.mayuran19.mms.platform.audit;
+
+import com.mayuran19.mms.platform.audit.dto.AuditEventResponse;
+import com.mayuran19.mms.platform.audit.dto.AuditPageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Records tenant and member mutations in the audit log. Call it from the transaction making the
+ * change; nothing is recorded if that transaction rolls back.
+ * <p>
+ * In {@code async} mode events go into a bounded lock-free ring buffer once the transaction has
+ * committed, and {@link AuditWriter} writes them in batches off the request thread. Events are
+ * lost if the buffer is full or the node dies before they are written. In {@code transactional}
+ * mode the events of a transaction are written by one multi-row insert just before it commits,
+ * so they are exactly as durable as the change itself, at the cost of an insert per transaction.
+ */
+@Service
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditLog {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditRepository auditRepository;
+    private final AuditProperties properties;
+    private final AuditRingBuffer buffer;
+    private final Counter dropped;
+
+    public AuditLog(AuditRepository auditRepository, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.auditRepository = auditRepository;
+        this.properties = properties;
+        this.buffer = new AuditRingBuffer(properties.bufferSize());
+        this.dropped = Counter.builder("mms.audit.dropped")
+            .description("Audit events lost because the buffer was full or they could not be written")
+            .register(meterRegistry);
+        Gauge.builder("mms.audit.buffered", buffer, AuditRingBuffer::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+    }
+
+    public void record(
+        AuditEvent.Entity entity,
+        AuditEvent.Action action,
+        UUID entityId,
+        UUID tenantId,
+        UUID actorId,
+        String details
+    ) {
+        // Stored with microsecond precision, the cursor must match what is read back
+        AuditEvent event = new AuditEvent(UUID.randomUUID(), OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS),
+            actorId, entity, entityId, tenantId, action, details);
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isSynchronizationActive();
+
+        if (properties.mode() == AuditProperties.Mode.TRANSACTIONAL) {
+            if (inTransaction) {
+                pendingEvents().add(event);
+            } else {
+                auditRepository.insertAll(List.of(event));
+            }
+        } else if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    public AuditPageResponse getEvents(
+        UUID tenantId,
+        String entityType,
+        UUID entityId,
+        UUID actorId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        int limit,
+        String cursor
+    ) {
+        AuditEvent.Entity entity = null;
+        if (entityType != null) {
+            try {
+                entity = AuditEvent.Entity.valueOf(entityType.strip().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidAuditQueryException("Unknown entity type: " + entityType);
+            }
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidAuditQueryException("from must be before to");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidAuditQueryException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        AuditCursor after = cursor != null ? AuditCursor.decode(cursor) : null;
+
+        // One extra row tells whether there is a next page
+        List<AuditEvent> found = auditRepository.find(tenantId, entity, entityId, actorId, from, to, after, limit + 1);
+        boolean hasMore = found.size() > limit;
+        List<AuditEvent> page = hasMore ? found.subList(0, limit) : found;
+        String nextCursor = hasMore ? AuditCursor.of(page.getLast()).encode() : null;
+        return new AuditPageResponse(
+            page.stream().map(AuditEventResponse::fromEvent).toList(), nextCursor, hasMore);
+    }
+
+    int drainTo(List<AuditEvent> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    int buffered() {
+        return buffer.size();
+    }
+
+    void dropped(int count) {
+        dropped.increment(count);
+    }
+
+    private void enqueue(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Events recorded so far in the current transaction, written in one insert before it commits.
+     */
+    @SuppressWarnings("unchecked")
+    private List<AuditEvent> pendingEvents() {
+        List<AuditEvent> events = (List<AuditEvent>) TransactionSynchronizationManager.getResource(this);
+        if (events != null) {
+            return events;
+        }
+        List<AuditEvent> pending = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                int batchSize = properties.batchSize();
+                for (int i = 0; i < pending.size(); i += batchSize) {
+                    auditRepository.insertAll(pending.subList(i, Math.min(pending.size(), i + batchSize)));
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AuditLog.this);
+            }
+        });
+        return pending;
+    }
+
+    public static class InvalidAuditQueryException extends RuntimeException {
+        public InvalidAuditQueryException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
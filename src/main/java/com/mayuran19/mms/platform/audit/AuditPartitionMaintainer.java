@@ -0,0 +1,52 @@
+package com.mayuran19.mms.platform.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the monthly {@code audit_events} partitions of the current month and the next
+ * {@code partitionsAhead} months created, so inserts never hit a missing partition, and drops
+ * whole partitions older than {@code retentionMonths} instead of deleting rows. Every step is
+ * idempotent, so nodes running it at the same time do no harm.
+ */
+@Component
+public class AuditPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintainer.class);
+
+    private final AuditRepository auditRepository;
+    private final AuditProperties properties;
+
+    public AuditPartitionMaintainer(AuditRepository auditRepository, AuditProperties properties) {
+        this.auditRepository = auditRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${mms.audit.partition-check-interval:6h}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        List<YearMonth> existing = auditRepository.findPartitions();
+        for (int i = 0; i <= properties.partitionsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                auditRepository.createPartition(month);
+                log.info("Created audit partition for {}", month);
+            }
+        }
+        if (properties.retentionMonths() > 0) {
+            YearMonth oldestKept = current.minusMonths(properties.retentionMonths());
+            for (YearMonth month : existing) {
+                if (month.isBefore(oldestKept)) {
+                    auditRepository.dropPartition(month);
+                    log.info("Dropped audit partition for {}", month);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.mayuran19.mms.platform.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param mode                   {@code async} hands events to a background writer after commit;
+ *                               {@code transactional} writes them in the mutation's own transaction
+ * @param bufferSize             capacity of the async ring buffer, rounded up to a power of two;
+ *                               events are dropped (and counted) while it is full
+ * @param batchSize              events written per multi-row insert
+ * @param flushInterval          how long the async writer waits for more events once the buffer is empty
+ * @param retryBackoff           delay before the async writer retries a batch that failed to insert
+ * @param maxAttempts            inserts of a batch tried before the async writer writes its events one
+ *                               by one, dropping (and counting) those that still fail
+ * @param shutdownTimeout        how long shutdown waits for the async writer to drain the buffer
+ * @param partitionsAhead        monthly partitions kept created beyond the current month
+ * @param retentionMonths        months of history kept, older partitions are dropped; 0 keeps everything
+ * @param partitionCheckInterval delay between partition maintenance runs
+ */
+@ConfigurationProperties(prefix = "mms.audit")
+public record AuditProperties(
+    @DefaultValue("async") Mode mode,
+    @DefaultValue("8192") int bufferSize,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("200ms") Duration flushInterval,
+    @DefaultValue("1s") Duration retryBackoff,
+    @DefaultValue("5") int maxAttempts,
+    @DefaultValue("10s") Duration shutdownTimeout,
+    @DefaultValue("2") int partitionsAhead,
+    @DefaultValue("0") int retentionMonths,
+    @DefaultValue("6h") Duration partitionCheckInterval
+) {
+
+    public enum Mode {
+        ASYNC,
+        TRANSACTIONAL
+    }
+}
\ No newline at end of file
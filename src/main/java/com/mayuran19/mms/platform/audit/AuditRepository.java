@@ -0,0 +1,186 @@
+package com.mayuran19.mms.platform.audit;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Name;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Audit events in the {@code audit_events} table, range-partitioned by month of
+ * {@code created_date} (UTC). The event's actor and time are stored as {@code created_by} and
+ * {@code created_date}. Partitions are named {@code audit_events_YYYY_MM} and created ahead of
+ * time by {@link AuditPartitionMaintainer}; there is no default partition.
+ */
+@Repository
+public class AuditRepository {
+
+    static final Table<Record> AUDIT_EVENTS = DSL.table(DSL.name("audit_events"));
+    static final Field<UUID> ID = DSL.field(DSL.name("audit_events", "id"), SQLDataType.UUID);
+    static final Field<String> ENTITY_TYPE = DSL.field(DSL.name("audit_events", "entity_type"), SQLDataType.VARCHAR);
+    static final Field<UUID> ENTITY_ID = DSL.field(DSL.name("audit_events", "entity_id"), SQLDataType.UUID);
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("audit_events", "tenant_id"), SQLDataType.UUID);
+    static final Field<String> ACTION = DSL.field(DSL.name("audit_events", "action"), SQLDataType.VARCHAR);
+    static final Field<String> DETAILS = DSL.field(DSL.name("audit_events", "details"), SQLDataType.CLOB);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("audit_events", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("audit_events", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("audit_events", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("audit_events", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private static final Field<?>[] COLUMNS = {
+        ID, CREATED_DATE, CREATED_BY, ENTITY_TYPE, ENTITY_ID, TENANT_ID, ACTION, DETAILS
+    };
+
+    private static final String PARTITION_PREFIX = "audit_events_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final DSLContext dsl;
+
+    public AuditRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Writes the events with one multi-row insert. Events already stored are skipped, so a batch
+     * whose commit outcome was unknown can be written again.
+     */
+    public void insertAll(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var insert = dsl.insertInto(AUDIT_EVENTS,
+            ID, CREATED_DATE, CREATED_BY, ENTITY_TYPE, ENTITY_ID, TENANT_ID, ACTION, DETAILS, LAST_MODIFIED_BY, LAST_MODIFIED_DATE);
+        for (AuditEvent event : events) {
+            insert = insert.values(
+                event.id(),
+                event.occurredDate(),
+                event.actorId(),
+                event.entity().name(),
+                event.entityId(),
+                event.tenantId(),
+                event.action().name(),
+                event.details(),
+                event.actorId(),
+                event.occurredDate());
+        }
+        insert.onConflictDoNothing().execute();
+    }
+
+    /**
+     * Events matching the filters, newest first, after the cursor. {@code from} is inclusive and
+     * {@code to} exclusive; both prune the partitions that are scanned.
+     */
+    public List<AuditEvent> find(
+        UUID tenantId,
+        AuditEvent.Entity entity,
+        UUID entityId,
+        UUID actorId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        AuditCursor after,
+        int limit
+    ) {
+        List<Condition> conditions = new ArrayList<>();
+        if (tenantId != null) {
+            conditions.add(TENANT_ID.eq(tenantId));
+        }
+        if (entity != null) {
+            conditions.add(ENTITY_TYPE.eq(entity.name()));
+        }
+        if (entityId != null) {
+            conditions.add(ENTITY_ID.eq(entityId));
+        }
+        if (actorId != null) {
+            conditions.add(CREATED_BY.eq(actorId));
+        }
+        if (from != null) {
+            conditions.add(CREATED_DATE.ge(from));
+        }
+        if (to != null) {
+            conditions.add(CREATED_DATE.lt(to));
+        }
+        if (after != null) {
+            conditions.add(DSL.row(CREATED_DATE, ID).lt(after.occurredDate(), after.id()));
+        }
+        return dsl.select(COLUMNS)
+            .from(AUDIT_EVENTS)
+            .where(conditions)
+            .orderBy(CREATED_DATE.desc(), ID.desc())
+            .limit(limit)
+            .fetch(AuditRepository::toEvent);
+    }
+
+    /**
+     * Months that have a partition, oldest first. Tables attached by hand under other names are
+     * left out.
+     */
+    public List<YearMonth> findPartitions() {
+        List<String> names = dsl.resultQuery("""
+                select c.relname
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+                where p.relname = 'audit_events'
+                order by c.relname
+                """)
+            .fetch(0, String.class);
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            parsePartition(name).ifPresent(months::add);
+        }
+        return months;
+    }
+
+    public void createPartition(YearMonth month) {
+        OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        dsl.execute("create table if not exists {0} partition of {1} for values from ({2}) to ({3})",
+            partitionName(month), AUDIT_EVENTS, DSL.inline(from), DSL.inline(to));
+    }
+
+    public void dropPartition(YearMonth month) {
+        dsl.dropTableIfExists(partitionName(month)).execute();
+    }
+
+    private static Name partitionName(YearMonth month) {
+        return DSL.name(PARTITION_PREFIX + month.format(PARTITION_SUFFIX));
+    }
+
+    private static Optional<YearMonth> parsePartition(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static AuditEvent toEvent(Record r) {
+        return new AuditEvent(
+            r.get(ID),
+            r.get(CREATED_DATE),
+            r.get(CREATED_BY),
+            AuditEvent.Entity.valueOf(r.get(ENTITY_TYPE)),
+            r.get(ENTITY_ID),
+            r.get(TENANT_ID),
+            AuditEvent.Action.valueOf(r.get(ACTION)),
+            r.get(DETAILS)
+        );
+    }
+}
\ No newline at end of file
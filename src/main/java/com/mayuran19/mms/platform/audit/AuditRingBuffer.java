@@ -0,0 +1,89 @@
+package com.mayuran19.mms.platform.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Each slot carries a sequence
+ * number telling whose turn it is: a producer may fill slot {@code p & mask} when its sequence is
+ * {@code p}, and the consumer may empty it once it is {@code p + 1}. Producers claim positions with
+ * one CAS on {@code head} and never wait; when the buffer is full {@link #offer} fails instead.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(AuditEvent event) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    // Publishes the event to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                // Another producer took this position first
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} events into {@code target}, oldest first. Only one thread may drain.
+     *
+     * @return number of events moved
+     */
+    int drainTo(List<AuditEvent> target, int max) {
+        long position = tail.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                // Empty, or the producer of this slot has not finished writing it yet
+                break;
+            }
+            target.add(slots.get(index));
+            slots.set(index, null);
+            // Hands the slot to the producer one lap ahead
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        tail.set(position);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, head.get() - tail.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
\ No newline at end of file
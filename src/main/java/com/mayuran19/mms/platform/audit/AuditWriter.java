@@ -0,0 +1,135 @@
+package com.mayuran19.mms.platform.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the events {@link AuditLog} buffers in {@code async} mode, up to {@code batchSize} per
+ * multi-row insert, on one virtual thread. While the buffer is empty it checks again every
+ * {@code flushInterval}. A batch that fails to insert is retried after {@code retryBackoff}, while
+ * newer events wait in the buffer. After {@code maxAttempts} failures its events are inserted one
+ * at a time, so one bad event cannot hold up the rest; events that still fail are dropped and
+ * counted. On shutdown the buffer is drained for up to {@code shutdownTimeout}.
+ */
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    private final AuditLog auditLog;
+    private final AuditRepository auditRepository;
+    private final AuditProperties properties;
+    private final Counter written;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditWriter(AuditLog auditLog, AuditRepository auditRepository, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.auditLog = auditLog;
+        this.auditRepository = auditRepository;
+        this.properties = properties;
+        this.written = Counter.builder("mms.audit.written")
+            .description("Audit events written to the audit_events table by the async writer")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (properties.mode() == AuditProperties.Mode.ASYNC) {
+            writer = Thread.ofVirtual().name("audit-writer").start(this::writeLoop);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        LockSupport.unpark(writer);
+        try {
+            if (!writer.join(properties.shutdownTimeout())) {
+                log.warn("Stopping with {} audit events not written", auditLog.buffered());
+                writer.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so events of requests still finishing during a graceful
+     * shutdown are written too.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(properties.batchSize());
+        int attempts = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            if (batch.isEmpty() && auditLog.drainTo(batch, properties.batchSize()) == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(properties.flushInterval().toNanos());
+                continue;
+            }
+            try {
+                auditRepository.insertAll(batch);
+                written.increment(batch.size());
+                batch.clear();
+                attempts = 0;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Dropping {} audit events that could not be written during shutdown", batch.size(), e);
+                    auditLog.dropped(batch.size());
+                    return;
+                }
+                if (++attempts >= properties.maxAttempts()) {
+                    log.warn("Writing {} audit events failed {} times, writing them one by one", batch.size(), attempts, e);
+                    writeEach(batch);
+                    batch.clear();
+                    attempts = 0;
+                } else {
+                    log.warn("Writing {} audit events failed, retrying in {}", batch.size(), properties.retryBackoff(), e);
+                    LockSupport.parkNanos(properties.retryBackoff().toNanos());
+                }
+            }
+        }
+    }
+
+    private void writeEach(List<AuditEvent> batch) {
+        int failed = 0;
+        RuntimeException lastError = null;
+        for (AuditEvent event : batch) {
+            try {
+                auditRepository.insertAll(List.of(event));
+                written.increment();
+            } catch (RuntimeException e) {
+                failed++;
+                lastError = e;
+                log.debug("Could not write audit event {}", event.id(), e);
+            }
+        }
+        if (failed > 0) {
+            log.error("Dropping {} of {} audit events that could not be written", failed, batch.size(), lastError);
+            auditLog.dropped(failed);
+        }
+    }
+}
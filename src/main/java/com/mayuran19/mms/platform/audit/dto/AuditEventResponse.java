@@ -0,0 +1,30 @@
+package com.mayuran19.mms.platform.audit.dto;
+
+import com.mayuran19.mms.platform.audit.AuditEvent;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record AuditEventResponse(
+    UUID id,
+    OffsetDateTime occurredDate,
+    UUID actorId,
+    String entityType,
+    UUID entityId,
+    UUID tenantId,
+    String action,
+    String details
+) {
+    public static AuditEventResponse fromEvent(AuditEvent event) {
+        return new AuditEventResponse(
+            event.id(),
+            event.occurredDate(),
+            event.actorId(),
+            event.entity().name(),
+            event.entityId(),
+            event.tenantId(),
+            event.action().name(),
+            event.details()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.mayuran19.mms.platform.audit.dto;
+
+import java.util.List;
+
+/**
+ * One page of audit events, newest first. Pass {@code nextCursor} back to get the next page.
+ */
+public record AuditPageResponse(
+    List<AuditEventResponse> events,
+    String nextCursor,
+    boolean hasMore
+) {}
\ No newline at end of file
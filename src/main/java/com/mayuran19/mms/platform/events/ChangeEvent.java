@@ -0,0 +1,33 @@
+package com.mayuran19.mms.platform.events;
+
+import java.util.UUID;
+
+/**
+ * A committed change to a tenant or tenant user. Carries ids only; clients refetch what they show,
+ * which is cheap with the ETags on the tenant and member endpoints.
+ *
+ * @param tenantId the tenant itself for tenant changes, the member's tenant for member changes
+ */
+public record ChangeEvent(Entity entity, Action action, UUID id, UUID tenantId) {
+
+    public enum Entity { TENANT, TENANT_USER }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    /**
+     * Compact form for the {@code NOTIFY} payload, which is limited to 8000 bytes.
+     */
+    String encode() {
+        return entity.name() + ':' + action.name() + ':' + id + ':' + tenantId;
+    }
+
+    static ChangeEvent decode(String payload) {
+        String[] parts = payload.split(":", 4);
+        return new ChangeEvent(
+            Entity.valueOf(parts[0]),
+            Action.valueOf(parts[1]),
+            UUID.fromString(parts[2]),
+            UUID.fromString(parts[3])
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.mayuran19.mms.platform.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans change events out to the open Server-Sent Events streams of this node.
+ * <p>
+ * Every stream has its own bounded queue drained by a virtual thread, so the listener thread only
+ * ever does non-blocking offers and a stalled client blocks nothing but its own writer. A client
+ * whose queue is full is dropped rather than slowing the others down; the browser's
+ * {@code EventSource} reconnects and the page refetches. An idle writer sends a heartbeat comment
+ * every {@code heartbeat-interval}, which also notices clients that went away.
+ */
+public class ChangeEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBroadcaster.class);
+
+    // Tells the writer to send a resync event, after the listener may have missed notifications
+    private static final ChangeEvent RESYNC = new ChangeEvent(null, null, null, null);
+
+    private final ChangeEventProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+
+    public ChangeEventBroadcaster(ChangeEventProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dropped = Counter.builder("mms.events.dropped")
+            .description("Change event streams closed because the client could not keep up")
+            .register(meterRegistry);
+        Gauge.builder("mms.events.subscribers", subscribers, Set::size)
+            .description("Open change event streams")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.maxConnections()) {
+            throw new TooManySubscribersException("Too many open change event streams");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(properties.connectionTimeout().toMillis()));
+        subscribers.add(subscriber);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscriber.writer = Thread.ofVirtual().name("sse-writer").start(subscriber::drain);
+        return subscriber.emitter;
+    }
+
+    public void broadcast(ChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(event)) {
+                dropped.increment();
+                log.debug("Dropping change event stream that is {} events behind", properties.bufferSize());
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * Asks every client to refetch, after events may have been lost.
+     */
+    public void resync() {
+        broadcast(RESYNC);
+    }
+
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> queue = new ArrayBlockingQueue<>(properties.bufferSize());
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread writer;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Runs on the subscriber's virtual thread, the only thread that writes to or completes the
+         * emitter; completing it from elsewhere would block behind a send to a stalled client.
+         */
+        private void drain() {
+            try {
+                // Flushes the response headers so the browser sees the stream open right away
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!closed.get()) {
+                    ChangeEvent event = queue.poll(properties.heartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (event == RESYNC) {
+                        emitter.send(SseEmitter.event().name("resync").data(""));
+                    } else {
+                        emitter.send(SseEmitter.event().name("change").data(event));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed while waiting for the next event
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the response is already complete
+            } finally {
+                close();
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            Thread current = writer;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+    }
+
+    public static class TooManySubscribersException extends RuntimeException {
+        public TooManySubscribersException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.mayuran19.mms.platform.events;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.DSLContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+@Configuration
+@EnableConfigurationProperties(ChangeEventProperties.class)
+@ConditionalOnProperty(prefix = "mms.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeEventConfig {
+
+    @Bean
+    public ChangeEventPublisher changeEventPublisher(DSLContext dsl) {
+        return new ChangeEventPublisher(dsl);
+    }
+
+    @Bean
+    public ChangeEventBroadcaster changeEventBroadcaster(ChangeEventProperties properties, MeterRegistry meterRegistry) {
+        return new ChangeEventBroadcaster(properties, meterRegistry);
+    }
+
+    /**
+     * The listener's connection is opened outside the application's pool: it is held for the
+     * lifetime of the node and would otherwise permanently take one of the pool's connections.
+     */
+    @Bean
+    public ChangeEventListener changeEventListener(JdbcConnectionDetails connectionDetails, ChangeEventBroadcaster broadcaster,
+                                                   ChangeEventProperties properties) {
+        return new ChangeEventListener(
+            new DriverManagerDataSource(connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword()),
+            broadcaster, properties);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.mayuran19.mms.platform.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/platform/events")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+@ConditionalOnProperty(prefix = "mms.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeEventController {
+
+    private final ChangeEventBroadcaster broadcaster;
+
+    public ChangeEventController(ChangeEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return broadcaster.subscribe();
+    }
+
+    @ExceptionHandler(ChangeEventBroadcaster.TooManySubscribersException.class)
+    public ResponseEntity<Void> handleTooManySubscribers(ChangeEventBroadcaster.TooManySubscribersException ex) {
+        // No body: the client only accepts text/event-stream, and EventSource retries on the status alone
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.mayuran19.mms.platform.events;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds one connection per node on {@code LISTEN mms_changes} and hands every notification to the
+ * {@link ChangeEventBroadcaster}, so changes committed on any node reach the streams of all nodes.
+ * The connection sends {@code SELECT 1} every heartbeat interval, so a connection dropped without
+ * a reset is noticed. After a lost connection it reconnects and asks clients to resync, since
+ * notifications sent in between are not replayed.
+ * <p>
+ * The connection is held for the lifetime of the application, so it should not come from the
+ * request pool (see {@link ChangeEventConfig}).
+ */
+public class ChangeEventListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventListener.class);
+
+    private final DataSource dataSource;
+    private final ChangeEventBroadcaster broadcaster;
+    private final ChangeEventProperties properties;
+    private volatile boolean running;
+    private Thread thread;
+
+    public ChangeEventListener(DataSource dataSource, ChangeEventBroadcaster broadcaster, ChangeEventProperties properties) {
+        this.dataSource = dataSource;
+        this.broadcaster = broadcaster;
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofVirtual().name("change-event-listener").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        broadcaster.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                // Bounds how long a heartbeat waits for its reply
+                connection.setNetworkTimeout(Runnable::run, (int) properties.heartbeatInterval().toMillis());
+                statement.execute("LISTEN " + ChangeEventPublisher.CHANNEL);
+                if (reconnect) {
+                    broadcaster.resync();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long interval = properties.heartbeatInterval().toNanos();
+                long nextHeartbeat = System.nanoTime() + interval;
+                while (running) {
+                    long wait = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextHeartbeat - System.nanoTime()));
+                    PGNotification[] notifications = pgConnection.getNotifications((int) wait);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - nextHeartbeat >= 0) {
+                        // Waiting only reads the socket; a half-open connection fails on a write
+                        statement.execute("SELECT 1");
+                        nextHeartbeat = System.nanoTime() + interval;
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change event listener lost its connection, reconnecting in {}", properties.reconnectDelay(), e);
+                reconnect = true;
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            broadcaster.broadcast(ChangeEvent.decode(payload));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed change event '{}'", payload);
+        }
+    }
+}
\ No newline at end of file
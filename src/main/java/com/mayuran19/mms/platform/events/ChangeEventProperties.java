@@ -0,0 +1,28 @@
+package com.mayuran19.mms.platform.events;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether tenant and member changes are pushed to the admin UI
+ * @param bufferSize events queued per connection; a client that falls this far behind is dropped
+ *                   and reconnects
+ * @param heartbeatInterval idle time after which a comment is sent to keep proxies from closing
+ *                          the stream and to detect dead clients; also how often the database
+ *                          listener checks its connection
+ * @param connectionTimeout lifetime of one stream, after which the browser reconnects and is
+ *                          authorized again
+ * @param maxConnections open streams per node; further requests get 503
+ * @param reconnectDelay wait before the database listener reconnects after an error
+ */
+@ConfigurationProperties(prefix = "mms.events")
+public record ChangeEventProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("256") int bufferSize,
+    @DefaultValue("15s") Duration heartbeatInterval,
+    @DefaultValue("30m") Duration connectionTimeout,
+    @DefaultValue("5000") int maxConnections,
+    @DefaultValue("5s") Duration reconnectDelay
+) {}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.mayuran19.mms.platform.events;
+
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+
+import java.util.List;
+
+/**
+ * Publishes changes with {@code pg_notify} inside the writing transaction. PostgreSQL delivers the
+ * notification to every node's {@link ChangeEventListener} only once the transaction commits, and
+ * drops it on rollback, so subscribers never see changes that did not happen.
+ */
+public class ChangeEventPublisher {
+
+    static final String CHANNEL = "mms_changes";
+
+    private final DSLContext dsl;
+
+    public ChangeEventPublisher(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public void publish(ChangeEvent event) {
+        dsl.select(DSL.field("pg_notify({0}, {1})", Object.class, DSL.val(CHANNEL), DSL.val(event.encode()))).fetch();
+    }
+
+    /**
+     * Publishes several changes with one statement.
+     */
+    public void publishAll(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        String[] payloads = events.stream().map(ChangeEvent::encode).toArray(String[]::new);
+        dsl.resultQuery("select pg_notify({0}, payload) from unnest({1}) as payload", DSL.val(CHANNEL), DSL.val(payloads)).fetch();
+    }
+}
\ No newline at end of file
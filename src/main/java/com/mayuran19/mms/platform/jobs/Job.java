@@ -0,0 +1,35 @@
+package com.mayuran19.mms.platform.jobs;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A row of the {@code jobs} table. {@code attempts} counts the runs started so far, including the
+ * current one while the job is {@link Status#RUNNING}.
+ */
+public record Job(
+    UUID id,
+    String type,
+    UUID tenantId,
+    String payload,
+    Status status,
+    int attempts,
+    int maxAttempts,
+    OffsetDateTime runAfter,
+    String lockedBy,
+    OffsetDateTime lockedUntil,
+    String lastError,
+    OffsetDateTime startedDate,
+    OffsetDateTime finishedDate,
+    UUID createdBy,
+    OffsetDateTime createdDate
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.mayuran19.mms.platform.jobs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "mms.jobs", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JobConfig {
+
+    @Bean
+    public JobWorker jobWorker(
+        JobRepository jobRepository,
+        TransactionTemplate transactionTemplate,
+        JobProperties properties,
+        List<JobHandler> handlers,
+        MeterRegistry meterRegistry
+    ) {
+        return new JobWorker(jobRepository, transactionTemplate, properties, handlers, meterRegistry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.mayuran19.mms.platform.jobs;
+
+import com.mayuran19.mms.platform.jobs.dto.EnqueueJobRequest;
+import com.mayuran19.mms.platform.jobs.dto.JobResponse;
+import com.mayuran19.mms.security.CurrentPlatformUser;
+import com.mayuran19.mms.security.PlatformUserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/platform/jobs")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+public class JobController {
+
+    private final JobQueue jobQueue;
+
+    public JobController(JobQueue jobQueue) {
+        this.jobQueue = jobQueue;
+    }
+
+    @PostMapping
+    public ResponseEntity<JobResponse> enqueueJob(
+        @CurrentPlatformUser PlatformUserPrincipal currentUser,
+        @Valid @RequestBody EnqueueJobRequest request
+    ) {
+        JobResponse response = jobQueue.enqueue(request, currentUser.id());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<JobResponse>> getRecentJobs(
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) UUID tenantId,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(jobQueue.getRecentJobs(status, type, tenantId, limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(jobQueue.getJob(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobResponse> cancelJob(
+        @CurrentPlatformUser PlatformUserPrincipal currentUser,
+        @PathVariable UUID id
+    ) {
+        return ResponseEntity.ok(jobQueue.cancel(id, currentUser.id()));
+    }
+
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<JobResponse> retryJob(
+        @CurrentPlatformUser PlatformUserPrincipal currentUser,
+        @PathVariable UUID id
+    ) {
+        return ResponseEntity.ok(jobQueue.retry(id, currentUser.id()));
+    }
+
+    @ExceptionHandler(JobQueue.JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobQueue.JobNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(JobQueue.InvalidJobException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidJob(JobQueue.InvalidJobException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(JobQueue.JobStateException.class)
+    public ResponseEntity<ErrorResponse> handleJobState(JobQueue.JobStateException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    public record ErrorResponse(String message) {}
+}
\ No newline at end of file
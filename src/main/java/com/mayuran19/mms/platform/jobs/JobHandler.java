@@ -0,0 +1,12 @@
+package com.mayuran19.mms.platform.jobs;
+
+/**
+ * Runs jobs of one {@link #type()}. Handlers are picked up as beans; a job whose handler throws
+ * is retried with back-off until it runs out of attempts, so handlers should be idempotent.
+ */
+public interface JobHandler {
+
+    String type();
+
+    void execute(Job job) throws Exception;
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.mayuran19.mms.platform.jobs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled           run a {@link JobWorker} on this node; jobs can be enqueued either way
+ * @param concurrency       jobs run at once by this node, each on its own virtual thread
+ * @param claimBatchSize    jobs claimed per polling transaction
+ * @param pollInterval      delay between polls while the queue has nothing due
+ * @param lease             how long a claimed job stays locked to its worker without renewal; a
+ *                          job whose worker died is requeued once its lease expires
+ * @param maxAttempts       default number of runs before a job is marked failed
+ * @param baseBackoff       delay before the first retry, doubled on every further attempt
+ * @param maxBackoff        upper bound on the retry delay
+ * @param tenantConcurrency jobs of one tenant running at once across all nodes
+ * @param shutdownTimeout   how long shutdown waits for running jobs before leaving them to be requeued
+ * @param retention         how long finished jobs are kept
+ * @param purgeInterval     delay between deletions of finished jobs past their retention
+ */
+@ConfigurationProperties(prefix = "mms.jobs")
+public record JobProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("16") int concurrency,
+    @DefaultValue("8") int claimBatchSize,
+    @DefaultValue("1s") Duration pollInterval,
+    @DefaultValue("5m") Duration lease,
+    @DefaultValue("5") int maxAttempts,
+    @DefaultValue("10s") Duration baseBackoff,
+    @DefaultValue("1h") Duration maxBackoff,
+    @DefaultValue("2") int tenantConcurrency,
+    @DefaultValue("30s") Duration shutdownTimeout,
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("1h") Duration purgeInterval
+) {}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.mayuran19.mms.platform.jobs;
+
+import com.mayuran19.mms.platform.jobs.dto.EnqueueJobRequest;
+import com.mayuran19.mms.platform.jobs.dto.JobResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Enqueues and manages jobs run by the {@link JobWorker}s. Enqueuing joins the caller's
+ * transaction, so a job only becomes visible to workers if the work that scheduled it commits.
+ */
+@Service
+@EnableConfigurationProperties(JobProperties.class)
+public class JobQueue {
+
+    private static final int MAX_LIST_SIZE = 200;
+
+    private final JobRepository jobRepository;
+    private final JobProperties properties;
+    private final Set<String> types;
+
+    public JobQueue(JobRepository jobRepository, JobProperties properties, List<JobHandler> handlers) {
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+        this.types = handlers.stream().map(JobHandler::type).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Job enqueue(String type, UUID tenantId, String payload, UUID createdBy) {
+        return enqueue(type, tenantId, payload, properties.maxAttempts(), createdBy);
+    }
+
+    public Job enqueue(String type, UUID tenantId, String payload, int maxAttempts, UUID createdBy) {
+        if (!types.contains(type)) {
+            throw new InvalidJobException("Unknown job type: " + type);
+        }
+        return jobRepository.create(UUID.randomUUID(), type, tenantId, payload, maxAttempts, createdBy);
+    }
+
+    public JobResponse enqueue(EnqueueJobRequest request, UUID currentUserId) {
+        int maxAttempts = request.maxAttempts() != null ? request.maxAttempts() : properties.maxAttempts();
+        return JobResponse.fromJob(enqueue(request.type(), request.tenantId(), request.payload(), maxAttempts, currentUserId));
+    }
+
+    public JobResponse getJob(UUID id) {
+        return jobRepository.findById(id)
+            .map(JobResponse::fromJob)
+            .orElseThrow(() -> new JobNotFoundException("Job not found with id: " + id));
+    }
+
+    public List<JobResponse> getRecentJobs(String status, String type, UUID tenantId, int limit) {
+        if (limit < 1 || limit > MAX_LIST_SIZE) {
+            throw new InvalidJobException("Limit must be between 1 and " + MAX_LIST_SIZE);
+        }
+        Job.Status jobStatus = null;
+        if (status != null) {
+            try {
+                jobStatus = Job.Status.valueOf(status.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidJobException("Unknown job status: " + status);
+            }
+        }
+        return jobRepository.findRecent(jobStatus, type, tenantId, limit)
+            .stream()
+            .map(JobResponse::fromJob)
+            .toList();
+    }
+
+    /**
+     * Cancels a job that has not started yet; running jobs are left to finish.
+     */
+    public JobResponse cancel(UUID id, UUID currentUserId) {
+        if (!jobRepository.cancel(id, currentUserId)) {
+            throw stateConflict(id, "Only queued jobs can be cancelled");
+        }
+        return getJob(id);
+    }
+
+    public JobResponse retry(UUID id, UUID currentUserId) {
+        if (!jobRepository.retry(id, currentUserId)) {
+            throw stateConflict(id, "Only failed or cancelled jobs can be retried");
+        }
+        return getJob(id);
+    }
+
+    private RuntimeException stateConflict(UUID id, String message) {
+        Job job = jobRepository.findById(id)
+            .orElseThrow(() -> new JobNotFoundException("Job not found with id: " + id));
+        return new JobStateException(message + ", job is " + job.status());
+    }
+
+    public static class JobNotFoundException extends RuntimeException {
+        public JobNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static class InvalidJobException extends RuntimeException {
+        public InvalidJobException(String message) {
+            super(message);
+        }
+    }
+
+    public static class JobStateException extends RuntimeException {
+        public JobStateException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
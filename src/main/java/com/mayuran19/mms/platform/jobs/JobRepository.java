@@ -0,0 +1,285 @@
+package com.mayuran19.mms.platform.jobs;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The {@code jobs} table. Queue maintenance compares against the database clock
+ * ({@code current_timestamp}), so nodes with skewed clocks agree on which jobs are due and which
+ * leases have expired.
+ */
+@Repository
+public class JobRepository {
+
+    // Namespace of the two-key advisory locks taken per tenant while claiming
+    static final int TENANT_LOCK_NAMESPACE = 0x6d6d_7301;
+
+    static final Table<Record> JOBS = DSL.table(DSL.name("jobs"));
+    static final Field<UUID> ID = DSL.field(DSL.name("jobs", "id"), SQLDataType.UUID);
+    static final Field<String> TYPE = DSL.field(DSL.name("jobs", "type"), SQLDataType.VARCHAR);
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("jobs", "tenant_id"), SQLDataType.UUID);
+    static final Field<String> PAYLOAD = DSL.field(DSL.name("jobs", "payload"), SQLDataType.CLOB);
+    static final Field<String> STATUS = DSL.field(DSL.name("jobs", "status"), SQLDataType.VARCHAR);
+    static final Field<Integer> ATTEMPTS = DSL.field(DSL.name("jobs", "attempts"), SQLDataType.INTEGER);
+    static final Field<Integer> MAX_ATTEMPTS = DSL.field(DSL.name("jobs", "max_attempts"), SQLDataType.INTEGER);
+    static final Field<OffsetDateTime> RUN_AFTER = DSL.field(DSL.name("jobs", "run_after"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<String> LOCKED_BY = DSL.field(DSL.name("jobs", "locked_by"), SQLDataType.VARCHAR);
+    static final Field<OffsetDateTime> LOCKED_UNTIL = DSL.field(DSL.name("jobs", "locked_until"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<String> LAST_ERROR = DSL.field(DSL.name("jobs", "last_error"), SQLDataType.CLOB);
+    static final Field<OffsetDateTime> STARTED_DATE = DSL.field(DSL.name("jobs", "started_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<OffsetDateTime> FINISHED_DATE = DSL.field(DSL.name("jobs", "finished_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("jobs", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("jobs", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("jobs", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("jobs", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private static final Field<?>[] COLUMNS = {
+        ID, TYPE, TENANT_ID, PAYLOAD, STATUS, ATTEMPTS, MAX_ATTEMPTS, RUN_AFTER, LOCKED_BY, LOCKED_UNTIL,
+        LAST_ERROR, STARTED_DATE, FINISHED_DATE, CREATED_BY, CREATED_DATE
+    };
+
+    private static final Field<OffsetDateTime> NOW = DSL.currentOffsetDateTime();
+
+    private final DSLContext dsl;
+
+    public JobRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public Job create(UUID id, String type, UUID tenantId, String payload, int maxAttempts, UUID createdBy) {
+        return dsl.insertInto(JOBS)
+            .set(ID, id)
+            .set(TYPE, type)
+            .set(TENANT_ID, tenantId)
+            .set(PAYLOAD, payload)
+            .set(STATUS, Job.Status.QUEUED.name())
+            .set(MAX_ATTEMPTS, maxAttempts)
+            .set(RUN_AFTER, NOW)
+            .set(CREATED_BY, createdBy)
+            .set(CREATED_DATE, NOW)
+            .set(LAST_MODIFIED_BY, createdBy)
+            .set(LAST_MODIFIED_DATE, NOW)
+            .returning(COLUMNS)
+            .fetchOne(JobRepository::toJob);
+    }
+
+    public Optional<Job> findById(UUID id) {
+        return dsl.select(COLUMNS)
+            .from(JOBS)
+            .where(ID.eq(id))
+            .fetchOptional(JobRepository::toJob);
+    }
+
+    /**
+     * Most recently created jobs matching the optional filters.
+     */
+    public List<Job> findRecent(Job.Status status, String type, UUID tenantId, int limit) {
+        Condition condition = DSL.noCondition();
+        if (status != null) {
+            condition = condition.and(STATUS.eq(status.name()));
+        }
+        if (type != null) {
+            condition = condition.and(TYPE.eq(type));
+        }
+        if (tenantId != null) {
+            condition = condition.and(TENANT_ID.eq(tenantId));
+        }
+        return dsl.select(COLUMNS)
+            .from(JOBS)
+            .where(condition)
+            .orderBy(CREATED_DATE.desc(), ID.desc())
+            .limit(limit)
+            .fetch(JobRepository::toJob);
+    }
+
+    /**
+     * Locks up to {@code limit} due jobs, oldest first, for the rest of the transaction. Jobs
+     * another worker is claiming right now are skipped rather than waited for.
+     */
+    public List<DueJob> lockDue(int limit) {
+        return dsl.select(ID, TENANT_ID)
+            .from(JOBS)
+            .where(STATUS.eq(Job.Status.QUEUED.name()))
+            .and(RUN_AFTER.le(NOW))
+            .orderBy(RUN_AFTER, ID)
+            .limit(limit)
+            .forUpdate()
+            .skipLocked()
+            .fetch(r -> new DueJob(r.value1(), r.value2()));
+    }
+
+    /**
+     * Serialises claims for one tenant across nodes until the end of the transaction, so running
+     * counts read afterwards stay accurate. Returns false if another claim holds the tenant.
+     */
+    public boolean tryLockTenant(UUID tenantId) {
+        return Boolean.TRUE.equals(dsl
+            .select(DSL.field("pg_try_advisory_xact_lock({0}, hashtext({1}::text))", Boolean.class,
+                DSL.val(TENANT_LOCK_NAMESPACE), DSL.val(tenantId)))
+            .fetchOne(0, Boolean.class));
+    }
+
+    public Map<UUID, Integer> countRunningByTenant(Collection<UUID> tenantIds) {
+        Field<Integer> count = DSL.count();
+        return dsl.select(TENANT_ID, count)
+            .from(JOBS)
+            .where(STATUS.eq(Job.Status.RUNNING.name()))
+            .and(TENANT_ID.in(tenantIds))
+            .groupBy(TENANT_ID)
+            .fetchMap(TENANT_ID, count);
+    }
+
+    public List<Job> markRunning(Collection<UUID> ids, String workerId, Duration lease) {
+        return dsl.update(JOBS)
+            .set(STATUS, Job.Status.RUNNING.name())
+            .set(ATTEMPTS, ATTEMPTS.plus(1))
+            .set(LOCKED_BY, workerId)
+            .set(LOCKED_UNTIL, nowPlus(lease))
+            .set(STARTED_DATE, NOW)
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(ID.in(ids))
+            .returning(COLUMNS)
+            .fetch(JobRepository::toJob);
+    }
+
+    public int renewLeases(Collection<UUID> ids, String workerId, Duration lease) {
+        return dsl.update(JOBS)
+            .set(LOCKED_UNTIL, nowPlus(lease))
+            .where(ID.in(ids))
+            .and(ownedBy(workerId))
+            .execute();
+    }
+
+    /**
+     * Puts running jobs whose worker stopped renewing the lease back in the queue, or fails them
+     * if that was their last attempt.
+     *
+     * @return number of jobs requeued or failed
+     */
+    public int releaseExpired() {
+        Condition exhausted = ATTEMPTS.ge(MAX_ATTEMPTS);
+        return dsl.update(JOBS)
+            .set(STATUS, DSL.when(exhausted, Job.Status.FAILED.name()).otherwise(Job.Status.QUEUED.name()))
+            .set(FINISHED_DATE, DSL.when(exhausted, NOW).otherwise(DSL.castNull(OffsetDateTime.class)))
+            .set(LAST_ERROR, "Lease expired")
+            .set(LOCKED_BY, DSL.castNull(String.class))
+            .set(LOCKED_UNTIL, DSL.castNull(OffsetDateTime.class))
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(STATUS.eq(Job.Status.RUNNING.name()))
+            .and(LOCKED_UNTIL.lt(NOW))
+            .execute();
+    }
+
+    public boolean complete(UUID id, String workerId) {
+        return finish(id, workerId, Job.Status.SUCCEEDED, null);
+    }
+
+    public boolean fail(UUID id, String workerId, String error) {
+        return finish(id, workerId, Job.Status.FAILED, error);
+    }
+
+    public boolean reschedule(UUID id, String workerId, Duration delay, String error) {
+        return dsl.update(JOBS)
+            .set(STATUS, Job.Status.QUEUED.name())
+            .set(RUN_AFTER, nowPlus(delay))
+            .set(LAST_ERROR, error)
+            .set(LOCKED_BY, DSL.castNull(String.class))
+            .set(LOCKED_UNTIL, DSL.castNull(OffsetDateTime.class))
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(ID.eq(id))
+            .and(ownedBy(workerId))
+            .execute() > 0;
+    }
+
+    public boolean cancel(UUID id, UUID cancelledBy) {
+        return dsl.update(JOBS)
+            .set(STATUS, Job.Status.CANCELLED.name())
+            .set(FINISHED_DATE, NOW)
+            .set(LAST_MODIFIED_BY, cancelledBy)
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(ID.eq(id))
+            .and(STATUS.eq(Job.Status.QUEUED.name()))
+            .execute() > 0;
+    }
+
+    /**
+     * Queues a failed or cancelled job again with a fresh set of attempts.
+     */
+    public boolean retry(UUID id, UUID retriedBy) {
+        return dsl.update(JOBS)
+            .set(STATUS, Job.Status.QUEUED.name())
+            .set(ATTEMPTS, 0)
+            .set(RUN_AFTER, NOW)
+            .set(FINISHED_DATE, DSL.castNull(OffsetDateTime.class))
+            .set(LAST_MODIFIED_BY, retriedBy)
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(ID.eq(id))
+            .and(STATUS.in(Job.Status.FAILED.name(), Job.Status.CANCELLED.name()))
+            .execute() > 0;
+    }
+
+    public int deleteFinishedBefore(OffsetDateTime cutoff) {
+        return dsl.deleteFrom(JOBS)
+            .where(FINISHED_DATE.lt(cutoff))
+            .execute();
+    }
+
+    private boolean finish(UUID id, String workerId, Job.Status status, String error) {
+        return dsl.update(JOBS)
+            .set(STATUS, status.name())
+            .set(FINISHED_DATE, NOW)
+            .set(LAST_ERROR, error)
+            .set(LOCKED_BY, DSL.castNull(String.class))
+            .set(LOCKED_UNTIL, DSL.castNull(OffsetDateTime.class))
+            .set(LAST_MODIFIED_DATE, NOW)
+            .where(ID.eq(id))
+            .and(ownedBy(workerId))
+            .execute() > 0;
+    }
+
+    // A worker whose lease expired no longer owns the job and must not overwrite its state
+    private static Condition ownedBy(String workerId) {
+        return STATUS.eq(Job.Status.RUNNING.name()).and(LOCKED_BY.eq(workerId));
+    }
+
+    private static Field<OffsetDateTime> nowPlus(Duration duration) {
+        return DSL.field("current_timestamp + {0} * interval '1 millisecond'", OffsetDateTime.class,
+            DSL.val(duration.toMillis()));
+    }
+
+    private static Job toJob(Record r) {
+        return new Job(
+            r.get(ID),
+            r.get(TYPE),
+            r.get(TENANT_ID),
+            r.get(PAYLOAD),
+            Job.Status.valueOf(r.get(STATUS)),
+            r.get(ATTEMPTS),
+            r.get(MAX_ATTEMPTS),
+            r.get(RUN_AFTER),
+            r.get(LOCKED_BY),
+            r.get(LOCKED_UNTIL),
+            r.get(LAST_ERROR),
+            r.get(STARTED_DATE),
+            r.get(FINISHED_DATE),
+            r.get(CREATED_BY),
+            r.get(CREATED_DATE)
+        );
+    }
+
+    public record DueJob(UUID id, UUID tenantId) {}
+}
\ No newline at end of file
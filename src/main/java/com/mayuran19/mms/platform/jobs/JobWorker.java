@@ -0,0 +1,287 @@
+package com.mayuran19.mms.platform.jobs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Claims due jobs from the {@code jobs} table and runs each on its own virtual thread, up to
+ * {@code concurrency} at once per node.
+ * <p>
+ * A poller claims up to {@code claimBatchSize} jobs per transaction with
+ * {@code FOR UPDATE SKIP LOCKED}, so workers on several nodes never wait on each other or claim the
+ * same job. Jobs of a tenant already running {@code tenantConcurrency} jobs are left queued. The
+ * tenant is locked with an advisory lock while it is counted, so the cap holds across nodes.
+ * <p>
+ * A claimed job holds a lease that the poller renews while it runs. If a node dies, its jobs are
+ * requeued by whichever node notices the lease has expired. A failed job is retried after an
+ * exponential back-off with jitter, until it has used {@code maxAttempts} runs.
+ */
+public class JobWorker implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JobWorker.class);
+
+    // Claims look past tenants at their cap, so they do not hold up jobs of other tenants
+    private static final int CANDIDATE_FACTOR = 4;
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobProperties properties;
+    private final Map<String, JobHandler> handlers;
+    private final MeterRegistry meterRegistry;
+    private final String workerId;
+    private final Semaphore slots;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter expired;
+    private volatile boolean running;
+    private volatile long lastRenewalNanos;
+    private Thread poller;
+
+    public JobWorker(
+        JobRepository jobRepository,
+        TransactionTemplate transactionTemplate,
+        JobProperties properties,
+        List<JobHandler> handlers,
+        MeterRegistry meterRegistry
+    ) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, Function.identity()));
+        this.meterRegistry = meterRegistry;
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+        this.slots = new Semaphore(properties.concurrency());
+        this.expired = Counter.builder("mms.jobs.lease_expired")
+            .description("Running jobs requeued or failed because their worker stopped renewing the lease")
+            .register(meterRegistry);
+        Gauge.builder("mms.jobs.in_flight", inFlight, Set::size)
+            .description("Jobs running on this node")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        poller = Thread.ofVirtual().name("job-poller").start(this::pollLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        // Jobs still running after the timeout are requeued elsewhere once their lease expires
+        try {
+            if (slots.tryAcquire(properties.concurrency(), properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                slots.release(properties.concurrency());
+            } else {
+                log.warn("Stopping with {} jobs still running", inFlight.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Scheduled(fixedDelayString = "${mms.jobs.purge-interval:1h}")
+    public void purgeFinished() {
+        int purged = jobRepository.deleteFinishedBefore(OffsetDateTime.now().minus(properties.retention()));
+        if (purged > 0) {
+            log.debug("Purged {} finished jobs", purged);
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            boolean full;
+            try {
+                full = poll();
+            } catch (RuntimeException e) {
+                // Including transaction failures: the poller must outlive them, or this node's
+                // leases lapse and its running jobs are started again elsewhere
+                log.warn("Polling for jobs failed", e);
+                full = false;
+            }
+            if (!full) {
+                try {
+                    Thread.sleep(properties.pollInterval());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if a full batch was claimed, so more jobs are probably due
+     */
+    private boolean poll() {
+        int released = jobRepository.releaseExpired();
+        if (released > 0) {
+            expired.increment(released);
+            log.warn("Released {} jobs whose lease expired", released);
+        }
+        renewLeasesIfDue();
+
+        int free = Math.min(slots.availablePermits(), properties.claimBatchSize());
+        if (free == 0) {
+            return false;
+        }
+        List<Job> claimed = transactionTemplate.execute(status -> claim(free));
+        if (claimed == null || claimed.isEmpty()) {
+            return false;
+        }
+        for (Job job : claimed) {
+            slots.acquireUninterruptibly();
+            inFlight.add(job.id());
+            Thread.ofVirtual().name("job-" + job.type() + "-" + job.id()).start(() -> run(job));
+        }
+        return claimed.size() == free;
+    }
+
+    private void renewLeasesIfDue() {
+        long now = System.nanoTime();
+        if (inFlight.isEmpty() || now - lastRenewalNanos < properties.lease().toNanos() / 3) {
+            return;
+        }
+        jobRepository.renewLeases(List.copyOf(inFlight), workerId, properties.lease());
+        lastRenewalNanos = now;
+    }
+
+    /**
+     * Claims up to {@code limit} due jobs within the caller's transaction.
+     */
+    List<Job> claim(int limit) {
+        List<JobRepository.DueJob> due = jobRepository.lockDue(limit * CANDIDATE_FACTOR);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> tenantIds = due.stream()
+            .map(JobRepository.DueJob::tenantId)
+            .filter(id -> id != null)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, Integer> allowance = new HashMap<>();
+        List<UUID> lockedTenants = new ArrayList<>();
+        for (UUID tenantId : tenantIds) {
+            if (jobRepository.tryLockTenant(tenantId)) {
+                lockedTenants.add(tenantId);
+            } else {
+                // Another node is claiming for this tenant; its jobs wait for the next poll
+                allowance.put(tenantId, 0);
+            }
+        }
+        if (!lockedTenants.isEmpty()) {
+            Map<UUID, Integer> runningCounts = jobRepository.countRunningByTenant(lockedTenants);
+            for (UUID tenantId : lockedTenants) {
+                allowance.put(tenantId, properties.tenantConcurrency() - runningCounts.getOrDefault(tenantId, 0));
+            }
+        }
+
+        List<UUID> picked = new ArrayList<>(limit);
+        for (JobRepository.DueJob job : due) {
+            if (picked.size() == limit) {
+                break;
+            }
+            if (job.tenantId() == null) {
+                picked.add(job.id());
+            } else if (allowance.get(job.tenantId()) > 0) {
+                allowance.merge(job.tenantId(), -1, Integer::sum);
+                picked.add(job.id());
+            }
+        }
+        return picked.isEmpty() ? List.of() : jobRepository.markRunning(picked, workerId, properties.lease());
+    }
+
+    private void run(Job job) {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            JobHandler handler = handlers.get(job.type());
+            if (handler == null) {
+                jobRepository.fail(job.id(), workerId, "No handler for job type " + job.type());
+                outcome = "failed";
+            } else {
+                outcome = execute(handler, job);
+            }
+        } catch (DataAccessException e) {
+            // The outcome could not be stored; the job runs again once its lease expires
+            log.warn("Could not record the outcome of job {}", job.id(), e);
+            outcome = "unknown";
+        } finally {
+            inFlight.remove(job.id());
+            slots.release();
+        }
+        Timer.builder("mms.jobs.duration")
+            .description("Time taken by one run of a job")
+            .tag("type", job.type())
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private String execute(JobHandler handler, Job job) {
+        try {
+            handler.execute(job);
+        } catch (Exception e) {
+            String error = truncate(e.getClass().getName() + ": " + e.getMessage());
+            if (job.attempts() < job.maxAttempts()) {
+                Duration delay = backoff(job.attempts());
+                log.warn("Job {} ({}) failed on attempt {} of {}, retrying in {}",
+                    job.id(), job.type(), job.attempts(), job.maxAttempts(), delay, e);
+                jobRepository.reschedule(job.id(), workerId, delay, error);
+                return "retried";
+            }
+            log.error("Job {} ({}) failed on its last attempt", job.id(), job.type(), e);
+            jobRepository.fail(job.id(), workerId, error);
+            return "failed";
+        }
+        jobRepository.complete(job.id(), workerId);
+        return "succeeded";
+    }
+
+    /**
+     * Exponential back-off from {@code baseBackoff}, capped at {@code maxBackoff}, with the
+     * upper half randomised so jobs that failed together do not all retry together.
+     */
+    Duration backoff(int attempts) {
+        long base = properties.baseBackoff().toMillis();
+        long max = properties.maxBackoff().toMillis();
+        long delay = attempts >= 31 ? max : Math.min(max, base << Math.max(0, attempts - 1));
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
\ No newline at end of file
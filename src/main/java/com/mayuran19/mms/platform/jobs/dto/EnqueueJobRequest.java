@@ -0,0 +1,23 @@
+package com.mayuran19.mms.platform.jobs.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.UUID;
+
+public record EnqueueJobRequest(
+    @NotBlank(message = "Job type is required")
+    @Size(max = 100, message = "Job type must be at most 100 characters")
+    String type,
+
+    UUID tenantId,
+
+    @Size(max = 65536, message = "Payload must be at most 65536 characters")
+    String payload,
+
+    @Min(value = 1, message = "Max attempts must be at least 1")
+    @Max(value = 25, message = "Max attempts must be at most 25")
+    Integer maxAttempts
+) {}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.mayuran19.mms.platform.jobs.dto;
+
+import com.mayuran19.mms.platform.jobs.Job;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record JobResponse(
+    UUID id,
+    String type,
+    UUID tenantId,
+    String status,
+    int attempts,
+    int maxAttempts,
+    OffsetDateTime runAfter,
+    String lockedBy,
+    String lastError,
+    OffsetDateTime startedDate,
+    OffsetDateTime finishedDate,
+    UUID createdBy,
+    OffsetDateTime createdDate
+) {
+    public static JobResponse fromJob(Job job) {
+        return new JobResponse(
+            job.id(),
+            job.type(),
+            job.tenantId(),
+            job.status().name(),
+            job.attempts(),
+            job.maxAttempts(),
+            job.runAfter(),
+            job.lockedBy(),
+            job.lastError(),
+            job.startedDate(),
+            job.finishedDate(),
+            job.createdBy(),
+            job.createdDate()
+        );
+    }
+}
\ No newline at end of file
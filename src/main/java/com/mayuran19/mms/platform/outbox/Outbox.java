@@ -0,0 +1,28 @@
+package com.mayuran19.mms.platform.outbox;
+
+import com.mayuran19.mms.platform.events.ChangeEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records a change for delivery to integrations. Unlike {@link com.mayuran19.mms.platform.events.ChangeEventPublisher}
+ * the event is a row in the writing transaction, so it survives restarts and is delivered by
+ * {@link OutboxRelay} at least once, but only if the change commits.
+ */
+public class Outbox {
+
+    private final OutboxRepository outboxRepository;
+
+    public Outbox(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    public void add(ChangeEvent event, UUID actorId) {
+        outboxRepository.create(event, actorId);
+    }
+
+    public void addAll(List<ChangeEvent> events, UUID actorId) {
+        outboxRepository.createAll(events, actorId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.mayuran19.mms.platform.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "mms.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public Outbox outbox(OutboxRepository outboxRepository) {
+        return new Outbox(outboxRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mms.outbox.file", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties) {
+        return new FileOutboxSink(properties.file().path());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mms.outbox.webhook", name = "enabled", havingValue = "true")
+    public WebhookOutboxSink webhookOutboxSink(OutboxProperties properties) {
+        return new WebhookOutboxSink(properties.webhook());
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(
+        OutboxRepository outboxRepository,
+        TransactionTemplate transactionTemplate,
+        OutboxProperties properties,
+        List<OutboxSink> sinks,
+        MeterRegistry meterRegistry
+    ) {
+        return new OutboxRelay(outboxRepository, transactionTemplate, properties, sinks, meterRegistry);
+    }
+}
\ No newline at end of file
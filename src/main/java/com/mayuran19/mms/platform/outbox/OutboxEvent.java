@@ -0,0 +1,41 @@
+package com.mayuran19.mms.platform.outbox;
+
+import com.mayuran19.mms.platform.events.ChangeEvent;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A committed tenant or member change waiting in {@code outbox_events}. Sinks may receive an event
+ * more than once; {@code eventId} identifies it across deliveries.
+ *
+ * @param sequence delivery order, increasing with insert order
+ * @param tenantId the tenant itself for tenant changes, the member's tenant for member changes
+ */
+public record OutboxEvent(
+    long sequence,
+    UUID eventId,
+    ChangeEvent.Entity entity,
+    ChangeEvent.Action action,
+    UUID entityId,
+    UUID tenantId,
+    UUID actorId,
+    OffsetDateTime occurredDate
+) {
+
+    /**
+     * JSON object sent to sinks. Every value is a number, enum, UUID or ISO timestamp, so nothing
+     * needs escaping.
+     */
+    public String toJson() {
+        return "{\"sequence\":" + sequence
+            + ",\"eventId\":\"" + eventId
+            + "\",\"entity\":\"" + entity
+            + "\",\"action\":\"" + action
+            + "\",\"id\":\"" + entityId
+            + "\",\"tenantId\":\"" + tenantId
+            + "\",\"actorId\":\"" + actorId
+            + "\",\"occurredDate\":\"" + occurredDate
+            + "\"}";
+    }
+}
\ No newline at end of file
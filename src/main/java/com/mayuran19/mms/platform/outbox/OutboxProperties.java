@@ -0,0 +1,53 @@
+package com.mayuran19.mms.platform.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled      record tenant and member changes in {@code outbox_events} and relay them to
+ *                     the enabled sinks
+ * @param batchSize    events claimed and delivered per relay transaction
+ * @param pollInterval delay between relay runs while the outbox is empty
+ * @param baseBackoff  wait after a failed delivery, doubled with every further failure
+ * @param maxBackoff   upper bound on the wait after a failed delivery
+ * @param file         append events to a local JSON lines file
+ * @param webhook      POST events to an HTTP endpoint
+ */
+@ConfigurationProperties(prefix = "mms.outbox")
+public record OutboxProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("500ms") Duration pollInterval,
+    @DefaultValue("1s") Duration baseBackoff,
+    @DefaultValue("1m") Duration maxBackoff,
+    @DefaultValue File file,
+    @DefaultValue Webhook webhook
+) {
+
+    /**
+     * @param enabled deliver to the file sink
+     * @param path    file events are appended to, one JSON object per line
+     */
+    public record File(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("outbox/events.jsonl") Path path
+    ) {}
+
+    /**
+     * @param enabled        deliver to the webhook sink
+     * @param url            endpoint each batch is posted to as a JSON array
+     * @param connectTimeout time allowed to connect to the endpoint
+     * @param requestTimeout time allowed for the endpoint to answer; the relay's row locks are
+     *                       held until then
+     */
+    public record Webhook(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("http://localhost:8089/events") URI url,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("10s") Duration requestTimeout
+    ) {}
+}
\ No newline at end of file
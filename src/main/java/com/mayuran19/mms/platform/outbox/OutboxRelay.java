@@ -0,0 +1,179 @@
+package com.mayuran19.mms.platform.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code outbox_events} into the {@link OutboxSink}s on one virtual thread per node.
+ * <p>
+ * Each batch is one transaction: the oldest {@code batchSize} events are locked in sequence order,
+ * handed to every sink, and deleted only once all sinks have accepted them. If a sink fails or the
+ * node dies, the transaction rolls back and the same events are delivered again, so delivery is at
+ * least once. Every batch first takes a transaction-level advisory lock, so only one node delivers
+ * at a time and batches reach the sinks in sequence order; the relays of the other nodes find the
+ * lock taken and poll again later, taking over when that node stops. After a failure the relay
+ * waits from {@code baseBackoff} doubling up to {@code maxBackoff}.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final List<OutboxSink> sinks;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> delivered;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean running;
+    private Thread relay;
+
+    public OutboxRelay(
+        OutboxRepository outboxRepository,
+        TransactionTemplate transactionTemplate,
+        OutboxProperties properties,
+        List<OutboxSink> sinks,
+        MeterRegistry meterRegistry
+    ) {
+        if (sinks.isEmpty()) {
+            // Events would be deleted without going anywhere
+            throw new IllegalStateException("mms.outbox is enabled but no outbox sink is enabled");
+        }
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.sinks = sinks;
+        this.meterRegistry = meterRegistry;
+        this.delivered = sinks.stream().collect(Collectors.toMap(OutboxSink::name, sink ->
+            Counter.builder("mms.outbox.delivered")
+                .description("Outbox events accepted by a sink, including redeliveries")
+                .tag("sink", sink.name())
+                .register(meterRegistry)));
+        TimeGauge.builder("mms.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest event in the last delivered batch, 0 once the outbox is empty")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        relay = Thread.ofVirtual().name("outbox-relay").start(this::relayLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (relay == null) {
+            return;
+        }
+        // Not interrupted: a batch cut off mid-delivery would only be delivered again
+        LockSupport.unpark(relay);
+        try {
+            if (!relay.join(properties.webhook().requestTimeout().plusSeconds(5))) {
+                log.warn("Stopping while an outbox batch is still being delivered");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        int failures = 0;
+        while (running) {
+            Duration wait;
+            try {
+                boolean full = relayBatch();
+                failures = 0;
+                wait = full ? Duration.ZERO : properties.pollInterval();
+            } catch (RuntimeException e) {
+                // Sink and database failures alike, including a transaction that could not be
+                // opened or committed: the relay backs off and keeps going
+                failures++;
+                wait = backoff(failures);
+                log.warn("Relaying outbox events failed {} times in a row, retrying in {}", failures, wait, e);
+            }
+            if (!wait.isZero()) {
+                LockSupport.parkNanos(wait.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Delivers and deletes one batch in its own transaction, unless another node's relay is active.
+     *
+     * @return true if a full batch was delivered, so more events are probably waiting
+     */
+    boolean relayBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            if (!outboxRepository.tryLockRelay()) {
+                return 0;
+            }
+            List<OutboxEvent> events = outboxRepository.lockNext(properties.batchSize());
+            if (events.isEmpty()) {
+                lagMillis.set(0);
+                return 0;
+            }
+            for (OutboxSink sink : sinks) {
+                deliver(sink, events);
+            }
+            outboxRepository.deleteBySequences(events.stream().map(OutboxEvent::sequence).toList());
+            lagMillis.set(Duration.between(events.getFirst().occurredDate(), OffsetDateTime.now()).toMillis());
+            return events.size();
+        });
+        return count != null && count == properties.batchSize();
+    }
+
+    private void deliver(OutboxSink sink, List<OutboxEvent> events) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            sink.deliver(events);
+            outcome = "success";
+            delivered.get(sink.name()).increment(events.size());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new DeliveryException("Sink " + sink.name() + " failed to take " + events.size() + " events", e);
+        } finally {
+            Timer.builder("mms.outbox.delivery")
+                .description("Time for a sink to take one batch of outbox events")
+                .tag("sink", sink.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Duration backoff(int failures) {
+        long base = properties.baseBackoff().toMillis();
+        long max = properties.maxBackoff().toMillis();
+        return Duration.ofMillis(failures >= 31 ? max : Math.min(max, base << (failures - 1)));
+    }
+
+    static class DeliveryException extends RuntimeException {
+        DeliveryException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
\ No newline at end of file
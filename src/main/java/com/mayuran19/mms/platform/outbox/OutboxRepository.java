@@ -0,0 +1,125 @@
+package com.mayuran19.mms.platform.outbox;
+
+import com.mayuran19.mms.platform.events.ChangeEvent;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Change events in {@code outbox_events}, written in the transaction that makes the change and
+ * deleted by {@link OutboxRelay} once every sink has accepted them.
+ */
+@Repository
+public class OutboxRepository {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    static final long RELAY_LOCK_KEY = 0x6d6d_7300_0004L;
+
+    static final Table<Record> OUTBOX_EVENTS = DSL.table(DSL.name("outbox_events"));
+    static final Field<Long> SEQUENCE = DSL.field(DSL.name("outbox_events", "sequence"), SQLDataType.BIGINT);
+    static final Field<UUID> EVENT_ID = DSL.field(DSL.name("outbox_events", "event_id"), SQLDataType.UUID);
+    static final Field<String> ENTITY_TYPE = DSL.field(DSL.name("outbox_events", "entity_type"), SQLDataType.VARCHAR);
+    static final Field<String> ACTION = DSL.field(DSL.name("outbox_events", "action"), SQLDataType.VARCHAR);
+    static final Field<UUID> ENTITY_ID = DSL.field(DSL.name("outbox_events", "entity_id"), SQLDataType.UUID);
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("outbox_events", "tenant_id"), SQLDataType.UUID);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("outbox_events", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("outbox_events", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("outbox_events", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("outbox_events", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private static final Field<?>[] COLUMNS = {
+        SEQUENCE, EVENT_ID, ENTITY_TYPE, ACTION, ENTITY_ID, TENANT_ID, CREATED_BY, CREATED_DATE
+    };
+
+    private final DSLContext dsl;
+
+    public OutboxRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Must run in the transaction that makes the change.
+     */
+    public void create(ChangeEvent event, UUID actorId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.insertInto(OUTBOX_EVENTS)
+            .set(EVENT_ID, UUID.randomUUID())
+            .set(ENTITY_TYPE, event.entity().name())
+            .set(ACTION, event.action().name())
+            .set(ENTITY_ID, event.id())
+            .set(TENANT_ID, event.tenantId())
+            .set(CREATED_BY, actorId)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, actorId)
+            .set(LAST_MODIFIED_DATE, now)
+            .execute();
+    }
+
+    /**
+     * Inserts several events with one statement; must run in the transaction that makes the changes.
+     */
+    public void createAll(List<ChangeEvent> events, UUID actorId) {
+        if (events.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        var insert = dsl.insertInto(OUTBOX_EVENTS,
+            EVENT_ID, ENTITY_TYPE, ACTION, ENTITY_ID, TENANT_ID, CREATED_BY, CREATED_DATE, LAST_MODIFIED_BY, LAST_MODIFIED_DATE);
+        for (ChangeEvent event : events) {
+            insert = insert.values(UUID.randomUUID(), event.entity().name(), event.action().name(), event.id(),
+                event.tenantId(), actorId, now, actorId, now);
+        }
+        insert.execute();
+    }
+
+    /**
+     * Makes the calling relay the only active one until the transaction ends.
+     *
+     * @return false if a relay on another node holds the lock
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(dsl.select(DSL.field("pg_try_advisory_xact_lock({0})", Boolean.class, DSL.val(RELAY_LOCK_KEY)))
+            .fetchOne(0, Boolean.class));
+    }
+
+    /**
+     * Locks the oldest {@code limit} events for the rest of the transaction, in sequence order.
+     * Must run after {@link #tryLockRelay()} succeeded, so no other relay reads past them.
+     */
+    public List<OutboxEvent> lockNext(int limit) {
+        return dsl.select(COLUMNS)
+            .from(OUTBOX_EVENTS)
+            .orderBy(SEQUENCE)
+            .limit(limit)
+            .forUpdate()
+            .fetch(OutboxRepository::toEvent);
+    }
+
+    public int deleteBySequences(Collection<Long> sequences) {
+        return dsl.deleteFrom(OUTBOX_EVENTS)
+            .where(SEQUENCE.in(sequences))
+            .execute();
+    }
+
+    private static OutboxEvent toEvent(Record r) {
+        return new OutboxEvent(
+            r.get(SEQUENCE),
+            r.get(EVENT_ID),
+            ChangeEvent.Entity.valueOf(r.get(ENTITY_TYPE)),
+            ChangeEvent.Action.valueOf(r.get(ACTION)),
+            r.get(ENTITY_ID),
+            r.get(TENANT_ID),
+            r.get(CREATED_BY),
+            r.get(CREATED_DATE)
+        );
+    }
+}
\ No newline at end of file
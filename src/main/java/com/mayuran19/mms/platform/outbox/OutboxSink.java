@@ -0,0 +1,18 @@
+package com.mayuran19.mms.platform.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch counts as delivered once {@link #deliver} returns;
+ * if it throws, or any other sink fails the same batch, the whole batch is delivered again later,
+ * so sinks must tolerate events they have already received.
+ */
+public interface OutboxSink {
+
+    /**
+     * Name used in logs and as the {@code sink} metric tag.
+     */
+    String name();
+
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
\ No newline at end of file
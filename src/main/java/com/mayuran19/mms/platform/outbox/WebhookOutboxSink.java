@@ -0,0 +1,49 @@
+package com.mayuran19.mms.platform.outbox;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Posts each batch as a JSON array to {@code mms.outbox.webhook.url}. Any 2xx answer counts as
+ * delivered; everything else, including a timeout, has the batch delivered again. The
+ * {@code Idempotency-Key} header names the batch's sequence range, and is the same for every
+ * redelivery of an unchanged batch.
+ */
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final OutboxProperties.Webhook properties;
+    private final HttpClient client;
+
+    public WebhookOutboxSink(OutboxProperties.Webhook properties) {
+        this.properties = properties;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(properties.connectTimeout())
+            .build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException, InterruptedException {
+        String body = events.stream()
+            .map(OutboxEvent::toJson)
+            .collect(Collectors.joining(",", "[", "]"));
+        HttpRequest request = HttpRequest.newBuilder(properties.url())
+            .timeout(properties.requestTimeout())
+            .header("Content-Type", "application/json")
+            .header("Idempotency-Key", events.getFirst().sequence() + "-" + events.getLast().sequence())
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + properties.url() + " answered " + response.statusCode());
+        }
+    }
+}
\ No newline at end of file
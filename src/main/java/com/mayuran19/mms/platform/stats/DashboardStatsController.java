@@ -0,0 +1,48 @@
+package com.mayuran19.mms.platform.stats;
+
+import com.mayuran19.mms.platform.stats.dto.PlatformStatsResponse;
+import com.mayuran19.mms.platform.stats.dto.TenantMemberStatsResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/platform/stats")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+public class DashboardStatsController {
+
+    private final DashboardStatsService dashboardStatsService;
+    private final CacheControl cacheControl;
+
+    public DashboardStatsController(DashboardStatsService dashboardStatsService, DashboardStatsProperties properties) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.cacheControl = CacheControl.maxAge(properties.cacheMaxAge()).cachePrivate();
+    }
+
+    @GetMapping
+    public ResponseEntity<PlatformStatsResponse> getPlatformStats() {
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .body(dashboardStatsService.getPlatformStats());
+    }
+
+    @GetMapping("/tenants/{tenantId}")
+    public ResponseEntity<TenantMemberStatsResponse> getTenantStats(@PathVariable UUID tenantId) {
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .body(dashboardStatsService.getTenantStats(tenantId));
+    }
+
+    @ExceptionHandler(DashboardStatsService.TenantStatsNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTenantStatsNotFound(DashboardStatsService.TenantStatsNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    public record ErrorResponse(String message) {}
+}
\ No newline at end of file
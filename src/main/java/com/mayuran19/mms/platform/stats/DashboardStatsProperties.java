@@ -0,0 +1,23 @@
+package com.mayuran19.mms.platform.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param refreshInterval maximum age of the materialized view before it is refreshed
+ * @param minRefreshInterval minimum time between refreshes triggered by changes
+ * @param checkInterval how often pending changes are checked against {@code changeThreshold}
+ * @param changeThreshold member changes on this node that trigger an early refresh; any tenant
+ *                        change counts as reaching it
+ * @param cacheMaxAge {@code Cache-Control} max-age of the statistics responses
+ */
+@ConfigurationProperties(prefix = "mms.dashboard-stats")
+public record DashboardStatsProperties(
+    @DefaultValue("5m") Duration refreshInterval,
+    @DefaultValue("30s") Duration minRefreshInterval,
+    @DefaultValue("15s") Duration checkInterval,
+    @DefaultValue("500") int changeThreshold,
+    @DefaultValue("30s") Duration cacheMaxAge
+) {}
\ No newline at end of file
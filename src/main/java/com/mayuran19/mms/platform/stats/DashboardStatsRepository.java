@@ -0,0 +1,71 @@
+package com.mayuran19.mms.platform.stats;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Record3;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and refreshes the {@code tenant_member_status_stats} materialized view, one row per tenant
+ * and member status ({@code NONE} for tenants without members, {@code UNKNOWN} for members
+ * without a status).
+ */
+@Repository
+public class DashboardStatsRepository {
+
+    static final String NO_MEMBERS = "NONE";
+
+    static final Table<Record> TENANT_MEMBER_STATUS_STATS = DSL.table(DSL.name("tenant_member_status_stats"));
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("tenant_member_status_stats", "tenant_id"), SQLDataType.UUID);
+    static final Field<String> TENANT_STATUS = DSL.field(DSL.name("tenant_member_status_stats", "tenant_status"), SQLDataType.VARCHAR);
+    static final Field<String> MEMBER_STATUS = DSL.field(DSL.name("tenant_member_status_stats", "member_status"), SQLDataType.VARCHAR);
+    static final Field<Long> MEMBER_COUNT = DSL.field(DSL.name("tenant_member_status_stats", "member_count"), SQLDataType.BIGINT);
+
+    private final DSLContext dsl;
+
+    public DashboardStatsRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Recomputes the view without blocking readers; only rows that changed are written.
+     */
+    public void refresh() {
+        dsl.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY {0}", TENANT_MEMBER_STATUS_STATS);
+    }
+
+    public Map<String, Long> countTenantsByStatus() {
+        Field<Long> count = DSL.countDistinct(TENANT_ID).cast(SQLDataType.BIGINT);
+        return dsl.select(TENANT_STATUS, count)
+            .from(TENANT_MEMBER_STATUS_STATS)
+            .groupBy(TENANT_STATUS)
+            .fetchMap(TENANT_STATUS, count);
+    }
+
+    public Map<String, Long> countMembersByStatus() {
+        Field<Long> sum = DSL.sum(MEMBER_COUNT).cast(SQLDataType.BIGINT);
+        return dsl.select(MEMBER_STATUS, sum)
+            .from(TENANT_MEMBER_STATUS_STATS)
+            .where(MEMBER_STATUS.ne(NO_MEMBERS))
+            .groupBy(MEMBER_STATUS)
+            .fetchMap(MEMBER_STATUS, sum);
+    }
+
+    /**
+     * The tenant's rows, served by the view's unique index.
+     */
+    public Result<Record3<String, String, Long>> findByTenantId(UUID tenantId) {
+        return dsl.select(TENANT_STATUS, MEMBER_STATUS, MEMBER_COUNT)
+            .from(TENANT_MEMBER_STATUS_STATS)
+            .where(TENANT_ID.eq(tenantId))
+            .fetch();
+    }
+}
\ No newline at end of file
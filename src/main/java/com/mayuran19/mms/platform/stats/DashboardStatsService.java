@@ -0,0 +1,166 @@
+package com.mayuran19.mms.platform.stats;
+
+import com.mayuran19.mms.platform.stats.dto.PlatformStatsResponse;
+import com.mayuran19.mms.platform.stats.dto.TenantMemberStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jooq.DSLContext;
+import org.jooq.Record3;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform dashboard statistics served from the {@code tenant_member_status_stats} materialized
+ * view. The platform-wide totals are aggregated once per refresh and kept in memory, so requests
+ * never touch the database; per-tenant figures are a single index lookup on the view.
+ * <p>
+ * The view is refreshed every {@code refresh-interval}, or earlier once enough tenant or member
+ * changes were made through this node. Refreshes take a transaction-level advisory lock so only
+ * one node refreshes at a time; every node reloads its totals on each tick either way.
+ */
+@Service
+@EnableConfigurationProperties(DashboardStatsProperties.class)
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    static final long LOCK_KEY = 0x6d6d_7300_0003L;
+
+    private final DashboardStatsRepository dashboardStatsRepository;
+    private final DSLContext dsl;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardStatsProperties properties;
+    private final Timer refreshTimer;
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private volatile long lastRefreshNanos;
+    private volatile boolean refreshed;
+    private volatile PlatformStatsResponse snapshot;
+
+    public DashboardStatsService(
+        DashboardStatsRepository dashboardStatsRepository,
+        DSLContext dsl,
+        TransactionTemplate transactionTemplate,
+        DashboardStatsProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.dashboardStatsRepository = dashboardStatsRepository;
+        this.dsl = dsl;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.refreshTimer = Timer.builder("mms.dashboard_stats.refresh")
+            .description("Time to refresh the dashboard statistics materialized view")
+            .register(meterRegistry);
+    }
+
+    public PlatformStatsResponse getPlatformStats() {
+        PlatformStatsResponse current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    public TenantMemberStatsResponse getTenantStats(UUID tenantId) {
+        Result<Record3<String, String, Long>> rows = dashboardStatsRepository.findByTenantId(tenantId);
+        if (rows.isEmpty()) {
+            throw new TenantStatsNotFoundException("No statistics yet for tenant with id: " + tenantId);
+        }
+        Map<String, Long> membersByStatus = new TreeMap<>();
+        long total = 0;
+        for (Record3<String, String, Long> row : rows) {
+            if (!DashboardStatsRepository.NO_MEMBERS.equals(row.value2())) {
+                membersByStatus.put(row.value2(), row.value3());
+                total += row.value3();
+            }
+        }
+        return new TenantMemberStatsResponse(tenantId, rows.getFirst().value1(), total, membersByStatus);
+    }
+
+    /**
+     * Tenants are few and shown individually on the dashboard, so any change makes the view due.
+     */
+    public void recordTenantChange() {
+        pendingChanges.addAndGet(properties.changeThreshold());
+    }
+
+    public void recordMemberChange() {
+        pendingChanges.incrementAndGet();
+    }
+
+    public void recordMemberChanges(int count) {
+        pendingChanges.addAndGet(count);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.dashboard-stats.check-interval:15s}")
+    public void refreshIfDue() {
+        long sinceRefresh = System.nanoTime() - lastRefreshNanos;
+        boolean due = !refreshed
+            || sinceRefresh >= properties.refreshInterval().toNanos()
+            || (pendingChanges.get() >= properties.changeThreshold() && sinceRefresh >= properties.minRefreshInterval().toNanos());
+        if (!due) {
+            return;
+        }
+        refreshed = true;
+        lastRefreshNanos = System.nanoTime();
+        long changes = pendingChanges.getAndSet(0);
+        try {
+            refresh();
+            load();
+        } catch (RuntimeException e) {
+            pendingChanges.addAndGet(changes);
+            log.warn("Failed to refresh dashboard statistics", e);
+        }
+    }
+
+    private void refresh() {
+        Boolean locked = refreshTimer.record(() -> transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(dsl.select(DSL.field("pg_try_advisory_xact_lock({0})", Boolean.class, DSL.val(LOCK_KEY)))
+                    .fetchOne(0, Boolean.class))) {
+                return false;
+            }
+            dashboardStatsRepository.refresh();
+            return true;
+        }));
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Dashboard statistics are being refreshed by another node");
+        }
+    }
+
+    private PlatformStatsResponse load() {
+        Map<String, Long> tenantsByStatus = new TreeMap<>(dashboardStatsRepository.countTenantsByStatus());
+        Map<String, Long> membersByStatus = new TreeMap<>(dashboardStatsRepository.countMembersByStatus());
+        PlatformStatsResponse loaded = new PlatformStatsResponse(
+            tenantsByStatus.values().stream().mapToLong(Long::longValue).sum(),
+            tenantsByStatus,
+            membersByStatus.values().stream().mapToLong(Long::longValue).sum(),
+            membersByStatus,
+            OffsetDateTime.now()
+        );
+        snapshot = loaded;
+        return loaded;
+    }
+
+    public static class TenantStatsNotFoundException extends RuntimeException {
+        public TenantStatsNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
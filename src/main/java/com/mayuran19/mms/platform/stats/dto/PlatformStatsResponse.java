@@ -0,0 +1,15 @@
+package com.mayuran19.mms.platform.stats.dto;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * @param loadedAt when this node last read the totals from the materialized view
+ */
+public record PlatformStatsResponse(
+    long totalTenants,
+    Map<String, Long> tenantsByStatus,
+    long totalMembers,
+    Map<String, Long> membersByStatus,
+    OffsetDateTime loadedAt
+) {}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.mayuran19.mms.platform.stats.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record TenantMemberStatsResponse(
+    UUID tenantId,
+    String tenantStatus,
+    long totalMembers,
+    Map<String, Long> membersByStatus
+) {}
\ No newline at end of file
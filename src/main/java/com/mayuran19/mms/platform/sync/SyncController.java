@@ -0,0 +1,58 @@
+package com.mayuran19.mms.platform.sync;
+
+import com.mayuran19.mms.platform.sync.dto.ChangesResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+
+@RestController
+@RequestMapping("/api/platform/sync")
+@PreAuthorize("hasRole('PLATFORM_USER')")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/tenants")
+    public ResponseEntity<ChangesResponse<TenantResponse>> getTenantChanges(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(syncService.getTenantChanges(cursor, since, limit));
+    }
+
+    @GetMapping("/tenant-users")
+    public ResponseEntity<ChangesResponse<TenantUserResponse>> getTenantUserChanges(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(syncService.getTenantUserChanges(cursor, since, limit));
+    }
+
+    @ExceptionHandler(SyncService.InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(SyncService.InvalidCursorException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(SyncService.CursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleCursorExpired(SyncService.CursorExpiredException ex) {
+        return ResponseEntity
+            .status(HttpStatus.GONE)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    public record ErrorResponse(String message) {}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.mayuran19.mms.platform.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a change stream: the {@code (last_modified_date, id)} of the last change a client
+ * has seen, plus the horizon from which it may still miss deletions. Encoded as an opaque
+ * URL-safe token; timestamps are kept at the database's microsecond precision so a decoded cursor
+ * compares equal to the row it came from.
+ * <p>
+ * The horizon, not the position, decides whether tombstones the client needs may already have been
+ * purged. During an initial sync the position walks through rows modified long ago while the client
+ * only holds rows read since the sync started, so the horizon is when the sync started.
+ */
+record SyncCursor(OffsetDateTime modified, UUID id, OffsetDateTime horizon) implements Comparable<SyncCursor> {
+
+    static final SyncCursor START = new SyncCursor(OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC), new UUID(0, 0));
+
+    SyncCursor(OffsetDateTime modified, UUID id) {
+        this(modified, id, modified);
+    }
+
+    static SyncCursor since(OffsetDateTime since) {
+        return new SyncCursor(since.truncatedTo(ChronoUnit.MICROS), new UUID(0, 0));
+    }
+
+    static SyncCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = value.split("_", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 3 parts");
+            }
+            return new SyncCursor(fromMicros(Long.parseLong(parts[0])), UUID.fromString(parts[1]),
+                fromMicros(Long.parseLong(parts[2])));
+        } catch (IllegalArgumentException e) {
+            throw new SyncService.InvalidCursorException("Invalid sync cursor");
+        }
+    }
+
+    SyncCursor withHorizon(OffsetDateTime horizon) {
+        return new SyncCursor(modified, id, horizon.truncatedTo(ChronoUnit.MICROS));
+    }
+
+    String encode() {
+        String value = toMicros(modified) + "_" + id + "_" + toMicros(horizon);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long toMicros(OffsetDateTime dateTime) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant());
+    }
+
+    private static OffsetDateTime fromMicros(long micros) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    /**
+     * Same order as PostgreSQL's {@code ORDER BY modified, id}; uuids compare as unsigned bytes
+     * there, unlike {@link UUID#compareTo}.
+     */
+    @Override
+    public int compareTo(SyncCursor other) {
+        int byDate = modified.toInstant().compareTo(other.modified.toInstant());
+        if (byDate != 0) {
+            return byDate;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), other.id.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), other.id.getLeastSignificantBits());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.mayuran19.mms.platform.sync;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param settleWindow changes younger than this are held back, so rows written by transactions
+ *                     that commit late are not skipped by a cursor that already moved past them;
+ *                     the tenant list gets no ETag until its newest change is this old
+ * @param tombstoneRetention how long deletions are kept; older cursors must resync in full
+ * @param tombstonePurgeInterval delay between purges of expired tombstones
+ * @param defaultPageSize changes per page when the client does not ask for a limit
+ * @param maxPageSize upper bound for the requested limit
+ */
+@ConfigurationProperties(prefix = "mms.sync")
+public record SyncProperties(
+    @DefaultValue("5s") Duration settleWindow,
+    @DefaultValue("30d") Duration tombstoneRetention,
+    @DefaultValue("1h") Duration tombstonePurgeInterval,
+    @DefaultValue("500") int defaultPageSize,
+    @DefaultValue("1000") int maxPageSize
+) {}
\ No newline at end of file
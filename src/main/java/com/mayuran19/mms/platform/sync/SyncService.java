@@ -0,0 +1,188 @@
+package com.mayuran19.mms.platform.sync;
+
+import com.mayuran19.mms.platform.sync.TombstoneRepository.EntityType;
+import com.mayuran19.mms.platform.sync.TombstoneRepository.Tombstone;
+import com.mayuran19.mms.platform.sync.dto.ChangesResponse;
+import com.mayuran19.mms.platform.sync.dto.DeletionResponse;
+import com.mayuran19.mms.platform.tenant.TenantRepository;
+import com.mayuran19.mms.platform.tenant.TenantUserRepository;
+import com.mayuran19.mms.platform.tenant.dto.TenantResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * "Changes since" feeds of tenants and tenant users for clients that mirror the directory. Each
+ * page is a keyset range scan over {@code (last_modified_date, id)} of the live rows merged with
+ * the tombstones of deleted ones, so a sync costs in proportion to what changed since the
+ * client's cursor rather than to the size of the directory.
+ * <p>
+ * Tenants can only be deleted once they have no members, so a tenant deletion never hides
+ * member deletions.
+ */
+@Service
+@EnableConfigurationProperties(SyncProperties.class)
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private final TenantRepository tenantRepository;
+    private final TenantUserRepository tenantUserRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final SyncProperties properties;
+
+    public SyncService(
+        TenantRepository tenantRepository,
+        TenantUserRepository tenantUserRepository,
+        TombstoneRepository tombstoneRepository,
+        SyncProperties properties
+    ) {
+        this.tenantRepository = tenantRepository;
+        this.tenantUserRepository = tenantUserRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.properties = properties;
+    }
+
+    public ChangesResponse<TenantResponse> getTenantChanges(String cursor, OffsetDateTime since, Integer limit) {
+        OffsetDateTime before = settledBefore();
+        SyncCursor from = resolve(cursor, since, before);
+        int pageSize = pageSize(limit);
+        // One extra row from each side tells whether anything is left after this page
+        return page(
+            from,
+            before,
+            pageSize,
+            tenantRepository.findModifiedAfter(from.modified(), from.id(), before, pageSize + 1),
+            tenant -> new SyncCursor(tenant.getLastModifiedDate(), tenant.getId()),
+            TenantResponse::fromEntity,
+            tombstoneRepository.findAfter(EntityType.TENANT, from.modified(), from.id(), before, pageSize + 1)
+        );
+    }
+
+    public ChangesResponse<TenantUserResponse> getTenantUserChanges(String cursor, OffsetDateTime since, Integer limit) {
+        OffsetDateTime before = settledBefore();
+        SyncCursor from = resolve(cursor, since, before);
+        int pageSize = pageSize(limit);
+        return page(
+            from,
+            before,
+            pageSize,
+            tenantUserRepository.findModifiedAfter(from.modified(), from.id(), before, pageSize + 1),
+            user -> new SyncCursor(user.getLastModifiedDate(), user.getId()),
+            TenantUserResponse::fromEntity,
+            tombstoneRepository.findAfter(EntityType.TENANT_USER, from.modified(), from.id(), before, pageSize + 1)
+        );
+    }
+
+    /**
+     * Records a deletion for sync clients; must run in the transaction that deletes the row.
+     */
+    public void recordTenantDeleted(UUID tenantId, UUID deletedBy) {
+        tombstoneRepository.create(EntityType.TENANT, tenantId, tenantId, deletedBy);
+    }
+
+    public void recordTenantUserDeleted(UUID userId, UUID tenantId, UUID deletedBy) {
+        tombstoneRepository.create(EntityType.TENANT_USER, userId, tenantId, deletedBy);
+    }
+
+    public void recordTenantUsersDeleted(Collection<UUID> userIds, UUID tenantId, UUID deletedBy) {
+        tombstoneRepository.createAll(EntityType.TENANT_USER, userIds, tenantId, deletedBy);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.sync.tombstone-purge-interval:1h}")
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(OffsetDateTime.now().minus(properties.tombstoneRetention()));
+        if (purged > 0) {
+            log.info("Purged {} expired tombstones", purged);
+        }
+    }
+
+    private SyncCursor resolve(String cursor, OffsetDateTime since, OffsetDateTime before) {
+        if (cursor == null && since == null) {
+            // A fresh client holds nothing yet, so only deletions from now on matter to it
+            return SyncCursor.START.withHorizon(before);
+        }
+        SyncCursor from = cursor != null ? SyncCursor.decode(cursor) : SyncCursor.since(since);
+        // Tombstones older than the retention are gone, deletions before it can no longer be reported
+        if (from.horizon().isBefore(OffsetDateTime.now().minus(properties.tombstoneRetention()))) {
+            throw new CursorExpiredException("Sync cursor is older than " + properties.tombstoneRetention() + ", resync from the start");
+        }
+        return from;
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return properties.defaultPageSize();
+        }
+        return Math.clamp(limit, 1, properties.maxPageSize());
+    }
+
+    /**
+     * Rows modified before this are settled: transactions writing older timestamps have committed.
+     */
+    public OffsetDateTime settledBefore() {
+        return OffsetDateTime.now().minus(properties.settleWindow()).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private <E, R> ChangesResponse<R> page(
+        SyncCursor from,
+        OffsetDateTime before,
+        int pageSize,
+        List<E> live,
+        Function<E, SyncCursor> keyOf,
+        Function<E, R> toResponse,
+        List<Tombstone> gone
+    ) {
+        List<R> changed = new ArrayList<>();
+        List<DeletionResponse> deleted = new ArrayList<>();
+        SyncCursor last = from;
+        int l = 0;
+        int g = 0;
+        while (changed.size() + deleted.size() < pageSize && (l < live.size() || g < gone.size())) {
+            SyncCursor liveKey = l < live.size() ? keyOf.apply(live.get(l)) : null;
+            SyncCursor goneKey = g < gone.size() ? new SyncCursor(gone.get(g).deletedDate(), gone.get(g).id()) : null;
+            if (goneKey == null || (liveKey != null && liveKey.compareTo(goneKey) < 0)) {
+                changed.add(toResponse.apply(live.get(l++)));
+                last = liveKey;
+            } else {
+                Tombstone tombstone = gone.get(g++);
+                deleted.add(new DeletionResponse(tombstone.id(), tombstone.tenantId(), tombstone.deletedDate()));
+                last = goneKey;
+            }
+        }
+        boolean hasMore = l < live.size() || g < gone.size();
+        if (!hasMore) {
+            // Caught up: resume from the settled horizon so an idle client's cursor never expires
+            SyncCursor horizon = SyncCursor.since(before);
+            if (horizon.compareTo(last) > 0) {
+                last = horizon;
+            }
+        }
+        // Every deletion up to the new position has been reported, earlier ones still may not be
+        OffsetDateTime reported = last.modified().isAfter(from.horizon()) ? last.modified() : from.horizon();
+        return new ChangesResponse<>(changed, deleted, last.withHorizon(reported).encode(), hasMore);
+    }
+
+    public static class InvalidCursorException extends RuntimeException {
+        public InvalidCursorException(String message) {
+            super(message);
+        }
+    }
+
+    public static class CursorExpiredException extends RuntimeException {
+        public CursorExpiredException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
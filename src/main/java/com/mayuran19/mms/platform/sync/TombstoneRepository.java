@@ -0,0 +1,94 @@
+package com.mayuran19.mms.platform.sync;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deleted tenants and tenant users, kept for {@code mms.sync.tombstone-retention} so sync clients
+ * learn about deletions. The tombstone's {@code created_date} is the deletion time.
+ */
+@Repository
+public class TombstoneRepository {
+
+    public enum EntityType { TENANT, TENANT_USER }
+
+    static final Table<Record> TOMBSTONES = DSL.table(DSL.name("tombstones"));
+    static final Field<String> ENTITY_TYPE = DSL.field(DSL.name("tombstones", "entity_type"), SQLDataType.VARCHAR);
+    static final Field<UUID> ENTITY_ID = DSL.field(DSL.name("tombstones", "entity_id"), SQLDataType.UUID);
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("tombstones", "tenant_id"), SQLDataType.UUID);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("tombstones", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("tombstones", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("tombstones", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("tombstones", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private final DSLContext dsl;
+
+    public TombstoneRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Records a deletion; must run in the transaction that deletes the row.
+     */
+    public void create(EntityType type, UUID entityId, UUID tenantId, UUID deletedBy) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.insertInto(TOMBSTONES)
+            .set(ENTITY_TYPE, type.name())
+            .set(ENTITY_ID, entityId)
+            .set(TENANT_ID, tenantId)
+            .set(CREATED_BY, deletedBy)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, deletedBy)
+            .set(LAST_MODIFIED_DATE, now)
+            .onConflictDoNothing()
+            .execute();
+    }
+
+    /**
+     * Records the deletion of several entities of one tenant with a single statement; must run in
+     * the transaction that deletes the rows.
+     */
+    public void createAll(EntityType type, Collection<UUID> entityIds, UUID tenantId, UUID deletedBy) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        var insert = dsl.insertInto(TOMBSTONES, ENTITY_TYPE, ENTITY_ID, TENANT_ID, CREATED_BY, CREATED_DATE, LAST_MODIFIED_BY, LAST_MODIFIED_DATE);
+        for (UUID entityId : entityIds) {
+            insert = insert.values(type.name(), entityId, tenantId, deletedBy, now, deletedBy, now);
+        }
+        insert.onConflictDoNothing().execute();
+    }
+
+    /**
+     * Deletions after {@code (afterDate, afterId)} and before {@code before}, in keyset order.
+     */
+    public List<Tombstone> findAfter(EntityType type, OffsetDateTime afterDate, UUID afterId, OffsetDateTime before, int limit) {
+        return dsl.select(ENTITY_ID, TENANT_ID, CREATED_DATE)
+            .from(TOMBSTONES)
+            .where(ENTITY_TYPE.eq(type.name()))
+            .and(DSL.row(CREATED_DATE, ENTITY_ID).gt(afterDate, afterId))
+            .and(CREATED_DATE.lt(before))
+            .orderBy(CREATED_DATE, ENTITY_ID)
+            .limit(limit)
+            .fetch(r -> new Tombstone(r.value1(), r.value2(), r.value3()));
+    }
+
+    public int deleteOlderThan(OffsetDateTime cutoff) {
+        return dsl.deleteFrom(TOMBSTONES)
+            .where(CREATED_DATE.lt(cutoff))
+            .execute();
+    }
+
+    public record Tombstone(UUID id, UUID tenantId, OffsetDateTime deletedDate) {}
+}
\ No newline at end of file
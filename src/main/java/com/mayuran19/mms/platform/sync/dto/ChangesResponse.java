@@ -0,0 +1,14 @@
+package com.mayuran19.mms.platform.sync.dto;
+
+import java.util.List;
+
+/**
+ * One page of changes. {@code nextCursor} is returned even when the page is empty and is the
+ * watermark to resume from; {@code hasMore} tells whether to fetch the next page right away.
+ */
+public record ChangesResponse<T>(
+    List<T> changed,
+    List<DeletionResponse> deleted,
+    String nextCursor,
+    boolean hasMore
+) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.mayuran19.mms.platform.sync.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record DeletionResponse(
+    UUID id,
+    UUID tenantId,
+    OffsetDateTime deletedDate
+) {}
\ No newline at end of file
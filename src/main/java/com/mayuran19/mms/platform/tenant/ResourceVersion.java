@@ -0,0 +1,66 @@
+package com.mayuran19.mms.platform.tenant;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Version of a tenant or member resource, or of a list of them, compared against
+ * {@code If-None-Match} before the rows themselves are loaded.
+ * <p>
+ * A single row is versioned by its {@code last_modified_date}, which its row lock keeps in step
+ * with its commits. A member list is versioned by the tenant's member version, a counter bumped in
+ * the same transaction as every member write. The tenant list comes from a
+ * {@code count(*), max(last_modified_date)} probe, which misses a write that commits after a
+ * newer one; it is only given an ETag once its newest change is older than the sync settle
+ * window, by when such late commits have landed (see {@link #UNSETTLED}).
+ */
+public record ResourceVersion(long count, OffsetDateTime lastModified) {
+
+    // Browsers keep the response but revalidate it on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Bump when the JSON representation changes so cached bodies of the old shape are not reused
+    private static final String REPRESENTATION = "v1";
+
+    /**
+     * A list whose newest change may still be followed by commits carrying older timestamps. It
+     * has no ETag, so responses carrying it are neither matched nor revalidated.
+     */
+    public static final ResourceVersion UNSETTLED = new ResourceVersion(-1, null);
+
+    public static ResourceVersion of(OffsetDateTime lastModified) {
+        return new ResourceVersion(1, lastModified);
+    }
+
+    public static ResourceVersion counter(long version) {
+        return new ResourceVersion(version, null);
+    }
+
+    /**
+     * The ETag, or null for {@link #UNSETTLED}.
+     */
+    public String eTag() {
+        if (this == UNSETTLED) {
+            return null;
+        }
+        long micros = 0;
+        if (lastModified != null) {
+            micros = lastModified.toEpochSecond() * 1_000_000 + lastModified.getNano() / 1_000;
+        }
+        return "\"" + REPRESENTATION + "-" + Long.toHexString(count) + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    ResponseEntity.BodyBuilder ok() {
+        if (this == UNSETTLED) {
+            return ResponseEntity.ok().cacheControl(REVALIDATE);
+        }
+        return ResponseEntity.ok().eTag(eTag()).cacheControl(REVALIDATE);
+    }
+
+    <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag()).cacheControl(REVALIDATE).build();
+    }
+}
\ No newline at end of file
@@ -1,17 +1,23 @@
 package com.mayuran19.mms.platform.tenant;
 
 import com.mayuran19.mms.platform.tenant.dto.CreateTenantRequest;
+import com.mayuran19.mms.platform.tenant.dto.TenantDeletionResponse;
 import com.mayuran19.mms.platform.tenant.dto.TenantResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantSearchResponse;
 import com.mayuran19.mms.platform.tenant.dto.UpdateTenantRequest;
 import com.mayuran19.mms.security.CurrentPlatformUser;
 import com.mayuran19.mms.security.PlatformUserPrincipal;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -36,24 +42,57 @@ public class TenantController {
 
     @GetMapping
     public ResponseEntity<List<TenantResponse>> getAllTenants(
-        @RequestParam(required = false) String status
+        @RequestParam(required = false) String status,
+        WebRequest webRequest
     ) {
+        // Probed before the list is loaded; a write in between only makes the body newer than the ETag
+        ResourceVersion version = tenantService.getTenantsVersion(status);
+        if (version.eTag() != null && webRequest.checkNotModified(version.eTag())) {
+            return version.notModified();
+        }
         List<TenantResponse> tenants = status != null
             ? tenantService.getTenantsByStatus(status)
             : tenantService.getAllTenants();
-        return ResponseEntity.ok(tenants);
+        return version.ok().body(tenants);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TenantSearchResponse> searchTenants(
+        @RequestParam(required = false) String q,
+        @RequestParam(defaultValue = "prefix") String match,
+        @RequestParam(required = false) List<String> status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime createdTo,
+        @RequestParam(defaultValue = "created_desc") String sort,
+        @RequestParam(defaultValue = "50") int limit,
+        @RequestParam(required = false) String cursor
+    ) {
+        return ResponseEntity.ok(tenantService.searchTenants(q, match, status, createdFrom, createdTo, sort, limit, cursor));
+    }
+
+    @GetMapping("/user-counts")
+    public ResponseEntity<Map<UUID, Long>> getUserCounts() {
+        return ResponseEntity.ok(tenantService.getUserCounts());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TenantResponse> getTenantById(@PathVariable UUID id) {
+    public ResponseEntity<TenantResponse> getTenantById(@PathVariable UUID id, WebRequest webRequest) {
+        ResourceVersion version = tenantService.getTenantVersion(id);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return version.notModified();
+        }
         TenantResponse response = tenantService.getTenantById(id);
-        return ResponseEntity.ok(response);
+        return version.ok().body(response);
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<TenantResponse> getTenantBySlug(@PathVariable String slug) {
+    public ResponseEntity<TenantResponse> getTenantBySlug(@PathVariable String slug, WebRequest webRequest) {
+        ResourceVersion version = tenantService.getTenantVersionBySlug(slug);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return version.notModified();
+        }
         TenantResponse response = tenantService.getTenantBySlug(slug);
-        return ResponseEntity.ok(response);
+        return version.ok().body(response);
     }
 
     @PutMapping("/{id}")
@@ -67,9 +106,18 @@ public class TenantController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTenant(@PathVariable UUID id) {
-        tenantService.deleteTenant(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<TenantDeletionResponse> deleteTenant(
+        @CurrentPlatformUser PlatformUserPrincipal currentUser,
+        @PathVariable UUID id
+    ) {
+        // Members are purged in the background; progress is at GET /{id}/deletion
+        TenantDeletionResponse response = tenantService.deleteTenant(id, currentUser.id());
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<TenantDeletionResponse> getTenantDeletion(@PathVariable UUID id) {
+        return ResponseEntity.ok(tenantService.getTenantDeletion(id));
     }
 
     @ExceptionHandler(TenantService.TenantNotFoundException.class)
@@ -86,5 +134,12 @@ public class TenantController {
             .body(new ErrorResponse(ex.getMessage()));
     }
 
+    @ExceptionHandler(TenantService.InvalidSearchException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSearch(TenantService.InvalidSearchException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
     public record ErrorResponse(String message) {}
 }
\ No newline at end of file
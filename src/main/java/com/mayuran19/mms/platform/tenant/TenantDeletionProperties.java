@@ -0,0 +1,20 @@
+package com.mayuran19.mms.platform.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param purgeInterval delay between runs of {@link TenantPurger}
+ * @param batchSize     members (with their sessions) deleted per transaction
+ * @param pause         sleep between batches, giving the WAL writer and replicas room to catch up
+ * @param maxDuration   upper bound on one run; the remainder is picked up by the next run
+ */
+@ConfigurationProperties(prefix = "mms.tenant-deletion")
+public record TenantDeletionProperties(
+    @DefaultValue("5s") Duration purgeInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("100ms") Duration pause,
+    @DefaultValue("30s") Duration maxDuration
+) {}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.mayuran19.mms.platform.tenant;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deleted tenants whose members and sessions are being purged in the background by
+ * {@link TenantPurger}, with the progress made so far. A row is kept after the purge completes as
+ * the record of the deletion.
+ */
+@Repository
+public class TenantDeletionRepository {
+
+    static final Table<Record> TENANT_DELETIONS = DSL.table(DSL.name("tenant_deletions"));
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("tenant_deletions", "tenant_id"), SQLDataType.UUID);
+    static final Field<String> SLUG = DSL.field(DSL.name("tenant_deletions", "slug"), SQLDataType.VARCHAR);
+    static final Field<Long> MEMBERS_TOTAL = DSL.field(DSL.name("tenant_deletions", "members_total"), SQLDataType.BIGINT);
+    static final Field<Long> MEMBERS_DELETED = DSL.field(DSL.name("tenant_deletions", "members_deleted"), SQLDataType.BIGINT);
+    static final Field<Long> SESSIONS_DELETED = DSL.field(DSL.name("tenant_deletions", "sessions_deleted"), SQLDataType.BIGINT);
+    static final Field<OffsetDateTime> COMPLETED_DATE = DSL.field(DSL.name("tenant_deletions", "completed_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("tenant_deletions", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("tenant_deletions", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("tenant_deletions", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("tenant_deletions", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private static final Field<?>[] COLUMNS = {
+        TENANT_ID, SLUG, MEMBERS_TOTAL, MEMBERS_DELETED, SESSIONS_DELETED, CREATED_BY, CREATED_DATE, COMPLETED_DATE
+    };
+
+    private final DSLContext dsl;
+
+    public TenantDeletionRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public TenantDeletion create(UUID tenantId, String slug, long membersTotal, UUID requestedBy) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return dsl.insertInto(TENANT_DELETIONS)
+            .set(TENANT_ID, tenantId)
+            .set(SLUG, slug)
+            .set(MEMBERS_TOTAL, membersTotal)
+            .set(CREATED_BY, requestedBy)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, requestedBy)
+            .set(LAST_MODIFIED_DATE, now)
+            .returning(COLUMNS)
+            .fetchOne(TenantDeletionRepository::toDeletion);
+    }
+
+    public Optional<TenantDeletion> findByTenantId(UUID tenantId) {
+        return dsl.select(COLUMNS)
+            .from(TENANT_DELETIONS)
+            .where(TENANT_ID.eq(tenantId))
+            .fetchOptional(TenantDeletionRepository::toDeletion);
+    }
+
+    /**
+     * Locks the oldest pending deletion for the rest of the transaction, skipping deletions
+     * another node is working on.
+     */
+    public Optional<TenantDeletion> claimNext() {
+        return dsl.select(COLUMNS)
+            .from(TENANT_DELETIONS)
+            .where(COMPLETED_DATE.isNull())
+            .orderBy(CREATED_DATE)
+            .limit(1)
+            .forUpdate()
+            .skipLocked()
+            .fetchOptional(TenantDeletionRepository::toDeletion);
+    }
+
+    public void recordProgress(UUID tenantId, long membersDeleted, long sessionsDeleted) {
+        dsl.update(TENANT_DELETIONS)
+            .set(MEMBERS_DELETED, MEMBERS_DELETED.plus(membersDeleted))
+            .set(SESSIONS_DELETED, SESSIONS_DELETED.plus(sessionsDeleted))
+            .set(LAST_MODIFIED_DATE, OffsetDateTime.now())
+            .where(TENANT_ID.eq(tenantId))
+            .execute();
+    }
+
+    public void complete(UUID tenantId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.update(TENANT_DELETIONS)
+            .set(COMPLETED_DATE, now)
+            .set(LAST_MODIFIED_DATE, now)
+            .where(TENANT_ID.eq(tenantId))
+            .execute();
+    }
+
+    private static TenantDeletion toDeletion(Record r) {
+        return new TenantDeletion(
+            r.get(TENANT_ID),
+            r.get(SLUG),
+            r.get(MEMBERS_TOTAL),
+            r.get(MEMBERS_DELETED),
+            r.get(SESSIONS_DELETED),
+            r.get(CREATED_BY),
+            r.get(CREATED_DATE),
+            r.get(COMPLETED_DATE)
+        );
+    }
+
+    public record TenantDeletion(
+        UUID tenantId,
+        String slug,
+        long membersTotal,
+        long membersDeleted,
+        long sessionsDeleted,
+        UUID requestedBy,
+        OffsetDateTime requestedDate,
+        OffsetDateTime completedDate
+    ) {}
+}
\ No newline at end of file
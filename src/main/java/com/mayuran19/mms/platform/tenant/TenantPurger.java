@@ -0,0 +1,145 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.platform.audit.AuditEvent;
+import com.mayuran19.mms.platform.audit.AuditLog;
+import com.mayuran19.mms.platform.stats.DashboardStatsService;
+import com.mayuran19.mms.platform.sync.SyncService;
+import com.mayuran19.mms.security.CustomUserDetails;
+import com.mayuran19.mms.security.session.ConcurrentSessionControl;
+import com.mayuran19.mms.security.token.TokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Finishes tenant deletions in the background. {@link TenantService#deleteTenant} only marks the
+ * tenant {@code DELETING} and records a {@code tenant_deletions} row; this removes the members in
+ * batches of {@code batchSize}, each in its own transaction together with the members' sessions,
+ * sync tombstones and counter update, and deletes the tenant row once no members are left.
+ * <p>
+ * Progress lives in the database, so a restarted node carries on where the last batch committed.
+ * Each batch claims its deletion with {@code FOR UPDATE SKIP LOCKED}, so several nodes can purge
+ * different tenants at once but never the same one.
+ */
+@Component
+@EnableConfigurationProperties(TenantDeletionProperties.class)
+public class TenantPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantPurger.class);
+
+    private final TenantDeletionRepository tenantDeletionRepository;
+    private final TenantRepository tenantRepository;
+    private final TenantUserRepository tenantUserRepository;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final SyncService syncService;
+    private final DashboardStatsService dashboardStatsService;
+    private final AuditLog auditLog;
+    private final ConcurrentSessionControl sessionControl;
+    private final TokenService tokenService;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantDeletionProperties properties;
+    private final Counter purgedMembers;
+    private final Counter completed;
+
+    public TenantPurger(
+        TenantDeletionRepository tenantDeletionRepository,
+        TenantRepository tenantRepository,
+        TenantUserRepository tenantUserRepository,
+        TenantStatsRepository tenantStatsRepository,
+        SyncService syncService,
+        DashboardStatsService dashboardStatsService,
+        AuditLog auditLog,
+        ConcurrentSessionControl sessionControl,
+        ObjectProvider<TokenService> tokenService,
+        TransactionTemplate transactionTemplate,
+        TenantDeletionProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.tenantDeletionRepository = tenantDeletionRepository;
+        this.tenantRepository = tenantRepository;
+        this.tenantUserRepository = tenantUserRepository;
+        this.tenantStatsRepository = tenantStatsRepository;
+        this.syncService = syncService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.auditLog = auditLog;
+        this.sessionControl = sessionControl;
+        this.tokenService = tokenService.getIfAvailable();
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.purgedMembers = Counter.builder("mms.tenant_deletion.purged_members")
+            .description("Members of deleted tenants removed by the background purge")
+            .register(meterRegistry);
+        this.completed = Counter.builder("mms.tenant_deletion.completed")
+            .description("Tenant deletions whose purge has finished")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.tenant-deletion.purge-interval:5s}")
+    public void purge() {
+        long deadline = System.nanoTime() + properties.maxDuration().toNanos();
+        while (System.nanoTime() < deadline) {
+            Boolean worked;
+            try {
+                worked = transactionTemplate.execute(status -> purgeBatch());
+            } catch (DataAccessException e) {
+                // E.g. a member added concurrently makes the tenant delete fail; the next run retries
+                log.warn("Tenant purge batch failed, retrying on the next run", e);
+                return;
+            }
+            if (!Boolean.TRUE.equals(worked)) {
+                return;
+            }
+            try {
+                Thread.sleep(properties.pause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if there was no pending deletion to work on
+     */
+    private boolean purgeBatch() {
+        TenantDeletionRepository.TenantDeletion deletion = tenantDeletionRepository.claimNext().orElse(null);
+        if (deletion == null) {
+            return false;
+        }
+        UUID tenantId = deletion.tenantId();
+        List<UUID> userIds = tenantUserRepository.lockIdsByTenantId(tenantId, properties.batchSize());
+        if (userIds.isEmpty()) {
+            // tenant_stats goes with the cascading foreign key
+            tenantRepository.delete(tenantId);
+            tenantDeletionRepository.complete(tenantId);
+            dashboardStatsService.recordTenantChange();
+            auditLog.record(AuditEvent.Entity.TENANT, AuditEvent.Action.PURGED, tenantId, tenantId, deletion.requestedBy(),
+                "members: " + deletion.membersDeleted() + ", sessions: " + deletion.sessionsDeleted());
+            completed.increment();
+            log.info("Purged tenant {} ({} members, {} sessions)",
+                deletion.slug(), deletion.membersDeleted(), deletion.sessionsDeleted());
+            return true;
+        }
+
+        int sessions = sessionControl.expireAll(CustomUserDetails.UserType.TENANT, userIds);
+        if (tokenService != null) {
+            tokenService.revokeUsers(userIds, deletion.requestedBy());
+        }
+        syncService.recordTenantUsersDeleted(userIds, tenantId, deletion.requestedBy());
+        int members = tenantUserRepository.deleteByIds(userIds);
+        tenantStatsRepository.addMembers(tenantId, -members);
+        tenantDeletionRepository.recordProgress(tenantId, members, sessions);
+        purgedMembers.increment(members);
+        return true;
+    }
+}
\ No newline at end of file
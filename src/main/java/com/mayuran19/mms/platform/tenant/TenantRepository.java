@@ -1,11 +1,16 @@
 package com.mayuran19.mms.platform.tenant;
 
 import com.mayuran19.mms.jooq.tables.pojos.Tenants;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SortField;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +19,19 @@ import static com.mayuran19.mms.jooq.Tables.TENANTS;
 @Repository
 public class TenantRepository {
 
+    /**
+     * Status of a deleted tenant whose members are still being purged by {@link TenantPurger}.
+     * Such tenants are hidden from every read below, but their slug stays taken.
+     */
+    public static final String STATUS_DELETING = "DELETING";
+
+    static final Condition NOT_DELETING = TENANTS.STATUS.ne(STATUS_DELETING);
+
+    // Same expression as idx_tenants_name_key: byte order, so it serves name order and prefix matches
+    static final Field<String> NAME_KEY = nameKey(TENANTS.NAME);
+    // Same expression as idx_tenants_name_trgm
+    static final Field<String> NAME_LOWER = DSL.lower(TENANTS.NAME);
+
     private final DSLContext dsl;
 
     public TenantRepository(DSLContext dsl) {
@@ -37,17 +55,20 @@ public class TenantRepository {
     public Optional<Tenants> findById(UUID id) {
         return dsl.selectFrom(TENANTS)
             .where(TENANTS.ID.eq(id))
+            .and(NOT_DELETING)
             .fetchOptionalInto(Tenants.class);
     }
 
     public Optional<Tenants> findBySlug(String slug) {
         return dsl.selectFrom(TENANTS)
             .where(TENANTS.SLUG.eq(slug))
+            .and(NOT_DELETING)
             .fetchOptionalInto(Tenants.class);
     }
 
     public List<Tenants> findAll() {
         return dsl.selectFrom(TENANTS)
+            .where(NOT_DELETING)
             .orderBy(TENANTS.CREATED_DATE.desc())
             .fetchInto(Tenants.class);
     }
@@ -55,10 +76,70 @@ public class TenantRepository {
     public List<Tenants> findByStatus(String status) {
         return dsl.selectFrom(TENANTS)
             .where(TENANTS.STATUS.eq(status))
+            .and(NOT_DELETING)
             .orderBy(TENANTS.CREATED_DATE.desc())
             .fetchInto(Tenants.class);
     }
 
+    /**
+     * Tenants matching {@code criteria} that sort after {@code after}, in the criteria's order.
+     * Text matches are served by the name and slug indexes, and the order by the
+     * {@code (created_date, id)} and {@code (name key, id)} indexes, optionally behind the status.
+     */
+    public List<Tenants> search(TenantSearchCriteria criteria, TenantSearchCursor after, int limit) {
+        Condition condition = NOT_DELETING;
+        if (criteria.query() != null) {
+            String lowered = escapeLike(criteria.query().toLowerCase(Locale.ROOT));
+            condition = condition.and(criteria.match() == TenantSearchCriteria.Match.PREFIX
+                ? NAME_KEY.like(lowered + "%", '\\').or(TENANTS.SLUG.like(lowered + "%", '\\'))
+                : NAME_LOWER.like("%" + lowered + "%", '\\').or(TENANTS.SLUG.like("%" + lowered + "%", '\\')));
+        }
+        if (criteria.statuses() != null && !criteria.statuses().isEmpty()) {
+            condition = condition.and(TENANTS.STATUS.in(criteria.statuses()));
+        }
+        if (criteria.createdFrom() != null) {
+            condition = condition.and(TENANTS.CREATED_DATE.ge(criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            condition = condition.and(TENANTS.CREATED_DATE.lt(criteria.createdTo()));
+        }
+        if (after != null) {
+            condition = condition.and(after(after));
+        }
+
+        return dsl.selectFrom(TENANTS)
+            .where(condition)
+            .orderBy(orderBy(criteria.sort()))
+            .limit(limit)
+            .fetchInto(Tenants.class);
+    }
+
+    private static Condition after(TenantSearchCursor cursor) {
+        return switch (cursor.sort()) {
+            case CREATED_DESC -> DSL.row(TENANTS.CREATED_DATE, TENANTS.ID).lt(cursor.createdDate(), cursor.id());
+            case CREATED_ASC -> DSL.row(TENANTS.CREATED_DATE, TENANTS.ID).gt(cursor.createdDate(), cursor.id());
+            case NAME_ASC -> DSL.row(NAME_KEY, TENANTS.ID).gt(nameKey(DSL.val(cursor.key())), DSL.val(cursor.id()));
+            case NAME_DESC -> DSL.row(NAME_KEY, TENANTS.ID).lt(nameKey(DSL.val(cursor.key())), DSL.val(cursor.id()));
+        };
+    }
+
+    private static List<SortField<?>> orderBy(TenantSearchCriteria.Sort sort) {
+        return switch (sort) {
+            case CREATED_DESC -> List.of(TENANTS.CREATED_DATE.desc(), TENANTS.ID.desc());
+            case CREATED_ASC -> List.of(TENANTS.CREATED_DATE.asc(), TENANTS.ID.asc());
+            case NAME_ASC -> List.of(NAME_KEY.asc(), TENANTS.ID.asc());
+            case NAME_DESC -> List.of(NAME_KEY.desc(), TENANTS.ID.desc());
+        };
+    }
+
+    private static Field<String> nameKey(Field<String> name) {
+        return DSL.field("lower({0}) collate \"C\"", String.class, name);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public Optional<Tenants> update(UUID id, String name, String status, UUID modifiedBy) {
         return dsl.update(TENANTS)
             .set(TENANTS.NAME, name)
@@ -66,6 +147,21 @@ public class TenantRepository {
             .set(TENANTS.LAST_MODIFIED_BY, modifiedBy)
             .set(TENANTS.LAST_MODIFIED_DATE, OffsetDateTime.now())
             .where(TENANTS.ID.eq(id))
+            .and(NOT_DELETING)
+            .returning()
+            .fetchOptionalInto(Tenants.class);
+    }
+
+    /**
+     * Soft-deletes the tenant; empty if it does not exist or is already being deleted.
+     */
+    public Optional<Tenants> markDeleting(UUID id, UUID modifiedBy) {
+        return dsl.update(TENANTS)
+            .set(TENANTS.STATUS, STATUS_DELETING)
+            .set(TENANTS.LAST_MODIFIED_BY, modifiedBy)
+            .set(TENANTS.LAST_MODIFIED_DATE, OffsetDateTime.now())
+            .where(TENANTS.ID.eq(id))
+            .and(NOT_DELETING)
             .returning()
             .fetchOptionalInto(Tenants.class);
     }
@@ -77,6 +173,43 @@ public class TenantRepository {
         return deleted > 0;
     }
 
+    /**
+     * Tenants modified after {@code (afterDate, afterId)} and before {@code before}, in keyset order.
+     */
+    public List<Tenants> findModifiedAfter(OffsetDateTime afterDate, UUID afterId, OffsetDateTime before, int limit) {
+        return dsl.selectFrom(TENANTS)
+            .where(DSL.row(TENANTS.LAST_MODIFIED_DATE, TENANTS.ID).gt(afterDate, afterId))
+            .and(TENANTS.LAST_MODIFIED_DATE.lt(before))
+            .and(NOT_DELETING)
+            .orderBy(TENANTS.LAST_MODIFIED_DATE, TENANTS.ID)
+            .limit(limit)
+            .fetchInto(Tenants.class);
+    }
+
+    public ResourceVersion findVersion(String status) {
+        return dsl.select(DSL.count(), DSL.max(TENANTS.LAST_MODIFIED_DATE))
+            .from(TENANTS)
+            .where(status != null ? TENANTS.STATUS.eq(status) : DSL.noCondition())
+            .and(NOT_DELETING)
+            .fetchOne(r -> new ResourceVersion(r.value1(), r.value2()));
+    }
+
+    public Optional<ResourceVersion> findVersionById(UUID id) {
+        return dsl.select(TENANTS.LAST_MODIFIED_DATE)
+            .from(TENANTS)
+            .where(TENANTS.ID.eq(id))
+            .and(NOT_DELETING)
+            .fetchOptional(r -> ResourceVersion.of(r.value1()));
+    }
+
+    public Optional<ResourceVersion> findVersionBySlug(String slug) {
+        return dsl.select(TENANTS.LAST_MODIFIED_DATE)
+            .from(TENANTS)
+            .where(TENANTS.SLUG.eq(slug))
+            .and(NOT_DELETING)
+            .fetchOptional(r -> ResourceVersion.of(r.value1()));
+    }
+
     public boolean existsBySlug(String slug) {
         return dsl.fetchExists(
             dsl.selectFrom(TENANTS)
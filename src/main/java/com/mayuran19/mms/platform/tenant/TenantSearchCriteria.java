@@ -0,0 +1,30 @@
+package com.mayuran19.mms.platform.tenant;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+/**
+ * Filters and order of a tenant search. Every field except {@code sort} is optional; a null
+ * {@code query} or empty {@code statuses} matches all tenants.
+ */
+public record TenantSearchCriteria(
+    String query,
+    Match match,
+    Set<String> statuses,
+    OffsetDateTime createdFrom,
+    OffsetDateTime createdTo,
+    Sort sort
+) {
+
+    public enum Match {
+        PREFIX,
+        CONTAINS
+    }
+
+    public enum Sort {
+        CREATED_DESC,
+        CREATED_ASC,
+        NAME_ASC,
+        NAME_DESC
+    }
+}
\ No newline at end of file
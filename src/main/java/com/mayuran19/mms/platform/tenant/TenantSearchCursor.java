@@ -0,0 +1,51 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.jooq.tables.pojos.Tenants;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Sort key and id of the last tenant on a search page. The name is kept as stored and lower-cased
+ * by the database when compared, so the keyset uses exactly the same key as the index.
+ */
+record TenantSearchCursor(TenantSearchCriteria.Sort sort, UUID id, String key) {
+
+    static TenantSearchCursor of(TenantSearchCriteria.Sort sort, Tenants tenant) {
+        String key = switch (sort) {
+            case CREATED_DESC, CREATED_ASC ->
+                Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, tenant.getCreatedDate().toInstant()));
+            case NAME_ASC, NAME_DESC -> tenant.getName();
+        };
+        return new TenantSearchCursor(sort, tenant.getId(), key);
+    }
+
+    static TenantSearchCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split(":", 3);
+            TenantSearchCursor cursor = new TenantSearchCursor(
+                TenantSearchCriteria.Sort.valueOf(parts[0]), UUID.fromString(parts[1]), parts[2]);
+            if (cursor.sort() == TenantSearchCriteria.Sort.CREATED_DESC || cursor.sort() == TenantSearchCriteria.Sort.CREATED_ASC) {
+                cursor.createdDate();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new TenantService.InvalidSearchException("Invalid search cursor");
+        }
+    }
+
+    String encode() {
+        String value = sort.name() + ":" + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    OffsetDateTime createdDate() {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(Long.parseLong(key), ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
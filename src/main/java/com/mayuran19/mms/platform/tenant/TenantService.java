@@ -1,23 +1,73 @@
 package com.mayuran19.mms.platform.tenant;
 
+import com.mayuran19.mms.concurrent.SingleFlight;
 import com.mayuran19.mms.jooq.tables.pojos.Tenants;
+import com.mayuran19.mms.platform.audit.AuditEvent;
+import com.mayuran19.mms.platform.audit.AuditLog;
+import com.mayuran19.mms.platform.events.ChangeEvent;
+import com.mayuran19.mms.platform.events.ChangeEventPublisher;
+import com.mayuran19.mms.platform.outbox.Outbox;
+import com.mayuran19.mms.platform.stats.DashboardStatsService;
+import com.mayuran19.mms.platform.sync.SyncService;
 import com.mayuran19.mms.platform.tenant.dto.CreateTenantRequest;
+import com.mayuran19.mms.platform.tenant.dto.TenantDeletionResponse;
 import com.mayuran19.mms.platform.tenant.dto.TenantResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantSearchResponse;
 import com.mayuran19.mms.platform.tenant.dto.UpdateTenantRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class TenantService {
 
+    private static final Set<String> STATUSES = Set.of("ACTIVE", "INACTIVE", "SUSPENDED");
+    private static final int MIN_CONTAINS_LENGTH = 3;
+    private static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     private final TenantRepository tenantRepository;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final TenantDeletionRepository tenantDeletionRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final SyncService syncService;
+    private final AuditLog auditLog;
+    private final ChangeEventPublisher changeEventPublisher;
+    private final Outbox outbox;
+    // A dashboard load fires several identical reads for the same tenant at once
+    private final SingleFlight<UUID, TenantResponse> tenantByIdReads;
+    private final SingleFlight<String, TenantResponse> tenantBySlugReads;
 
-    public TenantService(TenantRepository tenantRepository) {
+    public TenantService(
+        TenantRepository tenantRepository,
+        TenantStatsRepository tenantStatsRepository,
+        TenantDeletionRepository tenantDeletionRepository,
+        DashboardStatsService dashboardStatsService,
+        SyncService syncService,
+        AuditLog auditLog,
+        ObjectProvider<ChangeEventPublisher> changeEventPublisher,
+        ObjectProvider<Outbox> outbox,
+        MeterRegistry meterRegistry
+    ) {
         this.tenantRepository = tenantRepository;
+        this.tenantStatsRepository = tenantStatsRepository;
+        this.tenantDeletionRepository = tenantDeletionRepository;
+        this.dashboardStatsService = dashboardStatsService;
+        this.syncService = syncService;
+        this.auditLog = auditLog;
+        this.changeEventPublisher = changeEventPublisher.getIfAvailable();
+        this.outbox = outbox.getIfAvailable();
+        this.tenantByIdReads = new SingleFlight<>("tenant_by_id", meterRegistry);
+        this.tenantBySlugReads = new SingleFlight<>("tenant_by_slug", meterRegistry);
     }
 
     @Transactional
@@ -39,19 +89,50 @@ public class TenantService {
         tenant.setLastModifiedDate(now);
 
         Tenants created = tenantRepository.create(tenant);
+        tenantStatsRepository.addMembers(created.getId(), 0);
+        dashboardStatsService.recordTenantChange();
+        auditLog.record(AuditEvent.Entity.TENANT, AuditEvent.Action.CREATED, created.getId(), created.getId(),
+            currentUserId, "slug: " + created.getSlug());
+        publish(ChangeEvent.Action.CREATED, created.getId(), currentUserId);
         return TenantResponse.fromEntity(created);
     }
 
     public TenantResponse getTenantById(UUID id) {
-        Tenants tenant = tenantRepository.findById(id)
-            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + id));
-        return TenantResponse.fromEntity(tenant);
+        return tenantByIdReads.execute(id, () -> {
+            Tenants tenant = tenantRepository.findById(id)
+                .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + id));
+            return TenantResponse.fromEntity(tenant);
+        });
     }
 
     public TenantResponse getTenantBySlug(String slug) {
-        Tenants tenant = tenantRepository.findBySlug(slug)
+        return tenantBySlugReads.execute(slug, () -> {
+            Tenants tenant = tenantRepository.findBySlug(slug)
+                .orElseThrow(() -> new TenantNotFoundException("Tenant not found with slug: " + slug));
+            return TenantResponse.fromEntity(tenant);
+        });
+    }
+
+    /**
+     * Version of the tenant list returned for {@code status}, without loading the tenants, or
+     * {@link ResourceVersion#UNSETTLED} while its newest change is within the settle window.
+     */
+    public ResourceVersion getTenantsVersion(String status) {
+        ResourceVersion version = tenantRepository.findVersion(status);
+        if (version.lastModified() != null && !version.lastModified().isBefore(syncService.settledBefore())) {
+            return ResourceVersion.UNSETTLED;
+        }
+        return version;
+    }
+
+    public ResourceVersion getTenantVersion(UUID id) {
+        return tenantRepository.findVersionById(id)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + id));
+    }
+
+    public ResourceVersion getTenantVersionBySlug(String slug) {
+        return tenantRepository.findVersionBySlug(slug)
             .orElseThrow(() -> new TenantNotFoundException("Tenant not found with slug: " + slug));
-        return TenantResponse.fromEntity(tenant);
     }
 
     public List<TenantResponse> getAllTenants() {
@@ -61,6 +142,13 @@ public class TenantService {
             .toList();
     }
 
+    /**
+     * Member count of every tenant, read from the maintained counters in one query.
+     */
+    public Map<UUID, Long> getUserCounts() {
+        return tenantStatsRepository.findAllMemberCounts();
+    }
+
     public List<TenantResponse> getTenantsByStatus(String status) {
         return tenantRepository.findByStatus(status)
             .stream()
@@ -68,6 +156,67 @@ public class TenantService {
             .toList();
     }
 
+    /**
+     * One keyset page of tenants matching the filters. Substring matches go through trigrams, so
+     * they need at least a trigram's worth of query; prefix matches work from one character.
+     * A cursor is only valid for the sort it was issued with.
+     */
+    public TenantSearchResponse searchTenants(
+        String query,
+        String match,
+        List<String> statuses,
+        OffsetDateTime createdFrom,
+        OffsetDateTime createdTo,
+        String sort,
+        int limit,
+        String cursor
+    ) {
+        TenantSearchCriteria.Match matchMode = parse(TenantSearchCriteria.Match.class, match, "match");
+        TenantSearchCriteria.Sort sortOrder = parse(TenantSearchCriteria.Sort.class, sort, "sort");
+        String trimmed = query == null || query.isBlank() ? null : query.strip();
+        if (trimmed != null && matchMode == TenantSearchCriteria.Match.CONTAINS && trimmed.length() < MIN_CONTAINS_LENGTH) {
+            throw new InvalidSearchException("Substring search needs at least " + MIN_CONTAINS_LENGTH + " characters");
+        }
+        Set<String> statusSet = new LinkedHashSet<>();
+        if (statuses != null) {
+            for (String status : statuses) {
+                String normalized = status.strip().toUpperCase(Locale.ROOT);
+                if (!STATUSES.contains(normalized)) {
+                    throw new InvalidSearchException("Unknown status: " + status);
+                }
+                statusSet.add(normalized);
+            }
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidSearchException("createdFrom must be before createdTo");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidSearchException("Limit must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        TenantSearchCursor after = cursor != null ? TenantSearchCursor.decode(cursor) : null;
+        if (after != null && after.sort() != sortOrder) {
+            throw new InvalidSearchException("Cursor was issued for sort " + after.sort().name().toLowerCase(Locale.ROOT));
+        }
+
+        TenantSearchCriteria criteria = new TenantSearchCriteria(
+            trimmed, matchMode, statusSet, createdFrom, createdTo, sortOrder);
+        // One extra row tells whether there is a next page
+        List<Tenants> found = tenantRepository.search(criteria, after, limit + 1);
+        boolean hasMore = found.size() > limit;
+        List<Tenants> page = hasMore ? found.subList(0, limit) : found;
+        String nextCursor = hasMore ? TenantSearchCursor.of(sortOrder, page.getLast()).encode() : null;
+        return new TenantSearchResponse(
+            page.stream().map(TenantResponse::fromEntity).toList(), nextCursor, hasMore);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, String parameter) {
+        try {
+            return Enum.valueOf(type, value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchException("Unknown " + parameter + ": " + value);
+        }
+    }
+
     @Transactional
     public TenantResponse updateTenant(UUID id, UpdateTenantRequest request, UUID currentUserId) {
         Tenants existingTenant = tenantRepository.findById(id)
@@ -78,19 +227,56 @@ public class TenantService {
 
         Tenants updated = tenantRepository.update(id, name, status, currentUserId)
             .orElseThrow(() -> new RuntimeException("Failed to update tenant"));
+        if (!status.equals(existingTenant.getStatus())) {
+            dashboardStatsService.recordTenantChange();
+        }
+        List<String> changes = new ArrayList<>();
+        if (!name.equals(existingTenant.getName())) {
+            changes.add("name: " + existingTenant.getName() + " -> " + name);
+        }
+        if (!status.equals(existingTenant.getStatus())) {
+            changes.add("status: " + existingTenant.getStatus() + " -> " + status);
+        }
+        auditLog.record(AuditEvent.Entity.TENANT, AuditEvent.Action.UPDATED, id, id, currentUserId, String.join(", ", changes));
+        publish(ChangeEvent.Action.UPDATED, id, currentUserId);
 
         return TenantResponse.fromEntity(updated);
     }
 
+    /**
+     * Marks the tenant deleted and hands the removal of its members, sessions and the tenant row
+     * to {@link TenantPurger}. The tenant disappears from every read and the deletion is visible
+     * to sync clients and event subscribers right away.
+     */
     @Transactional
-    public void deleteTenant(UUID id) {
-        if (!tenantRepository.findById(id).isPresent()) {
-            throw new TenantNotFoundException("Tenant not found with id: " + id);
-        }
+    public TenantDeletionResponse deleteTenant(UUID id, UUID currentUserId) {
+        Tenants tenant = tenantRepository.markDeleting(id, currentUserId)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + id));
 
-        boolean deleted = tenantRepository.delete(id);
-        if (!deleted) {
-            throw new RuntimeException("Failed to delete tenant");
+        long members = tenantStatsRepository.findMemberCount(id).orElse(0L);
+        TenantDeletionRepository.TenantDeletion deletion =
+            tenantDeletionRepository.create(id, tenant.getSlug(), members, currentUserId);
+        syncService.recordTenantDeleted(id, currentUserId);
+        dashboardStatsService.recordTenantChange();
+        auditLog.record(AuditEvent.Entity.TENANT, AuditEvent.Action.DELETED, id, id, currentUserId,
+            "slug: " + tenant.getSlug() + ", members: " + members);
+        publish(ChangeEvent.Action.DELETED, id, currentUserId);
+        return TenantDeletionResponse.fromDeletion(deletion);
+    }
+
+    public TenantDeletionResponse getTenantDeletion(UUID id) {
+        return tenantDeletionRepository.findByTenantId(id)
+            .map(TenantDeletionResponse::fromDeletion)
+            .orElseThrow(() -> new TenantNotFoundException("No deletion found for tenant with id: " + id));
+    }
+
+    private void publish(ChangeEvent.Action action, UUID id, UUID currentUserId) {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Entity.TENANT, action, id, id);
+        if (changeEventPublisher != null) {
+            changeEventPublisher.publish(event);
+        }
+        if (outbox != null) {
+            outbox.add(event, currentUserId);
         }
     }
 
@@ -106,4 +292,10 @@ public class TenantService {
             super(message);
         }
     }
+
+    public static class InvalidSearchException extends RuntimeException {
+        public InvalidSearchException(String message) {
+            super(message);
+        }
+    }
 }
\ No newline at end of file
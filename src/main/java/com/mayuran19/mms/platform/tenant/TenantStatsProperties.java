@@ -0,0 +1,16 @@
+package com.mayuran19.mms.platform.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param reconcileInterval delay between recounts of every tenant's members
+ * @param reconcileBatchSize tenants recounted per transaction
+ */
+@ConfigurationProperties(prefix = "mms.tenant-stats")
+public record TenantStatsProperties(
+    @DefaultValue("6h") Duration reconcileInterval,
+    @DefaultValue("100") int reconcileBatchSize
+) {}
@@ -0,0 +1,46 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.platform.jobs.Job;
+import com.mayuran19.mms.platform.jobs.JobHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recounts members on demand rather than waiting for the next scheduled reconciliation: only the
+ * job's tenant if it has one, otherwise every tenant.
+ */
+@Component
+public class TenantStatsReconcileJob implements JobHandler {
+
+    public static final String TYPE = "tenant-stats.reconcile";
+
+    private final TenantStatsRepository tenantStatsRepository;
+    private final TenantStatsReconciler tenantStatsReconciler;
+    private final TransactionTemplate transactionTemplate;
+
+    public TenantStatsReconcileJob(
+        TenantStatsRepository tenantStatsRepository,
+        TenantStatsReconciler tenantStatsReconciler,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.tenantStatsRepository = tenantStatsRepository;
+        this.tenantStatsReconciler = tenantStatsReconciler;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(Job job) {
+        if (job.tenantId() == null) {
+            tenantStatsReconciler.reconcile();
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> tenantStatsRepository.reconcile(List.of(job.tenantId())));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.mayuran19.mms.platform.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Periodically recounts every tenant's members and corrects {@code tenant_stats} where it drifted,
+ * e.g. after rows were loaded or removed outside the application. Tenants are processed in small
+ * transactions so member writes are only held up for one batch at a time. Each batch takes a
+ * transaction-level advisory lock and a node gives up its run when another node holds it, so
+ * overlapping runs collapse into one.
+ */
+@Component
+@EnableConfigurationProperties(TenantStatsProperties.class)
+public class TenantStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantStatsReconciler.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    static final long LOCK_KEY = 0x6d6d_7300_0002L;
+
+    private final TenantStatsRepository tenantStatsRepository;
+    private final DSLContext dsl;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantStatsProperties properties;
+    private final Counter corrected;
+
+    public TenantStatsReconciler(
+        TenantStatsRepository tenantStatsRepository,
+        DSLContext dsl,
+        TransactionTemplate transactionTemplate,
+        TenantStatsProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.tenantStatsRepository = tenantStatsRepository;
+        this.dsl = dsl;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.corrected = Counter.builder("mms.tenant_stats.corrected")
+            .description("Tenant member counters corrected by reconciliation")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.tenant-stats.reconcile-interval:6h}", initialDelayString = "${mms.tenant-stats.reconcile-interval:6h}")
+    public void reconcile() {
+        UUID after = null;
+        int total = 0;
+        while (true) {
+            List<UUID> tenantIds = tenantStatsRepository.findTenantIdsAfter(after, properties.reconcileBatchSize());
+            if (tenantIds.isEmpty()) {
+                break;
+            }
+            Integer fixed = transactionTemplate.execute(status -> {
+                if (!Boolean.TRUE.equals(dsl.select(DSL.field("pg_try_advisory_xact_lock({0})", Boolean.class, DSL.val(LOCK_KEY)))
+                        .fetchOne(0, Boolean.class))) {
+                    return null;
+                }
+                return tenantStatsRepository.reconcile(tenantIds);
+            });
+            if (fixed == null) {
+                log.debug("Tenant stats reconciliation is running on another node, stopping");
+                return;
+            }
+            corrected.increment(fixed);
+            total += fixed;
+            after = tenantIds.getLast();
+        }
+        if (total > 0) {
+            log.warn("Corrected {} drifted tenant member counters", total);
+        }
+    }
+}
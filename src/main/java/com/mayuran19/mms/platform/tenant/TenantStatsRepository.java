@@ -0,0 +1,159 @@
+package com.mayuran19.mms.platform.tenant;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.mayuran19.mms.jooq.Tables.TENANTS;
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+
+/**
+ * Per-tenant counters in {@code tenant_stats}, maintained in the same transaction as the rows
+ * they count so reads never need a {@code COUNT(*)} over {@code tenant_users}. Besides the member
+ * count each row holds a member version that every member write bumps, which versions the
+ * tenant's member list.
+ */
+@Repository
+public class TenantStatsRepository {
+
+    // Counter updates are made by the application, not on behalf of a user
+    private static final UUID SYSTEM_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    static final Table<Record> TENANT_STATS = DSL.table(DSL.name("tenant_stats"));
+    static final Field<UUID> TENANT_ID = DSL.field(DSL.name("tenant_stats", "tenant_id"), SQLDataType.UUID);
+    static final Field<Long> MEMBER_COUNT = DSL.field(DSL.name("tenant_stats", "member_count"), SQLDataType.BIGINT);
+    static final Field<Long> MEMBER_VERSION = DSL.field(DSL.name("tenant_stats", "member_version"), SQLDataType.BIGINT);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("tenant_stats", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("tenant_stats", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("tenant_stats", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("tenant_stats", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private final DSLContext dsl;
+
+    public TenantStatsRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Adds {@code delta} to the tenant's member count and bumps its member version, creating the
+     * row if needed. Must run in the transaction that inserts or deletes the members; the row lock
+     * it takes also serialises it with {@link #reconcile(List)}.
+     */
+    public void addMembers(UUID tenantId, long delta) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.insertInto(TENANT_STATS)
+            .set(TENANT_ID, tenantId)
+            .set(MEMBER_COUNT, Math.max(0, delta))
+            .set(MEMBER_VERSION, 1L)
+            .set(CREATED_BY, SYSTEM_USER_ID)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, SYSTEM_USER_ID)
+            .set(LAST_MODIFIED_DATE, now)
+            .onConflict(TENANT_ID)
+            .doUpdate()
+            .set(MEMBER_COUNT, MEMBER_COUNT.plus(delta))
+            .set(MEMBER_VERSION, MEMBER_VERSION.plus(1))
+            .set(LAST_MODIFIED_DATE, now)
+            .execute();
+    }
+
+    /**
+     * Bumps the tenant's member version for members that were updated in place. Must run in the
+     * transaction that updates them.
+     */
+    public void touchMembers(UUID tenantId) {
+        addMembers(tenantId, 0);
+    }
+
+    /**
+     * Version of the tenant's member list, or empty if the tenant does not exist or is being
+     * deleted. It changes with every committed member write, whatever its timestamps.
+     */
+    public Optional<ResourceVersion> findMemberVersion(UUID tenantId) {
+        return dsl.select(DSL.coalesce(MEMBER_VERSION, 0L))
+            .from(TENANTS)
+            .leftJoin(TENANT_STATS).on(TENANT_ID.eq(TENANTS.ID))
+            .where(TENANTS.ID.eq(tenantId))
+            .and(TenantRepository.NOT_DELETING)
+            .fetchOptional(r -> ResourceVersion.counter(r.value1()));
+    }
+
+    public Optional<Long> findMemberCount(UUID tenantId) {
+        return dsl.select(MEMBER_COUNT)
+            .from(TENANT_STATS)
+            .where(TENANT_ID.eq(tenantId))
+            .fetchOptional(MEMBER_COUNT);
+    }
+
+    public Map<UUID, Long> findAllMemberCounts() {
+        return dsl.select(TENANT_ID, MEMBER_COUNT)
+            .from(TENANT_STATS)
+            .fetchMap(TENANT_ID, MEMBER_COUNT);
+    }
+
+    /**
+     * Tenant ids after {@code afterId} in id order, for walking all tenants in batches.
+     */
+    public List<UUID> findTenantIdsAfter(UUID afterId, int limit) {
+        return dsl.select(TENANTS.ID)
+            .from(TENANTS)
+            .where(afterId != null ? TENANTS.ID.gt(afterId) : DSL.noCondition())
+            .orderBy(TENANTS.ID)
+            .limit(limit)
+            .fetch(TENANTS.ID);
+    }
+
+    /**
+     * Recounts the members of the given tenants and corrects any counter that drifted. Must run in
+     * a transaction: the counter rows are locked first, so member inserts and deletes of these
+     * tenants wait until the recount is committed and none are missed or counted twice.
+     *
+     * @return number of counters corrected
+     */
+    public int reconcile(List<UUID> tenantIds) {
+        OffsetDateTime now = OffsetDateTime.now();
+        // Tenants that have never had a counter get one, so it can be locked below
+        dsl.insertInto(TENANT_STATS, TENANT_ID, MEMBER_COUNT, CREATED_BY, CREATED_DATE, LAST_MODIFIED_BY, LAST_MODIFIED_DATE)
+            .select(DSL.select(TENANTS.ID, DSL.val(0L), DSL.val(SYSTEM_USER_ID), DSL.val(now), DSL.val(SYSTEM_USER_ID), DSL.val(now))
+                .from(TENANTS)
+                .where(TENANTS.ID.in(tenantIds)))
+            .onConflictDoNothing()
+            .execute();
+        Map<UUID, Long> stored = dsl.select(TENANT_ID, MEMBER_COUNT)
+            .from(TENANT_STATS)
+            .where(TENANT_ID.in(tenantIds))
+            .orderBy(TENANT_ID)
+            .forUpdate()
+            .fetchMap(TENANT_ID, MEMBER_COUNT);
+        Field<Integer> count = DSL.count();
+        Map<UUID, Integer> actual = dsl.select(TENANT_USERS.TENANT_ID, count)
+            .from(TENANT_USERS)
+            .where(TENANT_USERS.TENANT_ID.in(tenantIds))
+            .groupBy(TENANT_USERS.TENANT_ID)
+            .fetchMap(TENANT_USERS.TENANT_ID, count);
+
+        int corrected = 0;
+        for (Map.Entry<UUID, Long> entry : stored.entrySet()) {
+            long members = actual.getOrDefault(entry.getKey(), 0);
+            if (entry.getValue() != members) {
+                dsl.update(TENANT_STATS)
+                    .set(MEMBER_COUNT, members)
+                    .set(LAST_MODIFIED_DATE, now)
+                    .where(TENANT_ID.eq(entry.getKey()))
+                    .execute();
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
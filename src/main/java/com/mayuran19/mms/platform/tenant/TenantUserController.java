@@ -1,7 +1,11 @@
 package com.mayuran19.mms.platform.tenant;
 
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserDeleteRequest;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserStatusRequest;
 import com.mayuran19.mms.platform.tenant.dto.CreateTenantUserRequest;
 import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserSearchResponse;
 import com.mayuran19.mms.platform.tenant.dto.UpdateTenantUserRequest;
 import com.mayuran19.mms.security.CurrentPlatformUser;
 import com.mayuran19.mms.security.PlatformUserPrincipal;
@@ -10,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
@@ -36,36 +41,75 @@ public class TenantUserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TenantUserResponse>> getTenantUsers(@PathVariable UUID tenantId) {
+    public ResponseEntity<List<TenantUserResponse>> getTenantUsers(@PathVariable UUID tenantId, WebRequest webRequest) {
+        // Probed before the list is loaded; a write in between only makes the body newer than the ETag
+        ResourceVersion version = tenantUserService.getTenantUsersVersion(tenantId);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return version.notModified();
+        }
         List<TenantUserResponse> users = tenantUserService.getTenantUsersByTenantId(tenantId);
-        return ResponseEntity.ok(users);
+        return version.ok().body(users);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TenantUserSearchResponse> searchTenantUsers(
+        @PathVariable UUID tenantId,
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(tenantUserService.searchTenantUsers(tenantId, q, page, size));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<TenantUserResponse> getTenantUserById(@PathVariable UUID userId) {
+    public ResponseEntity<TenantUserResponse> getTenantUserById(@PathVariable UUID userId, WebRequest webRequest) {
+        ResourceVersion version = tenantUserService.getTenantUserVersion(userId);
+        if (webRequest.checkNotModified(version.eTag())) {
+            return version.notModified();
+        }
         TenantUserResponse response = tenantUserService.getTenantUserById(userId);
-        return ResponseEntity.ok(response);
+        return version.ok().body(response);
     }
 
     @PutMapping("/{userId}")
     public ResponseEntity<TenantUserResponse> updateTenantUser(
+        @CurrentPlatformUser PlatformUserPrincipal principal,
         @PathVariable UUID tenantId,
         @PathVariable UUID userId,
         @Valid @RequestBody UpdateTenantUserRequest request
     ) {
-        TenantUserResponse response = tenantUserService.updateTenantUser(userId, request);
+        TenantUserResponse response = tenantUserService.updateTenantUser(principal, userId, request);
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteTenantUser(
+        @CurrentPlatformUser PlatformUserPrincipal principal,
         @PathVariable UUID tenantId,
         @PathVariable UUID userId
     ) {
-        tenantUserService.deleteTenantUser(userId);
+        tenantUserService.deleteTenantUser(principal, userId);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/status")
+    public ResponseEntity<BulkTenantUserResponse> changeTenantUserStatus(
+        @CurrentPlatformUser PlatformUserPrincipal principal,
+        @PathVariable UUID tenantId,
+        @Valid @RequestBody BulkTenantUserStatusRequest request
+    ) {
+        return ResponseEntity.ok(tenantUserService.changeTenantUserStatus(principal, tenantId, request));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkTenantUserResponse> deleteTenantUsers(
+        @CurrentPlatformUser PlatformUserPrincipal principal,
+        @PathVariable UUID tenantId,
+        @Valid @RequestBody BulkTenantUserDeleteRequest request
+    ) {
+        return ResponseEntity.ok(tenantUserService.deleteTenantUsers(principal, tenantId, request));
+    }
+
     @GetMapping("/count")
     public ResponseEntity<Long> countTenantUsers(@PathVariable UUID tenantId) {
         long count = tenantUserService.countUsersByTenant(tenantId);
@@ -86,6 +130,20 @@ public class TenantUserController {
             .body(new ErrorResponse(ex.getMessage()));
     }
 
+    @ExceptionHandler(TenantUserService.InvalidSearchException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSearch(TenantUserService.InvalidSearchException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(TenantUserService.InvalidBulkRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBulkRequest(TenantUserService.InvalidBulkRequestException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(TenantUserService.TenantNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTenantNotFound(TenantUserService.TenantNotFoundException ex) {
         return ResponseEntity
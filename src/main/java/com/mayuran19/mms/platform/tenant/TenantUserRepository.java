@@ -1,12 +1,20 @@
 package com.mayuran19.mms.platform.tenant;
 
 import com.mayuran19.mms.jooq.tables.pojos.TenantUsers;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserFilter;
 import com.mayuran19.mms.security.PlatformUserPrincipal;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +23,11 @@ import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
 @Repository
 public class TenantUserRepository {
 
+    // Same expression as idx_tenant_users_tenant_id_search_text, otherwise the index is not used
+    static final Field<String> SEARCH_TEXT = DSL.field(
+        "lower({0} || ' ' || coalesce({1}, '') || ' ' || coalesce({2}, ''))",
+        String.class, TENANT_USERS.EMAIL, TENANT_USERS.FIRST_NAME, TENANT_USERS.LAST_NAME);
+
     private final DSLContext dsl;
 
     public TenantUserRepository(DSLContext dsl) {
@@ -29,6 +42,7 @@ public class TenantUserRepository {
             .set(TENANT_USERS.PASSWORD_HASH, user.getPasswordHash())
             .set(TENANT_USERS.FIRST_NAME, user.getFirstName())
             .set(TENANT_USERS.LAST_NAME, user.getLastName())
+            .set(TENANT_USERS.STATUS, user.getStatus())
             .set(TENANT_USERS.CREATED_DATE, user.getCreatedDate())
             .set(TENANT_USERS.LAST_MODIFIED_DATE, user.getLastModifiedDate())
             .set(TENANT_USERS.CREATED_BY, principal.id())
@@ -56,15 +70,154 @@ public class TenantUserRepository {
             .fetchInto(TenantUsers.class);
     }
 
+    /**
+     * Up to {@code limit} member ids of the tenant, locked until the end of the transaction.
+     */
+    public List<UUID> lockIdsByTenantId(UUID tenantId, int limit) {
+        return dsl.select(TENANT_USERS.ID)
+            .from(TENANT_USERS)
+            .where(TENANT_USERS.TENANT_ID.eq(tenantId))
+            .limit(limit)
+            .forUpdate()
+            .fetch(TENANT_USERS.ID);
+    }
+
+    public int deleteByIds(Collection<UUID> ids) {
+        return dsl.deleteFrom(TENANT_USERS)
+            .where(TENANT_USERS.ID.in(ids))
+            .execute();
+    }
+
+    /**
+     * Which of {@code ids} are members of the tenant, with one {@code = ANY(?)} lookup.
+     */
+    public List<UUID> findIdsByTenantIdAndIds(UUID tenantId, Collection<UUID> ids) {
+        return dsl.select(TENANT_USERS.ID)
+            .from(TENANT_USERS)
+            .where(TENANT_USERS.TENANT_ID.eq(tenantId))
+            .and(TENANT_USERS.ID.eq(DSL.any(ids.toArray(UUID[]::new))))
+            .fetch(TENANT_USERS.ID);
+    }
+
+    /**
+     * Up to {@code limit} ids of the tenant's members matching the filter, locked until the end of
+     * the transaction. Members already in {@code excludeStatus} are left out, so repeated calls
+     * that change the status of what they return make progress.
+     */
+    public List<UUID> lockIdsByFilter(UUID tenantId, TenantUserFilter filter, String excludeStatus, int limit) {
+        List<Condition> conditions = new ArrayList<>();
+        conditions.add(TENANT_USERS.TENANT_ID.eq(tenantId));
+        if (filter.status() != null) {
+            conditions.add(TENANT_USERS.STATUS.eq(filter.status()));
+        }
+        if (filter.createdFrom() != null) {
+            conditions.add(TENANT_USERS.CREATED_DATE.ge(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            conditions.add(TENANT_USERS.CREATED_DATE.lt(filter.createdTo()));
+        }
+        if (excludeStatus != null) {
+            conditions.add(TENANT_USERS.STATUS.isDistinctFrom(excludeStatus));
+        }
+        return dsl.select(TENANT_USERS.ID)
+            .from(TENANT_USERS)
+            .where(conditions)
+            .orderBy(TENANT_USERS.ID)
+            .limit(limit)
+            .forUpdate()
+            .fetch(TENANT_USERS.ID);
+    }
+
+    /**
+     * Sets the status of those of {@code ids} that are members of the tenant and not already in
+     * it, with one statement.
+     *
+     * @return ids of the members that changed
+     */
+    public List<UUID> updateStatusByIds(UUID tenantId, Collection<UUID> ids, String status, UUID modifiedBy) {
+        return dsl.update(TENANT_USERS)
+            .set(TENANT_USERS.STATUS, status)
+            .set(TENANT_USERS.LAST_MODIFIED_BY, modifiedBy)
+            .set(TENANT_USERS.LAST_MODIFIED_DATE, OffsetDateTime.now())
+            .where(TENANT_USERS.TENANT_ID.eq(tenantId))
+            .and(TENANT_USERS.ID.eq(DSL.any(ids.toArray(UUID[]::new))))
+            .and(TENANT_USERS.STATUS.isDistinctFrom(status))
+            .returning(TENANT_USERS.ID)
+            .fetch(TENANT_USERS.ID);
+    }
+
+    /**
+     * Deletes those of {@code ids} that are members of the tenant with one statement.
+     *
+     * @return the deleted members
+     */
+    public List<TenantUsers> deleteByTenantIdAndIds(UUID tenantId, Collection<UUID> ids) {
+        return dsl.deleteFrom(TENANT_USERS)
+            .where(TENANT_USERS.TENANT_ID.eq(tenantId))
+            .and(TENANT_USERS.ID.eq(DSL.any(ids.toArray(UUID[]::new))))
+            .returning()
+            .fetchInto(TenantUsers.class);
+    }
+
+    /**
+     * Members of the tenant whose email or name contains {@code query} or has a word similar to
+     * it, best matches first. Both predicates are served by the tenant-scoped trigram index.
+     * Only the first {@code maxCandidates} matches the index returns are ranked, so a query
+     * matching much of a large tenant costs no more than one matching {@code maxCandidates}
+     * members; beyond that the best matches may be missed.
+     */
+    public List<TenantUsers> search(UUID tenantId, String query, int maxCandidates, int offset, int limit) {
+        String lowered = query.toLowerCase(Locale.ROOT);
+        Field<Double> score = DSL.field("word_similarity({0}, {1})", Double.class, DSL.val(lowered), SEARCH_TEXT).as("score");
+        // The LIMIT keeps the planner from ranking every match before cutting the candidates
+        Table<?> candidates = dsl.select(TENANT_USERS.asterisk(), score)
+            .from(TENANT_USERS)
+            .where(TENANT_USERS.TENANT_ID.eq(tenantId))
+            .and(SEARCH_TEXT.like("%" + escapeLike(lowered) + "%", '\\')
+                .or(DSL.condition("{0} <% {1}", DSL.val(lowered), SEARCH_TEXT)))
+            .limit(maxCandidates)
+            .asTable("candidates");
+        return dsl.selectFrom(candidates)
+            .orderBy(candidates.field(score).desc(), candidates.field(TENANT_USERS.ID))
+            .offset(offset)
+            .limit(limit)
+            .fetchInto(TenantUsers.class);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Members of any tenant modified after {@code (afterDate, afterId)} and before {@code before},
+     * in keyset order.
+     */
+    public List<TenantUsers> findModifiedAfter(OffsetDateTime afterDate, UUID afterId, OffsetDateTime before, int limit) {
+        return dsl.selectFrom(TENANT_USERS)
+            .where(DSL.row(TENANT_USERS.LAST_MODIFIED_DATE, TENANT_USERS.ID).gt(afterDate, afterId))
+            .and(TENANT_USERS.LAST_MODIFIED_DATE.lt(before))
+            .orderBy(TENANT_USERS.LAST_MODIFIED_DATE, TENANT_USERS.ID)
+            .limit(limit)
+            .fetchInto(TenantUsers.class);
+    }
+
+    public Optional<ResourceVersion> findVersionById(UUID id) {
+        return dsl.select(TENANT_USERS.LAST_MODIFIED_DATE)
+            .from(TENANT_USERS)
+            .where(TENANT_USERS.ID.eq(id))
+            .fetchOptional(r -> ResourceVersion.of(r.value1()));
+    }
+
     public List<TenantUsers> findAll() {
         return dsl.selectFrom(TENANT_USERS)
             .orderBy(TENANT_USERS.CREATED_DATE.desc())
             .fetchInto(TenantUsers.class);
     }
 
-    public Optional<TenantUsers> update(UUID id, String firstName, String lastName) {
+    public Optional<TenantUsers> update(UUID id, String firstName, String lastName, UUID modifiedBy) {
         var updateStep = dsl.update(TENANT_USERS)
-            .set(TENANT_USERS.LAST_MODIFIED_DATE, OffsetDateTime.now());
+            .set(TENANT_USERS.LAST_MODIFIED_DATE, OffsetDateTime.now())
+            .set(TENANT_USERS.LAST_MODIFIED_BY, modifiedBy);
 
         if (firstName != null) {
             updateStep = updateStep.set(TENANT_USERS.FIRST_NAME, firstName);
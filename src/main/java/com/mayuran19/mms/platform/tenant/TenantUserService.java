@@ -1,39 +1,107 @@
 package com.mayuran19.mms.platform.tenant;
 
+import com.mayuran19.mms.concurrent.SingleFlight;
 import com.mayuran19.mms.jooq.tables.pojos.TenantUsers;
+import com.mayuran19.mms.jooq.tables.pojos.Tenants;
+import com.mayuran19.mms.platform.audit.AuditEvent;
+import com.mayuran19.mms.platform.audit.AuditLog;
+import com.mayuran19.mms.platform.events.ChangeEvent;
+import com.mayuran19.mms.platform.events.ChangeEventPublisher;
+import com.mayuran19.mms.platform.outbox.Outbox;
+import com.mayuran19.mms.platform.stats.DashboardStatsService;
+import com.mayuran19.mms.platform.sync.SyncService;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserDeleteRequest;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserStatusRequest;
 import com.mayuran19.mms.platform.tenant.dto.CreateTenantUserRequest;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserFilter;
 import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserSearchResponse;
 import com.mayuran19.mms.platform.tenant.dto.UpdateTenantUserRequest;
+import com.mayuran19.mms.security.CustomUserDetails;
 import com.mayuran19.mms.security.PlatformUserPrincipal;
+import com.mayuran19.mms.security.bloom.KnownUserFilter;
+import com.mayuran19.mms.security.session.ConcurrentSessionControl;
+import com.mayuran19.mms.security.token.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 @Service
 public class TenantUserService {
 
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 1000;
+    private static final int MAX_SEARCH_CANDIDATES = 5000;
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int MAX_BULK_FILTER_MATCHES = 10_000;
+
     private final TenantUserRepository tenantUserRepository;
     private final TenantRepository tenantRepository;
+    private final TenantStatsRepository tenantStatsRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final SyncService syncService;
+    private final AuditLog auditLog;
+    private final ChangeEventPublisher changeEventPublisher;
+    private final Outbox outbox;
     private final PasswordEncoder passwordEncoder;
+    private final KnownUserFilter knownUserFilter;
+    private final TokenService tokenService;
+    private final ConcurrentSessionControl sessionControl;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<UUID, Long> userCountReads;
 
     public TenantUserService(
         TenantUserRepository tenantUserRepository,
         TenantRepository tenantRepository,
-        PasswordEncoder passwordEncoder
+        TenantStatsRepository tenantStatsRepository,
+        DashboardStatsService dashboardStatsService,
+        SyncService syncService,
+        AuditLog auditLog,
+        PasswordEncoder passwordEncoder,
+        ObjectProvider<KnownUserFilter> knownUserFilter,
+        ObjectProvider<ChangeEventPublisher> changeEventPublisher,
+        ObjectProvider<Outbox> outbox,
+        ObjectProvider<TokenService> tokenService,
+        ConcurrentSessionControl sessionControl,
+        TransactionTemplate transactionTemplate,
+        MeterRegistry meterRegistry
     ) {
         this.tenantUserRepository = tenantUserRepository;
         this.tenantRepository = tenantRepository;
+        this.tenantStatsRepository = tenantStatsRepository;
+        this.dashboardStatsService = dashboardStatsService;
+        this.syncService = syncService;
+        this.auditLog = auditLog;
         this.passwordEncoder = passwordEncoder;
+        this.knownUserFilter = knownUserFilter.getIfAvailable();
+        this.changeEventPublisher = changeEventPublisher.getIfAvailable();
+        this.outbox = outbox.getIfAvailable();
+        this.tokenService = tokenService.getIfAvailable();
+        this.sessionControl = sessionControl;
+        this.transactionTemplate = transactionTemplate;
+        this.userCountReads = new SingleFlight<>("tenant_user_count", meterRegistry);
     }
 
     @Transactional
     public TenantUserResponse createTenantUser(PlatformUserPrincipal principal, UUID tenantId, CreateTenantUserRequest request) {
         // Verify tenant exists
-        tenantRepository.findById(tenantId)
+        Tenants tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + tenantId));
 
         // Check if username already exists
@@ -50,10 +118,20 @@ public class TenantUserService {
         user.setPasswordHash(passwordEncoder.encode(request.password()));
         user.setFirstName(request.firstName());
         user.setLastName(request.lastName());
+        user.setStatus(request.isActive() ? "ACTIVE" : "INACTIVE");
         user.setCreatedDate(now);
         user.setLastModifiedDate(now);
 
         TenantUsers created = tenantUserRepository.create(principal, user);
+        tenantStatsRepository.addMembers(tenantId, 1);
+        dashboardStatsService.recordMemberChange();
+        if (knownUserFilter != null) {
+            // Added before commit; a rollback only leaves a harmless false positive
+            knownUserFilter.addTenantUser(tenant.getSlug(), created.getEmail());
+        }
+        auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.CREATED, created.getId(), tenantId,
+            principal.id(), "email: " + created.getEmail() + ", status: " + created.getStatus());
+        publish(ChangeEvent.Action.CREATED, created.getId(), tenantId, principal.id());
         return TenantUserResponse.fromEntity(created);
     }
 
@@ -74,6 +152,49 @@ public class TenantUserService {
             .toList();
     }
 
+    /**
+     * Ranked search over the tenant's members by email, first and last name. Queries shorter than
+     * a trigram cannot use the index and are rejected, as are pages beyond the first
+     * 1000 results. At most 5000 matching members are ranked per query, so queries matching
+     * more of a tenant than that rank an arbitrary subset and should be refined.
+     */
+    public TenantUserSearchResponse searchTenantUsers(UUID tenantId, String query, int page, int size) {
+        String trimmed = query == null ? "" : query.strip();
+        if (trimmed.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchException("Search query must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidSearchException("Page must be 0 or more and size between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (((long) page + 1) * size > MAX_SEARCH_RESULTS) {
+            throw new InvalidSearchException("Only the first " + MAX_SEARCH_RESULTS + " results can be paged through, refine the query");
+        }
+        tenantRepository.findById(tenantId)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + tenantId));
+
+        // One extra row tells whether there is a next page
+        List<TenantUsers> found = tenantUserRepository.search(tenantId, trimmed, MAX_SEARCH_CANDIDATES, page * size, size + 1);
+        boolean hasMore = found.size() > size;
+        List<TenantUserResponse> users = found.stream()
+            .limit(size)
+            .map(TenantUserResponse::fromEntity)
+            .toList();
+        return new TenantUserSearchResponse(users, page, size, hasMore);
+    }
+
+    /**
+     * Version of the tenant's member list, without loading the members.
+     */
+    public ResourceVersion getTenantUsersVersion(UUID tenantId) {
+        return tenantStatsRepository.findMemberVersion(tenantId)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + tenantId));
+    }
+
+    public ResourceVersion getTenantUserVersion(UUID userId) {
+        return tenantUserRepository.findVersionById(userId)
+            .orElseThrow(() -> new TenantUserNotFoundException("Tenant user not found with id: " + userId));
+    }
+
     public List<TenantUserResponse> getAllTenantUsers() {
         return tenantUserRepository.findAll()
             .stream()
@@ -82,33 +203,218 @@ public class TenantUserService {
     }
 
     @Transactional
-    public TenantUserResponse updateTenantUser(UUID userId, UpdateTenantUserRequest request) {
+    public TenantUserResponse updateTenantUser(PlatformUserPrincipal principal, UUID userId, UpdateTenantUserRequest request) {
         TenantUsers existingUser = tenantUserRepository.findById(userId)
             .orElseThrow(() -> new TenantUserNotFoundException("Tenant user not found with id: " + userId));
 
         String firstName = request.firstName() != null ? request.firstName() : existingUser.getFirstName();
         String lastName = request.lastName() != null ? request.lastName() : existingUser.getLastName();
 
-        TenantUsers updated = tenantUserRepository.update(userId, firstName, lastName)
+        TenantUsers updated = tenantUserRepository.update(userId, firstName, lastName, principal.id())
             .orElseThrow(() -> new RuntimeException("Failed to update tenant user"));
+        tenantStatsRepository.touchMembers(updated.getTenantId());
+        List<String> changes = new ArrayList<>();
+        if (!Objects.equals(firstName, existingUser.getFirstName())) {
+            changes.add("firstName: " + existingUser.getFirstName() + " -> " + firstName);
+        }
+        if (!Objects.equals(lastName, existingUser.getLastName())) {
+            changes.add("lastName: " + existingUser.getLastName() + " -> " + lastName);
+        }
+        auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.UPDATED, userId, updated.getTenantId(),
+            principal.id(), String.join(", ", changes));
+        publish(ChangeEvent.Action.UPDATED, userId, updated.getTenantId(), principal.id());
 
         return TenantUserResponse.fromEntity(updated);
     }
 
     @Transactional
-    public void deleteTenantUser(UUID userId) {
-        if (!tenantUserRepository.findById(userId).isPresent()) {
-            throw new TenantUserNotFoundException("Tenant user not found with id: " + userId);
-        }
+    public void deleteTenantUser(PlatformUserPrincipal principal, UUID userId) {
+        TenantUsers user = tenantUserRepository.findById(userId)
+            .orElseThrow(() -> new TenantUserNotFoundException("Tenant user not found with id: " + userId));
 
         boolean deleted = tenantUserRepository.delete(userId);
         if (!deleted) {
             throw new RuntimeException("Failed to delete tenant user");
         }
+        tenantStatsRepository.addMembers(user.getTenantId(), -1);
+        signOut(List.of(userId), principal.id());
+        syncService.recordTenantUserDeleted(userId, user.getTenantId(), principal.id());
+        dashboardStatsService.recordMemberChange();
+        auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.DELETED, userId, user.getTenantId(),
+            principal.id(), "email: " + user.getEmail());
+        publish(ChangeEvent.Action.DELETED, userId, user.getTenantId(), principal.id());
+    }
+
+    /**
+     * Sets the status of the members given by id, or of the members matching the filter, with one
+     * {@code UPDATE} per chunk of 500. Members leaving {@code ACTIVE} are signed out.
+     * Each chunk is its own transaction, so a failure leaves earlier chunks applied; repeating
+     * the request is safe.
+     */
+    public BulkTenantUserResponse changeTenantUserStatus(PlatformUserPrincipal principal, UUID tenantId, BulkTenantUserStatusRequest request) {
+        requireBulkSelection(request.ids(), request.filter());
+        tenantRepository.findById(tenantId)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + tenantId));
+
+        String status = request.status();
+        return runInChunks(request.ids(),
+            limit -> tenantUserRepository.lockIdsByFilter(tenantId, request.filter(), status, limit),
+            ids -> changeStatusChunk(principal, tenantId, ids, status));
+    }
+
+    /**
+     * Deletes the members given by id, or the members matching the filter, with one
+     * {@code DELETE ... RETURNING} per chunk of 500, together with their sessions, sync
+     * tombstones and counter update. Chunks are committed one by one like status changes.
+     */
+    public BulkTenantUserResponse deleteTenantUsers(PlatformUserPrincipal principal, UUID tenantId, BulkTenantUserDeleteRequest request) {
+        requireBulkSelection(request.ids(), request.filter());
+        tenantRepository.findById(tenantId)
+            .orElseThrow(() -> new TenantNotFoundException("Tenant not found with id: " + tenantId));
+
+        return runInChunks(request.ids(),
+            limit -> tenantUserRepository.lockIdsByFilter(tenantId, request.filter(), null, limit),
+            ids -> deleteChunk(principal, tenantId, ids));
+    }
+
+    private static void requireBulkSelection(List<UUID> ids, TenantUserFilter filter) {
+        if ((ids == null) == (filter == null)) {
+            throw new InvalidBulkRequestException("Either ids or filter must be given");
+        }
+        if (filter != null) {
+            // An empty filter would select every member of the tenant
+            if (filter.isEmpty()) {
+                throw new InvalidBulkRequestException("Filter must have at least one criterion");
+            }
+            if (filter.createdFrom() != null && filter.createdTo() != null && !filter.createdFrom().isBefore(filter.createdTo())) {
+                throw new InvalidBulkRequestException("createdFrom must be before createdTo");
+            }
+        }
+    }
+
+    /**
+     * Applies {@code apply} to the given ids, or to the ids {@code nextMatches} returns until it
+     * runs dry, one chunk per transaction. Filters stop after {@code MAX_BULK_FILTER_MATCHES}
+     * members so one request cannot run for long.
+     */
+    private BulkTenantUserResponse runInChunks(
+        List<UUID> ids,
+        IntFunction<List<UUID>> nextMatches,
+        Function<List<UUID>, List<BulkTenantUserResponse.Result>> apply
+    ) {
+        List<BulkTenantUserResponse.Result> results = new ArrayList<>();
+        if (ids != null) {
+            List<UUID> distinct = List.copyOf(new LinkedHashSet<>(ids));
+            for (int i = 0; i < distinct.size(); i += BULK_CHUNK_SIZE) {
+                List<UUID> chunk = distinct.subList(i, Math.min(distinct.size(), i + BULK_CHUNK_SIZE));
+                results.addAll(transactionTemplate.execute(status -> apply.apply(chunk)));
+            }
+            return BulkTenantUserResponse.of(results, true);
+        }
+        while (results.size() < MAX_BULK_FILTER_MATCHES) {
+            int limit = Math.min(BULK_CHUNK_SIZE, MAX_BULK_FILTER_MATCHES - results.size());
+            List<BulkTenantUserResponse.Result> chunk = transactionTemplate.execute(status -> apply.apply(nextMatches.apply(limit)));
+            results.addAll(chunk);
+            if (chunk.size() < limit) {
+                return BulkTenantUserResponse.of(results, true);
+            }
+        }
+        return BulkTenantUserResponse.of(results, false);
+    }
+
+    private List<BulkTenantUserResponse.Result> changeStatusChunk(PlatformUserPrincipal principal, UUID tenantId, List<UUID> ids, String status) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> updated = tenantUserRepository.updateStatusByIds(tenantId, ids, status, principal.id());
+        Set<UUID> updatedIds = new HashSet<>(updated);
+        List<UUID> rest = ids.stream().filter(id -> !updatedIds.contains(id)).toList();
+        // Tells members already in the status apart from ids that are not members of the tenant
+        Set<UUID> unchanged = rest.isEmpty()
+            ? Set.of()
+            : new HashSet<>(tenantUserRepository.findIdsByTenantIdAndIds(tenantId, rest));
+
+        if (!updated.isEmpty()) {
+            tenantStatsRepository.touchMembers(tenantId);
+            if (!"ACTIVE".equals(status)) {
+                signOut(updated, principal.id());
+            }
+            dashboardStatsService.recordMemberChanges(updated.size());
+            for (UUID userId : updated) {
+                auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.UPDATED, userId, tenantId,
+                    principal.id(), "status: " + status);
+            }
+            publishAll(ChangeEvent.Action.UPDATED, updated, tenantId, principal.id());
+        }
+        return ids.stream()
+            .map(id -> new BulkTenantUserResponse.Result(id,
+                updatedIds.contains(id) ? BulkTenantUserResponse.Outcome.UPDATED
+                    : unchanged.contains(id) ? BulkTenantUserResponse.Outcome.UNCHANGED
+                    : BulkTenantUserResponse.Outcome.NOT_FOUND))
+            .toList();
+    }
+
+    private List<BulkTenantUserResponse.Result> deleteChunk(PlatformUserPrincipal principal, UUID tenantId, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<TenantUsers> deleted = tenantUserRepository.deleteByTenantIdAndIds(tenantId, ids);
+        List<UUID> deletedIds = deleted.stream().map(TenantUsers::getId).toList();
+
+        if (!deleted.isEmpty()) {
+            signOut(deletedIds, principal.id());
+            tenantStatsRepository.addMembers(tenantId, -deleted.size());
+            syncService.recordTenantUsersDeleted(deletedIds, tenantId, principal.id());
+            dashboardStatsService.recordMemberChanges(deleted.size());
+            for (TenantUsers user : deleted) {
+                auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.DELETED, user.getId(), tenantId,
+                    principal.id(), "email: " + user.getEmail());
+            }
+            publishAll(ChangeEvent.Action.DELETED, deletedIds, tenantId, principal.id());
+        }
+        Set<UUID> deletedSet = new HashSet<>(deletedIds);
+        return ids.stream()
+            .map(id -> new BulkTenantUserResponse.Result(id, deletedSet.contains(id)
+                ? BulkTenantUserResponse.Outcome.DELETED
+                : BulkTenantUserResponse.Outcome.NOT_FOUND))
+            .toList();
     }
 
     public long countUsersByTenant(UUID tenantId) {
-        return tenantUserRepository.countByTenantId(tenantId);
+        return userCountReads.execute(tenantId, () -> tenantStatsRepository.findMemberCount(tenantId)
+            .orElseGet(() -> tenantUserRepository.countByTenantId(tenantId)));
+    }
+
+    private void publish(ChangeEvent.Action action, UUID userId, UUID tenantId, UUID currentUserId) {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Entity.TENANT_USER, action, userId, tenantId);
+        if (changeEventPublisher != null) {
+            changeEventPublisher.publish(event);
+        }
+        if (outbox != null) {
+            outbox.add(event, currentUserId);
+        }
+    }
+
+    /**
+     * Deletes the sessions of the given members and, in stateless mode, revokes their tokens.
+     */
+    private void signOut(List<UUID> userIds, UUID signedOutBy) {
+        sessionControl.expireAll(CustomUserDetails.UserType.TENANT, userIds);
+        if (tokenService != null) {
+            tokenService.revokeUsers(userIds, signedOutBy);
+        }
+    }
+
+    private void publishAll(ChangeEvent.Action action, List<UUID> userIds, UUID tenantId, UUID currentUserId) {
+        List<ChangeEvent> events = userIds.stream()
+            .map(id -> new ChangeEvent(ChangeEvent.Entity.TENANT_USER, action, id, tenantId))
+            .toList();
+        if (changeEventPublisher != null) {
+            changeEventPublisher.publishAll(events);
+        }
+        if (outbox != null) {
+            outbox.addAll(events, currentUserId);
+        }
     }
 
     // Exception classes
@@ -124,6 +430,18 @@ public class TenantUserService {
         }
     }
 
+    public static class InvalidSearchException extends RuntimeException {
+        public InvalidSearchException(String message) {
+            super(message);
+        }
+    }
+
+    public static class InvalidBulkRequestException extends RuntimeException {
+        public InvalidBulkRequestException(String message) {
+            super(message);
+        }
+    }
+
     public static class TenantNotFoundException extends RuntimeException {
         public TenantNotFoundException(String message) {
             super(message);
@@ -0,0 +1,18 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either {@code ids} or {@code filter} selects the members to delete.
+ */
+public record BulkTenantUserDeleteRequest(
+    @Size(min = 1, max = 1000, message = "Between 1 and 1000 ids can be given")
+    List<UUID> ids,
+
+    @Valid
+    TenantUserFilter filter
+) {}
\ No newline at end of file
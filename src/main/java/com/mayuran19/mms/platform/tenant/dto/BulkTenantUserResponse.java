@@ -0,0 +1,30 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk operation for every selected member. {@code complete} is false when a filter
+ * matched more members than one request handles; repeating the request continues with the rest.
+ */
+public record BulkTenantUserResponse(
+    List<Result> results,
+    long succeeded,
+    boolean complete
+) {
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        DELETED,
+        NOT_FOUND
+    }
+
+    public record Result(UUID id, Outcome outcome) {}
+
+    public static BulkTenantUserResponse of(List<Result> results, boolean complete) {
+        long succeeded = results.stream()
+            .filter(r -> r.outcome() == Outcome.UPDATED || r.outcome() == Outcome.DELETED)
+            .count();
+        return new BulkTenantUserResponse(results, succeeded, complete);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either {@code ids} or {@code filter} selects the members whose status is set.
+ */
+public record BulkTenantUserStatusRequest(
+    @Size(min = 1, max = 1000, message = "Between 1 and 1000 ids can be given")
+    List<UUID> ids,
+
+    @Valid
+    TenantUserFilter filter,
+
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "^(ACTIVE|INACTIVE|SUSPENDED)$", message = "Status must be ACTIVE, INACTIVE, or SUSPENDED")
+    String status
+) {}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import com.mayuran19.mms.platform.tenant.TenantDeletionRepository.TenantDeletion;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record TenantDeletionResponse(
+    UUID tenantId,
+    String slug,
+    String status,
+    long membersTotal,
+    long membersDeleted,
+    long sessionsDeleted,
+    UUID requestedBy,
+    OffsetDateTime requestedDate,
+    OffsetDateTime completedDate
+) {
+    public static TenantDeletionResponse fromDeletion(TenantDeletion deletion) {
+        return new TenantDeletionResponse(
+            deletion.tenantId(),
+            deletion.slug(),
+            deletion.completedDate() != null ? "COMPLETED" : "IN_PROGRESS",
+            deletion.membersTotal(),
+            deletion.membersDeleted(),
+            deletion.sessionsDeleted(),
+            deletion.requestedBy(),
+            deletion.requestedDate(),
+            deletion.completedDate()
+        );
+    }
+}
\ No newline at end of file
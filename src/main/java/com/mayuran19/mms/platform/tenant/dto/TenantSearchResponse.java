@@ -0,0 +1,9 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import java.util.List;
+
+public record TenantSearchResponse(
+    List<TenantResponse> tenants,
+    String nextCursor,
+    boolean hasMore
+) {}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import jakarta.validation.constraints.Pattern;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Selects a tenant's members for a bulk operation; set criteria are combined with AND.
+ * {@code createdFrom} is inclusive and {@code createdTo} exclusive.
+ */
+public record TenantUserFilter(
+    @Pattern(regexp = "^(ACTIVE|INACTIVE|SUSPENDED)$", message = "Status must be ACTIVE, INACTIVE, or SUSPENDED")
+    String status,
+
+    OffsetDateTime createdFrom,
+
+    OffsetDateTime createdTo
+) {
+    public boolean isEmpty() {
+        return status == null && createdFrom == null && createdTo == null;
+    }
+}
\ No newline at end of file
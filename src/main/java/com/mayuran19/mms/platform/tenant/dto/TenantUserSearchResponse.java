@@ -0,0 +1,10 @@
+package com.mayuran19.mms.platform.tenant.dto;
+
+import java.util.List;
+
+public record TenantUserSearchResponse(
+    List<TenantUserResponse> users,
+    int page,
+    int size,
+    boolean hasMore
+) {}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.mayuran19.mms.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Principal held by an authenticated {@code SecurityContext}. {@link CustomUserDetails} is only
+ * used while authenticating; once the password has been verified it is replaced by this object
+ * (see {@link CustomAuthenticationProvider}), so the session never carries the password hash and
+ * each request deserializes a handful of fields.
+ * <p>
+ * Authorities are the shared per-type list and the controller-facing principal view is built once
+ * per instance, so resolving the current user on a request does not allocate. Only the five
+ * identity fields are serialized; the view is rebuilt in {@link #readResolve()}.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final UUID id;
+    private final CustomUserDetails.UserType userType;
+    private final UUID tenantId;
+    private final String username;
+    private final String email;
+
+    private final transient PlatformUserPrincipal platformUserPrincipal;
+    private final transient TenantUserPrincipal tenantUserPrincipal;
+
+    public AuthenticatedUser(UUID id, CustomUserDetails.UserType userType, UUID tenantId, String username, String email) {
+        this.id = id;
+        this.userType = userType;
+        this.tenantId = tenantId;
+        this.username = username;
+        this.email = email;
+        this.platformUserPrincipal = userType == CustomUserDetails.UserType.PLATFORM
+            ? new PlatformUserPrincipal(id, username, email)
+            : null;
+        this.tenantUserPrincipal = userType == CustomUserDetails.UserType.TENANT && tenantId != null
+            ? new TenantUserPrincipal(id, tenantId, username, email)
+            : null;
+    }
+
+    public static AuthenticatedUser from(CustomUserDetails userDetails) {
+        return new AuthenticatedUser(
+            userDetails.getId(),
+            userDetails.getUserType(),
+            userDetails.getTenantId(),
+            userDetails.getUsername(),
+            userDetails.getEmail()
+        );
+    }
+
+    public UUID id() {
+        return id;
+    }
+
+    public CustomUserDetails.UserType userType() {
+        return userType;
+    }
+
+    public UUID tenantId() {
+        return tenantId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String email() {
+        return email;
+    }
+
+    public Collection<GrantedAuthority> authorities() {
+        return userType.authorities();
+    }
+
+    public PlatformUserPrincipal platformUserPrincipal() {
+        if (platformUserPrincipal == null) {
+            throw new IllegalArgumentException("User is not a platform user");
+        }
+        return platformUserPrincipal;
+    }
+
+    public TenantUserPrincipal tenantUserPrincipal() {
+        if (userType != CustomUserDetails.UserType.TENANT) {
+            throw new IllegalArgumentException("User is not a tenant user");
+        }
+        if (tenantUserPrincipal == null) {
+            throw new IllegalArgumentException("Tenant ID is required for tenant user");
+        }
+        return tenantUserPrincipal;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return new AuthenticatedUser(id, userType, tenantId, username, email);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", userType=" + userType + ", tenantId=" + tenantId + ", username=" + username + "]";
+    }
+}
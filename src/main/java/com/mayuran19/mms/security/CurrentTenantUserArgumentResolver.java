@@ -1,5 +1,6 @@
 package com.mayuran19.mms.security;
 
+import com.mayuran19.mms.observability.jfr.PrincipalResolutionEvent;
 import org.springframework.core.MethodParameter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +24,19 @@ public class CurrentTenantUserArgumentResolver implements HandlerMethodArgumentR
             NativeWebRequest webRequest,
             WebDataBinderFactory binderFactory
     ) {
+        PrincipalResolutionEvent event = new PrincipalResolutionEvent();
+        event.begin();
+        event.principalType = CustomUserDetails.UserType.TENANT.name();
+        try {
+            TenantUserPrincipal principal = resolvePrincipal();
+            event.resolved = true;
+            return principal;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private TenantUserPrincipal resolvePrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -31,10 +45,10 @@ public class CurrentTenantUserArgumentResolver implements HandlerMethodArgumentR
 
         Object principal = authentication.getPrincipal();
 
-        if (!(principal instanceof CustomUserDetails userDetails)) {
-            throw new IllegalStateException("Principal is not of type CustomUserDetails");
+        if (!(principal instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException("Principal is not of type AuthenticatedUser");
         }
 
-        return TenantUserPrincipal.from(userDetails);
+        return TenantUserPrincipal.from(user);
     }
 }
\ No newline at end of file
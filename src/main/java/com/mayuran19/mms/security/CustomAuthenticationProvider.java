@@ -0,0 +1,27 @@
+package com.mayuran19.mms.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Username/password authentication that returns an {@link AuthenticatedUser} principal instead of
+ * the loaded {@link CustomUserDetails}, dropping the password hash from the resulting
+ * authentication and everything it is saved into.
+ */
+public class CustomAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public CustomAuthenticationProvider(CustomUserDetailsService userDetailsService) {
+        super(userDetailsService);
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        Authentication result = super.createSuccessAuthentication(principal, authentication, user);
+        UsernamePasswordAuthenticationToken lean = UsernamePasswordAuthenticationToken.authenticated(
+            AuthenticatedUser.from((CustomUserDetails) user), null, result.getAuthorities());
+        lean.setDetails(result.getDetails());
+        return lean;
+    }
+}
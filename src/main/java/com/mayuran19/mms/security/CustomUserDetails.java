@@ -31,10 +31,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return switch (userType) {
-            case PLATFORM -> List.of(new SimpleGrantedAuthority("ROLE_PLATFORM_USER"));
-            case TENANT -> List.of(new SimpleGrantedAuthority("ROLE_TENANT_USER"));
-        };
+        return userType.authorities();
     }
 
     @Override
@@ -84,7 +81,20 @@ public class CustomUserDetails implements UserDetails {
     }
 
     public enum UserType {
-        PLATFORM,
-        TENANT
+        PLATFORM("ROLE_PLATFORM_USER"),
+        TENANT("ROLE_TENANT_USER");
+
+        private final List<GrantedAuthority> authorities;
+
+        UserType(String role) {
+            this.authorities = List.of(new SimpleGrantedAuthority(role));
+        }
+
+        /**
+         * Immutable authority list shared by every user of this type.
+         */
+        public List<GrantedAuthority> authorities() {
+            return authorities;
+        }
     }
 }
\ No newline at end of file
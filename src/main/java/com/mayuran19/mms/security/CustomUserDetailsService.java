@@ -2,7 +2,11 @@ package com.mayuran19.mms.security;
 
 import com.mayuran19.mms.jooq.tables.pojos.PlatformUsers;
 import com.mayuran19.mms.jooq.tables.pojos.TenantUsers;
+import com.mayuran19.mms.observability.jfr.UserLookupEvent;
+import com.mayuran19.mms.platform.tenant.TenantRepository;
+import com.mayuran19.mms.security.bloom.KnownUserFilter;
 import org.jooq.DSLContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,27 +19,48 @@ import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final DSLContext dsl;
+    private final KnownUserFilter knownUserFilter;
 
-    public CustomUserDetailsService(DSLContext dsl) {
+    public CustomUserDetailsService(DSLContext dsl, ObjectProvider<KnownUserFilter> knownUserFilter) {
         this.dsl = dsl;
+        this.knownUserFilter = knownUserFilter.getIfAvailable();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        if (username.contains("@tenant:")) {
-            return loadTenantUser(username);
-        } else {
-            return loadPlatformUser(username);
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        try {
+            UserDetails user;
+            if (username.contains("@tenant:")) {
+                event.userType = CustomUserDetails.UserType.TENANT.name();
+                event.tenantSlug = username.substring(username.indexOf("@tenant:") + "@tenant:".length());
+                user = loadTenantUser(username);
+            } else {
+                event.userType = CustomUserDetails.UserType.PLATFORM.name();
+                user = loadPlatformUser(username);
+            }
+            event.found = true;
+            return user;
+        } finally {
+            event.commit();
         }
     }
 
     private UserDetails loadPlatformUser(String username) throws UsernameNotFoundException {
+        // Unknown users are rejected before the database is touched. The authentication provider
+        // still hashes the supplied password, so the response time does not reveal which case it was.
+        if (knownUserFilter != null && !knownUserFilter.mightContainPlatformUser(username)) {
+            throw new UsernameNotFoundException("Platform user not found: " + username);
+        }
+
         PlatformUsers user = dsl.selectFrom(PLATFORM_USERS)
                 .where(PLATFORM_USERS.USERNAME.eq(username)
                         .or(PLATFORM_USERS.EMAIL.eq(username)))
                 .fetchOneInto(PlatformUsers.class);
 
         if (user == null) {
+            recordFalsePositive();
             throw new UsernameNotFoundException("Platform user not found: " + username);
         }
 
@@ -59,15 +84,22 @@ public class CustomUserDetailsService implements UserDetailsService {
         String email = parts[0];
         String tenantSlug = parts[1];
 
+        if (knownUserFilter != null && !knownUserFilter.mightContainTenantUser(tenantSlug, email)) {
+            throw new UsernameNotFoundException("Tenant user not found: " + username);
+        }
+
         TenantUsers user = dsl.select(TENANT_USERS.fields())
                 .from(TENANT_USERS)
                 .join(com.mayuran19.mms.jooq.Tables.TENANTS)
                 .on(TENANT_USERS.TENANT_ID.eq(com.mayuran19.mms.jooq.Tables.TENANTS.ID))
                 .where(TENANT_USERS.EMAIL.eq(email)
-                        .and(com.mayuran19.mms.jooq.Tables.TENANTS.SLUG.eq(tenantSlug)))
+                        .and(com.mayuran19.mms.jooq.Tables.TENANTS.SLUG.eq(tenantSlug))
+                        // Members of a deleted tenant cannot log in while they are being purged
+                        .and(com.mayuran19.mms.jooq.Tables.TENANTS.STATUS.ne(TenantRepository.STATUS_DELETING)))
                 .fetchOneInto(TenantUsers.class);
 
         if (user == null) {
+            recordFalsePositive();
             throw new UsernameNotFoundException("Tenant user not found: " + username);
         }
 
@@ -83,4 +115,10 @@ public class CustomUserDetailsService implements UserDetailsService {
                 active
         );
     }
+
+    private void recordFalsePositive() {
+        if (knownUserFilter != null) {
+            knownUserFilter.recordFalsePositive();
+        }
+    }
 }
\ No newline at end of file
@@ -7,14 +7,7 @@ public record PlatformUserPrincipal(
     String username,
     String email
 ) {
-    public static PlatformUserPrincipal from(CustomUserDetails userDetails) {
-        if (userDetails.getUserType() != CustomUserDetails.UserType.PLATFORM) {
-            throw new IllegalArgumentException("User is not a platform user");
-        }
-        return new PlatformUserPrincipal(
-            userDetails.getId(),
-            userDetails.getUsername(),
-            userDetails.getEmail()
-        );
+    public static PlatformUserPrincipal from(AuthenticatedUser user) {
+        return user.platformUserPrincipal();
     }
 }
\ No newline at end of file
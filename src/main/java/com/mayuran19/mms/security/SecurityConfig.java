@@ -1,6 +1,10 @@
 package com.mayuran19.mms.security;
 
+import com.mayuran19.mms.observability.jfr.InstrumentedPasswordEncoder;
+import com.mayuran19.mms.security.token.TokenAuthenticationFilter;
+import com.mayuran19.mms.security.token.TokenService;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +16,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -19,9 +24,11 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final TokenService tokenService;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, ObjectProvider<TokenService> tokenService) {
         this.userDetailsService = userDetailsService;
+        this.tokenService = tokenService.getIfAvailable();
     }
 
     @Bean
@@ -30,14 +37,18 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/platform/login", "/api/auth/platform/logout").permitAll()
                 .requestMatchers("/api/auth/tenant/login", "/api/auth/tenant/logout").permitAll()
+                // Actuator is served only on management.server.port, which stays internal
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                 .requestMatchers("/api/platform/**").hasRole("PLATFORM_USER")
                 .requestMatchers("/api/tenant/**").hasRole("TENANT_USER")
                 .anyRequest().authenticated()
             )
+            // Concurrent sessions are limited at login by ConcurrentSessionControl against the
+            // shared session store; Spring Security's node-local registry is not used.
             .sessionManagement(session -> session
-                .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
-                .maximumSessions(1)
-                .maxSessionsPreventsLogin(false)
+                .sessionCreationPolicy(tokenService != null
+                    ? SessionCreationPolicy.STATELESS
+                    : SessionCreationPolicy.IF_REQUIRED)
             )
             .exceptionHandling(exception -> exception
                 .authenticationEntryPoint((request, response, authException) -> {
@@ -47,14 +58,25 @@ public class SecurityConfig {
                 })
             )
             .csrf(csrf -> csrf.disable())
-            .userDetailsService(userDetailsService);
+            .authenticationProvider(authenticationProvider());
+
+        if (tokenService != null) {
+            http.addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+        }
 
         return http.build();
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder());
+    }
+
+    @Bean
+    public CustomAuthenticationProvider authenticationProvider() {
+        CustomAuthenticationProvider provider = new CustomAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder());
+        return provider;
     }
 
     @Bean
@@ -8,18 +8,7 @@ public record TenantUserPrincipal(
     String username,
     String email
 ) {
-    public static TenantUserPrincipal from(CustomUserDetails userDetails) {
-        if (userDetails.getUserType() != CustomUserDetails.UserType.TENANT) {
-            throw new IllegalArgumentException("User is not a tenant user");
-        }
-        if (userDetails.getTenantId() == null) {
-            throw new IllegalArgumentException("Tenant ID is required for tenant user");
-        }
-        return new TenantUserPrincipal(
-            userDetails.getId(),
-            userDetails.getTenantId(),
-            userDetails.getUsername(),
-            userDetails.getEmail()
-        );
+    public static TenantUserPrincipal from(AuthenticatedUser user) {
+        return user.tenantUserPrincipal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.mayuran19.mms.security.bloom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Bloom filter of every login key (tenant slug + email for tenant users, username and email for
+ * platform users) used to reject logins for users that certainly do not exist without querying
+ * the database. A miss is definite; a hit still goes to the database.
+ * <p>
+ * The filter is built in full on start-up and every {@code rebuild-interval}, users created on
+ * this node are added immediately, and users created on other nodes are picked up every
+ * {@code sync-interval}. Until the first build completes every key is reported as possibly
+ * present, so the filter can only ever let a lookup through, never block a real user.
+ */
+public class KnownUserFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(KnownUserFilter.class);
+
+    // Overlap between syncs so rows committed late by a slow transaction are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final KnownUserRepository repository;
+    private final KnownUserFilterProperties properties;
+    private final Counter rejected;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    // Filter under construction; concurrent adds go to both so none are lost at the swap
+    private volatile BloomFilter building;
+    private volatile OffsetDateTime lastSync;
+
+    public KnownUserFilter(KnownUserRepository repository, KnownUserFilterProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.rejected = Counter.builder("mms.auth.known_users")
+            .description("Logins answered by the known user filter without a database lookup")
+            .tag("outcome", "rejected")
+            .register(registry);
+        this.falsePositives = Counter.builder("mms.auth.known_users")
+            .description("Logins answered by the known user filter without a database lookup")
+            .tag("outcome", "false_positive")
+            .register(registry);
+        Gauge.builder("mms.auth.known_users.expected_fpp", this, KnownUserFilter::expectedFalsePositiveRate)
+            .description("False positive rate expected from the current fill of the known user filter")
+            .register(registry);
+    }
+
+    public boolean mightContainTenantUser(String tenantSlug, String email) {
+        return mightContain(tenantKey(tenantSlug, email));
+    }
+
+    public boolean mightContainPlatformUser(String usernameOrEmail) {
+        return mightContain(platformKey(usernameOrEmail));
+    }
+
+    public void addTenantUser(String tenantSlug, String email) {
+        add(tenantKey(tenantSlug, email));
+    }
+
+    public void addPlatformUser(String username, String email) {
+        add(platformKey(username));
+        add(platformKey(email));
+    }
+
+    /**
+     * Records that a key reported as possibly present was not found in the database.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mms.auth.known-users.rebuild-interval:1h}")
+    public void rebuild() {
+        OffsetDateTime started = OffsetDateTime.now();
+        long expected = Math.max(properties.minExpectedEntries(), 2 * repository.countKeys());
+        BloomFilter next = BloomFilter.create(expected, properties.falsePositiveRate());
+        building = next;
+        try {
+            repository.forEachTenantUser(null, user -> next.put(tenantKey(user.value1(), user.value2())));
+            repository.forEachPlatformUser(null, user -> {
+                next.put(platformKey(user.value1()));
+                next.put(platformKey(user.value2()));
+            });
+            filter = next;
+            lastSync = started;
+        } finally {
+            building = null;
+        }
+        log.info("Known user filter rebuilt with {} keys ({} KiB) in {} ms", next.entries(), next.sizeInBytes() / 1024,
+            Duration.between(started, OffsetDateTime.now()).toMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${mms.auth.known-users.sync-interval:5s}")
+    public void sync() {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        OffsetDateTime started = OffsetDateTime.now();
+        OffsetDateTime since = lastSync.minus(SYNC_OVERLAP);
+        repository.forEachTenantUser(since, user -> addTenantUser(user.value1(), user.value2()));
+        repository.forEachPlatformUser(since, user -> addPlatformUser(user.value1(), user.value2()));
+        lastSync = started;
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        if (current == null || current.mightContain(key)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void add(String key) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 0;
+    }
+
+    private static String tenantKey(String tenantSlug, String email) {
+        return "T\0" + tenantSlug + "\0" + email;
+    }
+
+    private static String platformKey(String usernameOrEmail) {
+        return "P\0" + usernameOrEmail;
+    }
+}
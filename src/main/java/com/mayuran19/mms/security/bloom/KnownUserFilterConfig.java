@@ -0,0 +1,18 @@
+package com.mayuran19.mms.security.bloom;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(KnownUserFilterProperties.class)
+@ConditionalOnProperty(prefix = "mms.auth.known-users", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class KnownUserFilterConfig {
+
+    @Bean
+    public KnownUserFilter knownUserFilter(KnownUserRepository repository, KnownUserFilterProperties properties, MeterRegistry meterRegistry) {
+        return new KnownUserFilter(repository, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mayuran19.mms.security.bloom;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled             consult the filter before looking users up in the database
+ * @param falsePositiveRate   target false positive rate at the sized capacity
+ * @param minExpectedEntries  lower bound on the capacity a rebuild sizes the filter for
+ * @param syncInterval        how often users created on other nodes are added
+ * @param rebuildInterval     how often the filter is rebuilt from scratch, dropping deleted users
+ *                            and resizing for growth
+ */
+@ConfigurationProperties(prefix = "mms.auth.known-users")
+public record KnownUserFilterProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0.01") double falsePositiveRate,
+    @DefaultValue("100000") long minExpectedEntries,
+    @DefaultValue("5s") Duration syncInterval,
+    @DefaultValue("1h") Duration rebuildInterval
+) {}
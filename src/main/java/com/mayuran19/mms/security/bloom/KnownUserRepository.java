@@ -0,0 +1,72 @@
+package com.mayuran19.mms.security.bloom;
+
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+import static com.mayuran19.mms.jooq.Tables.PLATFORM_USERS;
+import static com.mayuran19.mms.jooq.Tables.TENANTS;
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+
+/**
+ * Streams the login keys of all users, or of users created since a point in time, without
+ * materialising whole rows.
+ */
+@Repository
+public class KnownUserRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final DSLContext dsl;
+
+    public KnownUserRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    /**
+     * Number of keys a full rebuild adds: one per tenant user, two (username and email) per
+     * platform user.
+     */
+    public long countKeys() {
+        return dsl.fetchCount(TENANT_USERS) + 2L * dsl.fetchCount(PLATFORM_USERS);
+    }
+
+    /**
+     * Passes (tenant slug, email) of each tenant user created at or after {@code createdSince},
+     * or of all tenant users if it is null.
+     */
+    public void forEachTenantUser(OffsetDateTime createdSince, Consumer<Record2<String, String>> action) {
+        Condition condition = createdSince != null ? TENANT_USERS.CREATED_DATE.ge(createdSince) : DSL.noCondition();
+        // PostgreSQL only honours the fetch size inside a transaction
+        dsl.transaction(configuration -> {
+            try (Cursor<Record2<String, String>> cursor = configuration.dsl()
+                    .select(TENANTS.SLUG, TENANT_USERS.EMAIL)
+                    .from(TENANT_USERS)
+                    .join(TENANTS).on(TENANT_USERS.TENANT_ID.eq(TENANTS.ID))
+                    .where(condition)
+                    .fetchSize(FETCH_SIZE)
+                    .fetchLazy()) {
+                cursor.forEach(action);
+            }
+        });
+    }
+
+    /**
+     * Passes (username, email) of each platform user created at or after {@code createdSince},
+     * or of all platform users if it is null.
+     */
+    public void forEachPlatformUser(OffsetDateTime createdSince, Consumer<Record2<String, String>> action) {
+        Condition condition = createdSince != null ? PLATFORM_USERS.CREATED_DATE.ge(createdSince) : DSL.noCondition();
+        dsl.select(PLATFORM_USERS.USERNAME, PLATFORM_USERS.EMAIL)
+            .from(PLATFORM_USERS)
+            .where(condition)
+            .fetch()
+            .forEach(action);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mayuran19.mms.security.session;
+
+import com.mayuran19.mms.security.AuthenticatedUser;
+import com.mayuran19.mms.security.CustomUserDetails;
+import org.jooq.DSLContext;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION;
+
+/**
+ * Enforces the per-principal session limit directly on the JDBC session store, so it holds across
+ * all nodes. Prior sessions are expired with one {@code DELETE} served by
+ * {@code idx_spring_session_principal_name}; their attributes go with the cascading foreign key.
+ */
+@Component
+@EnableConfigurationProperties(ConcurrentSessionProperties.class)
+public class ConcurrentSessionControl {
+
+    private final DSLContext dsl;
+    private final ConcurrentSessionProperties properties;
+
+    public ConcurrentSessionControl(DSLContext dsl, ConcurrentSessionProperties properties) {
+        this.dsl = dsl;
+        this.properties = properties;
+    }
+
+    /**
+     * Value stored in the session's principal name index. Tenant user emails are only unique
+     * within a tenant, so the user id is used instead of the username.
+     */
+    public static String principalName(AuthenticatedUser user) {
+        return principalName(user.userType(), user.id());
+    }
+
+    public static String principalName(CustomUserDetails.UserType userType, UUID userId) {
+        return userType.name() + ":" + userId;
+    }
+
+    /**
+     * Called when {@code principalName} logs in with {@code currentSessionId}. Keeps the most
+     * recently used {@code maximumSessions - 1} other sessions and deletes the rest.
+     *
+     * @return number of sessions expired
+     */
+    public int onLogin(String principalName, String currentSessionId) {
+        if (properties.maximumSessions() <= 0) {
+            return 0;
+        }
+        return dsl.deleteFrom(SPRING_SESSION)
+            .where(SPRING_SESSION.PRIMARY_ID.in(
+                dsl.select(SPRING_SESSION.PRIMARY_ID)
+                    .from(SPRING_SESSION)
+                    .where(SPRING_SESSION.PRINCIPAL_NAME.eq(principalName))
+                    .and(SPRING_SESSION.SESSION_ID.ne(currentSessionId))
+                    .orderBy(SPRING_SESSION.LAST_ACCESS_TIME.desc())
+                    .offset(properties.maximumSessions() - 1)
+            ))
+            .execute();
+    }
+
+    /**
+     * Deletes every session of the given users, e.g. when they are suspended or deleted.
+     *
+     * @return number of sessions deleted
+     */
+    public int expireAll(CustomUserDetails.UserType userType, Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return dsl.deleteFrom(SPRING_SESSION)
+            .where(SPRING_SESSION.PRINCIPAL_NAME.in(userIds.stream().map(id -> principalName(userType, id)).toList()))
+            .execute();
+    }
+}
@@ -0,0 +1,13 @@
+package com.mayuran19.mms.security.session;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maximumSessions sessions a principal may hold at once; older ones are expired at login.
+ *                        Zero or less disables the limit.
+ */
+@ConfigurationProperties(prefix = "mms.session")
+public record ConcurrentSessionProperties(
+    @DefaultValue("1") int maximumSessions
+) {}
@@ -0,0 +1,106 @@
+package com.mayuran19.mms.security.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION;
+
+/**
+ * Deletes expired sessions in small batches rather than the single unbounded {@code DELETE} issued
+ * by Spring Session, so no statement holds locks on more than {@code batchSize} session rows (and
+ * their cascaded attributes) and WAL volume is spread out over the run.
+ * <p>
+ * Each batch picks the oldest expired rows through {@code idx_spring_session_expiry_time} with
+ * {@code FOR UPDATE SKIP LOCKED}, so sessions being touched by a request are skipped rather than
+ * waited for. A session-level advisory lock ensures only one node cleans at a time; the others
+ * skip the run.
+ */
+public class ExpiredSessionCleaner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredSessionCleaner.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    static final long LOCK_KEY = 0x6d6d_7300_0001L;
+
+    private final DSLContext dsl;
+    private final SessionCleanupProperties properties;
+    private final Counter purged;
+    private final Timer batchTimer;
+
+    public ExpiredSessionCleaner(DSLContext dsl, SessionCleanupProperties properties, MeterRegistry registry) {
+        this.dsl = dsl;
+        this.properties = properties;
+        this.purged = Counter.builder("mms.session.cleanup.purged")
+            .description("Expired sessions deleted by the batched cleanup")
+            .register(registry);
+        this.batchTimer = Timer.builder("mms.session.cleanup.batch")
+            .description("Time taken by one cleanup batch")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.session.cleanup.interval:1m}", initialDelayString = "${mms.session.cleanup.interval:1m}")
+    public void cleanUp() {
+        // The advisory lock belongs to the database session, so the whole run uses one connection
+        int deleted = dsl.connectionResult(connection -> {
+            DSLContext session = DSL.using(dsl.configuration().derive(connection));
+            if (!tryLock(session)) {
+                log.debug("Session cleanup is running on another node, skipping");
+                return 0;
+            }
+            try {
+                return purgeExpired(session);
+            } finally {
+                session.select(DSL.field("pg_advisory_unlock({0})", Boolean.class, DSL.val(LOCK_KEY))).fetch();
+            }
+        });
+        if (deleted > 0) {
+            log.debug("Purged {} expired sessions", deleted);
+        }
+    }
+
+    private boolean tryLock(DSLContext session) {
+        return Boolean.TRUE.equals(session
+            .select(DSL.field("pg_try_advisory_lock({0})", Boolean.class, DSL.val(LOCK_KEY)))
+            .fetchOne(0, Boolean.class));
+    }
+
+    private int purgeExpired(DSLContext session) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long deadline = System.nanoTime() + properties.maxDuration().toNanos();
+        int total = 0;
+        while (true) {
+            long start = System.nanoTime();
+            int deleted = deleteBatch(session, now);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            purged.increment(deleted);
+            total += deleted;
+
+            if (deleted < properties.batchSize() || System.nanoTime() >= deadline) {
+                return total;
+            }
+            Thread.sleep(properties.pause());
+        }
+    }
+
+    int deleteBatch(DSLContext session, long now) {
+        return session.deleteFrom(SPRING_SESSION)
+            .where(SPRING_SESSION.PRIMARY_ID.in(
+                session.select(SPRING_SESSION.PRIMARY_ID)
+                    .from(SPRING_SESSION)
+                    .where(SPRING_SESSION.EXPIRY_TIME.lt(now))
+                    .orderBy(SPRING_SESSION.EXPIRY_TIME)
+                    .limit(properties.batchSize())
+                    .forUpdate()
+                    .skipLocked()
+            ))
+            .execute();
+    }
+}
@@ -0,0 +1,19 @@
+package com.mayuran19.mms.security.session;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.DSLContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SessionCleanupProperties.class)
+@ConditionalOnProperty(prefix = "mms.session.cleanup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SessionCleanupConfig {
+
+    @Bean
+    public ExpiredSessionCleaner expiredSessionCleaner(DSLContext dsl, SessionCleanupProperties properties, MeterRegistry meterRegistry) {
+        return new ExpiredSessionCleaner(dsl, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mayuran19.mms.security.session;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled     run {@link ExpiredSessionCleaner} instead of Spring Session's single-statement cleanup,
+ *                    which runs when this is off
+ * @param interval    delay between cleanup runs
+ * @param batchSize   sessions deleted per statement
+ * @param pause       sleep between batches, giving the WAL writer and replicas room to catch up
+ * @param maxDuration upper bound on one run; the remainder is picked up by the next run
+ */
+@ConfigurationProperties(prefix = "mms.session.cleanup")
+public record SessionCleanupProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1m") Duration interval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("50ms") Duration pause,
+    @DefaultValue("30s") Duration maxDuration
+) {}
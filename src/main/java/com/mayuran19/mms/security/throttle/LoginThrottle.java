@@ -0,0 +1,128 @@
+package com.mayuran19.mms.security.throttle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rejects login attempts from client IPs, accounts and tenants that recently failed too often,
+ * before any database lookup or password hashing. Counting happens in memory per node; with
+ * {@code mms.auth.throttle.sync.enabled} the resulting blocks are also written to
+ * {@code login_throttle_blocks} and applied by the other nodes.
+ */
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    // Overlap between syncs so rows committed late by a slow transaction are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    public enum Dimension {
+        IP,
+        ACCOUNT,
+        TENANT
+    }
+
+    private final LoginThrottleProperties properties;
+    private final LoginThrottleRepository repository;
+    private final Map<Dimension, SlidingWindowLimiter> limiters = new EnumMap<>(Dimension.class);
+    private volatile OffsetDateTime lastSync = OffsetDateTime.now();
+
+    public LoginThrottle(LoginThrottleProperties properties, LoginThrottleRepository repository) {
+        this.properties = properties;
+        this.repository = repository;
+        limiters.put(Dimension.IP, limiter(properties.ipLimit(), properties.ipWindow()));
+        limiters.put(Dimension.ACCOUNT, limiter(properties.accountLimit(), properties.accountWindow()));
+        limiters.put(Dimension.TENANT, limiter(properties.tenantLimit(), properties.tenantWindow()));
+    }
+
+    /**
+     * @param tenantSlug null for platform logins
+     */
+    public Attempt attempt(String clientIp, String username, String tenantSlug) {
+        String user = Objects.requireNonNullElse(username, "");
+        String account = tenantSlug != null ? user + "@tenant:" + tenantSlug : user;
+        return new Attempt(
+            ThrottleKey.of(Dimension.IP, clientIp),
+            ThrottleKey.of(Dimension.ACCOUNT, account),
+            tenantSlug != null ? ThrottleKey.of(Dimension.TENANT, tenantSlug) : null
+        );
+    }
+
+    /**
+     * Time until the attempt may be made, or zero if it is allowed now.
+     */
+    public Duration retryAfter(Attempt attempt) {
+        if (!properties.enabled()) {
+            return Duration.ZERO;
+        }
+        long now = System.currentTimeMillis();
+        long retryAfter = Math.max(
+            limiters.get(Dimension.IP).retryAfterMillis(attempt.ip(), now),
+            limiters.get(Dimension.ACCOUNT).retryAfterMillis(attempt.account(), now));
+        if (attempt.tenant() != null && properties.tenantLimit() > 0) {
+            retryAfter = Math.max(retryAfter, limiters.get(Dimension.TENANT).retryAfterMillis(attempt.tenant(), now));
+        }
+        return Duration.ofMillis(retryAfter);
+    }
+
+    public void failed(Attempt attempt) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        recordFailure(Dimension.IP, attempt.ip(), now);
+        recordFailure(Dimension.ACCOUNT, attempt.account(), now);
+        if (attempt.tenant() != null && properties.tenantLimit() > 0) {
+            recordFailure(Dimension.TENANT, attempt.tenant(), now);
+        }
+    }
+
+    public void succeeded(Attempt attempt) {
+        if (properties.enabled()) {
+            limiters.get(Dimension.ACCOUNT).reset(attempt.account());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mms.auth.throttle.sync.interval:5s}")
+    public void sync() {
+        if (!properties.enabled() || !properties.sync().enabled()) {
+            return;
+        }
+        OffsetDateTime syncStarted = OffsetDateTime.now();
+        for (LoginThrottleRepository.Block block : repository.findModifiedSince(lastSync.minus(SYNC_OVERLAP))) {
+            limiters.get(block.dimension()).block(block.key(), block.blockedUntil().toInstant().toEpochMilli());
+        }
+        lastSync = syncStarted;
+
+        int purged = repository.deleteExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired login throttle blocks", purged);
+        }
+    }
+
+    private void recordFailure(Dimension dimension, ThrottleKey key, long now) {
+        long backoff = limiters.get(dimension).recordFailure(key, now);
+        if (backoff > 0 && properties.sync().enabled()) {
+            repository.upsert(dimension, key, Instant.ofEpochMilli(now + backoff).atOffset(ZoneOffset.UTC));
+        }
+    }
+
+    private SlidingWindowLimiter limiter(int limit, Duration window) {
+        return new SlidingWindowLimiter(limit, window.toMillis(), properties.baseBackoff().toMillis(),
+            properties.maxBackoff().toMillis(), properties.width(), properties.maxKeys());
+    }
+
+    /**
+     * Throttle keys of one login attempt; {@code tenant} is null for platform logins.
+     */
+    public record Attempt(ThrottleKey ip, ThrottleKey account, ThrottleKey tenant) {}
+}
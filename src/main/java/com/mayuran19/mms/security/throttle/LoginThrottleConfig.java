@@ -0,0 +1,15 @@
+package com.mayuran19.mms.security.throttle;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class LoginThrottleConfig {
+
+    @Bean
+    public LoginThrottle loginThrottle(LoginThrottleProperties properties, LoginThrottleRepository repository) {
+        return new LoginThrottle(properties, repository);
+    }
+}
@@ -0,0 +1,47 @@
+package com.mayuran19.mms.security.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled       reject logins from throttled clients, accounts and tenants
+ * @param ipLimit       failed logins allowed per client IP within {@code ipWindow}
+ * @param accountLimit  failed logins allowed per username (and tenant slug) within {@code accountWindow}
+ * @param tenantLimit   failed logins allowed per tenant, across its accounts, within {@code tenantWindow};
+ *                      0 turns the tenant limit off. Failures spread over many IPs and accounts
+ *                      can reach it, locking every member of the tenant out until the block ends
+ * @param baseBackoff   block applied when a limit is reached, doubled with every further failure
+ * @param maxBackoff    upper bound on a single block
+ * @param width         slots of the lock-free pre-filter for blocked keys per dimension; memory is
+ *                      {@code 16 * width} bytes each
+ * @param maxKeys       IPs, accounts or tenants whose failures are counted per dimension; the least
+ *                      recently seen is forgotten first. Each takes roughly 150 bytes
+ * @param sync          share blocks between nodes through the database
+ */
+@ConfigurationProperties(prefix = "mms.auth.throttle")
+public record LoginThrottleProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("50") int ipLimit,
+    @DefaultValue("5m") Duration ipWindow,
+    @DefaultValue("5") int accountLimit,
+    @DefaultValue("15m") Duration accountWindow,
+    @DefaultValue("500") int tenantLimit,
+    @DefaultValue("1m") Duration tenantWindow,
+    @DefaultValue("1s") Duration baseBackoff,
+    @DefaultValue("15m") Duration maxBackoff,
+    @DefaultValue("16384") int width,
+    @DefaultValue("65536") int maxKeys,
+    @DefaultValue Sync sync
+) {
+
+    /**
+     * @param enabled  publish blocks to {@code login_throttle_blocks} and apply those of other nodes
+     * @param interval how often blocks of other nodes are fetched
+     */
+    public record Sync(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration interval
+    ) {}
+}
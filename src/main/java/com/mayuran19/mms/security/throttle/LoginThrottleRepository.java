@@ -0,0 +1,74 @@
+package com.mayuran19.mms.security.throttle;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class LoginThrottleRepository {
+
+    // Writes are made by the application, not on behalf of a user
+    private static final UUID SYSTEM_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    static final Table<Record> LOGIN_THROTTLE_BLOCKS = DSL.table(DSL.name("login_throttle_blocks"));
+    static final Field<String> DIMENSION = DSL.field(DSL.name("login_throttle_blocks", "dimension"), SQLDataType.VARCHAR(20));
+    static final Field<Long> KEY_HIGH = DSL.field(DSL.name("login_throttle_blocks", "key_high"), SQLDataType.BIGINT);
+    static final Field<Long> KEY_LOW = DSL.field(DSL.name("login_throttle_blocks", "key_low"), SQLDataType.BIGINT);
+    static final Field<OffsetDateTime> BLOCKED_UNTIL = DSL.field(DSL.name("login_throttle_blocks", "blocked_until"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("login_throttle_blocks", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("login_throttle_blocks", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("login_throttle_blocks", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("login_throttle_blocks", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private final DSLContext dsl;
+
+    public LoginThrottleRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public void upsert(LoginThrottle.Dimension dimension, ThrottleKey key, OffsetDateTime blockedUntil) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.insertInto(LOGIN_THROTTLE_BLOCKS)
+            .set(DIMENSION, dimension.name())
+            .set(KEY_HIGH, key.high())
+            .set(KEY_LOW, key.low())
+            .set(BLOCKED_UNTIL, blockedUntil)
+            .set(CREATED_BY, SYSTEM_USER_ID)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, SYSTEM_USER_ID)
+            .set(LAST_MODIFIED_DATE, now)
+            .onConflict(DIMENSION, KEY_HIGH, KEY_LOW)
+            .doUpdate()
+            .set(BLOCKED_UNTIL, DSL.greatest(BLOCKED_UNTIL, DSL.excluded(BLOCKED_UNTIL)))
+            .set(LAST_MODIFIED_DATE, now)
+            .execute();
+    }
+
+    public List<Block> findModifiedSince(OffsetDateTime since) {
+        return dsl.select(DIMENSION, KEY_HIGH, KEY_LOW, BLOCKED_UNTIL)
+            .from(LOGIN_THROTTLE_BLOCKS)
+            .where(LAST_MODIFIED_DATE.ge(since))
+            .and(BLOCKED_UNTIL.gt(OffsetDateTime.now()))
+            .fetch(record -> new Block(
+                LoginThrottle.Dimension.valueOf(record.get(DIMENSION)),
+                new ThrottleKey(record.get(KEY_HIGH), record.get(KEY_LOW)),
+                record.get(BLOCKED_UNTIL)
+            ));
+    }
+
+    public int deleteExpired() {
+        return dsl.deleteFrom(LOGIN_THROTTLE_BLOCKS)
+            .where(BLOCKED_UNTIL.lt(OffsetDateTime.now()))
+            .execute();
+    }
+
+    public record Block(LoginThrottle.Dimension dimension, ThrottleKey key, OffsetDateTime blockedUntil) {}
+}
@@ -0,0 +1,135 @@
+package com.mayuran19.mms.security.throttle;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded failure counter with a sliding window and exponential back-off.
+ * <p>
+ * Failures are counted exactly per key, in a map of at most {@code maxKeys} keys; once it is
+ * full the key that failed or was checked least recently is forgotten, which only errs towards
+ * allowing it. The count over the last window length is estimated by weighting the previous
+ * window's count by how much of it still overlaps.
+ * <p>
+ * Once a key reaches {@code limit} failures it is blocked for {@code baseBackoff}, doubling with
+ * every further failure up to {@code maxBackoff}. Checks for keys that were never blocked, the
+ * common case, are answered without taking the map's lock: each key maps to one slot in each of
+ * two rows holding the latest block end of any key in that slot, and only a key whose slots are
+ * both still blocked is looked up. Keys sharing slots never block each other, they only lose the
+ * fast path.
+ */
+public final class SlidingWindowLimiter {
+
+    private final int limit;
+    private final long windowMillis;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int slotMask;
+    // Row 0 occupies [0, width), row 1 [width, 2 * width)
+    private final AtomicLongArray blockedUntil;
+    private final Map<ThrottleKey, Failures> failures;
+
+    /**
+     * @param width   pre-filter slots per row, rounded up to a power of two
+     * @param maxKeys keys whose failures are counted at once
+     */
+    public SlidingWindowLimiter(int limit, long windowMillis, long baseBackoffMillis, long maxBackoffMillis, int width, int maxKeys) {
+        int slots = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.slotMask = slots - 1;
+        this.blockedUntil = new AtomicLongArray(2 * slots);
+        this.failures = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ThrottleKey, Failures> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Milliseconds until {@code key} may try again, or 0 if it is not blocked.
+     */
+    public long retryAfterMillis(ThrottleKey key, long now) {
+        if (Math.min(blockedUntil.get(slot(0, key)), blockedUntil.get(slot(1, key))) <= now) {
+            return 0;
+        }
+        synchronized (failures) {
+            Failures counted = failures.get(key);
+            return counted == null ? 0 : Math.max(0, counted.blockedUntil - now);
+        }
+    }
+
+    /**
+     * Counts a failure for {@code key} and blocks it if it is over the limit.
+     *
+     * @return the block applied in milliseconds, or 0 if the key is still under the limit
+     */
+    public long recordFailure(ThrottleKey key, long now) {
+        long backoff;
+        synchronized (failures) {
+            Failures counted = failures.computeIfAbsent(key, k -> new Failures());
+            int count = counted.increment(now / windowMillis, now % windowMillis, windowMillis);
+            if (count < limit) {
+                return 0;
+            }
+            backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(count - limit, 30));
+            counted.blockedUntil = Math.max(counted.blockedUntil, now + backoff);
+        }
+        markBlocked(key, now + backoff);
+        return backoff;
+    }
+
+    public void block(ThrottleKey key, long until) {
+        synchronized (failures) {
+            Failures counted = failures.computeIfAbsent(key, k -> new Failures());
+            counted.blockedUntil = Math.max(counted.blockedUntil, until);
+        }
+        markBlocked(key, until);
+    }
+
+    /**
+     * Forgets the failures of {@code key}, e.g. after a successful login. The pre-filter slots are
+     * left alone, as other blocked keys may share them.
+     */
+    public void reset(ThrottleKey key) {
+        synchronized (failures) {
+            failures.remove(key);
+        }
+    }
+
+    private void markBlocked(ThrottleKey key, long until) {
+        blockedUntil.accumulateAndGet(slot(0, key), until, Math::max);
+        blockedUntil.accumulateAndGet(slot(1, key), until, Math::max);
+    }
+
+    private int slot(int row, ThrottleKey key) {
+        long hash = row == 0 ? key.high() : key.low();
+        return row * (slotMask + 1) + (int) (hash & slotMask);
+    }
+
+    /**
+     * Failures of one key in the current and previous window. Guarded by the map's lock.
+     */
+    private static final class Failures {
+
+        private long window = -1;
+        private int current;
+        private int previous;
+        private long blockedUntil;
+
+        int increment(long currentWindow, long intoWindow, long windowMillis) {
+            if (window != currentWindow) {
+                previous = window == currentWindow - 1 ? current : 0;
+                current = 0;
+                window = currentWindow;
+            }
+            current++;
+            double remainingOfPrevious = 1 - (double) intoWindow / windowMillis;
+            return current + (int) (previous * remainingOfPrevious);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mayuran19.mms.security.throttle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 128-bit digest of a throttled value (IP address, account, tenant). A cryptographic hash keeps
+ * attackers from crafting values that share counters with a victim's account, and is stable
+ * across nodes so blocks can be shared through the database.
+ */
+public record ThrottleKey(long high, long low) {
+
+    public static ThrottleKey of(LoginThrottle.Dimension dimension, String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(dimension.name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+            return new ThrottleKey(hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mayuran19.mms.security.token;
+
+import com.mayuran19.mms.security.CustomUserDetails;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims carried by a stateless auth token.
+ */
+public record AuthToken(
+    UUID tokenId,
+    UUID userId,
+    CustomUserDetails.UserType userType,
+    UUID tenantId,
+    String username,
+    String email,
+    Instant expiresAt
+) {}
@@ -0,0 +1,90 @@
+package com.mayuran19.mms.security.token;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rows of {@code revoked_tokens}. A row whose {@code token_id} is its {@code user_id} revokes every
+ * token of that user expiring by {@code expiry_date}, i.e. every token issued before the row.
+ */
+@Repository
+public class RevokedTokenRepository {
+
+    static final Table<Record> REVOKED_TOKENS = DSL.table(DSL.name("revoked_tokens"));
+    static final Field<UUID> TOKEN_ID = DSL.field(DSL.name("revoked_tokens", "token_id"), SQLDataType.UUID);
+    static final Field<UUID> USER_ID = DSL.field(DSL.name("revoked_tokens", "user_id"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> EXPIRY_DATE = DSL.field(DSL.name("revoked_tokens", "expiry_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> CREATED_BY = DSL.field(DSL.name("revoked_tokens", "created_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> CREATED_DATE = DSL.field(DSL.name("revoked_tokens", "created_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+    static final Field<UUID> LAST_MODIFIED_BY = DSL.field(DSL.name("revoked_tokens", "last_modified_by"), SQLDataType.UUID);
+    static final Field<OffsetDateTime> LAST_MODIFIED_DATE = DSL.field(DSL.name("revoked_tokens", "last_modified_date"), SQLDataType.TIMESTAMPWITHTIMEZONE);
+
+    private final DSLContext dsl;
+
+    public RevokedTokenRepository(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    public void create(UUID tokenId, UUID userId, OffsetDateTime expiryDate) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dsl.insertInto(REVOKED_TOKENS)
+            .set(TOKEN_ID, tokenId)
+            .set(USER_ID, userId)
+            .set(EXPIRY_DATE, expiryDate)
+            .set(CREATED_BY, userId)
+            .set(CREATED_DATE, now)
+            .set(LAST_MODIFIED_BY, userId)
+            .set(LAST_MODIFIED_DATE, now)
+            .onConflictDoNothing()
+            .execute();
+    }
+
+    /**
+     * Revokes every token of the given users that expires by {@code expiryDate}. Repeating it for a
+     * user moves the bound forward and makes the row visible to the next sync again.
+     */
+    public void revokeUsers(Collection<UUID> userIds, OffsetDateTime expiryDate, UUID revokedBy) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        var insert = dsl.insertInto(REVOKED_TOKENS,
+            TOKEN_ID, USER_ID, EXPIRY_DATE, CREATED_BY, CREATED_DATE, LAST_MODIFIED_BY, LAST_MODIFIED_DATE);
+        for (UUID userId : userIds) {
+            insert = insert.values(userId, userId, expiryDate, revokedBy, now, revokedBy, now);
+        }
+        insert.onConflict(TOKEN_ID)
+            .doUpdate()
+            .set(EXPIRY_DATE, DSL.greatest(EXPIRY_DATE, DSL.excluded(EXPIRY_DATE)))
+            .set(CREATED_DATE, DSL.excluded(CREATED_DATE))
+            .set(LAST_MODIFIED_BY, DSL.excluded(LAST_MODIFIED_BY))
+            .set(LAST_MODIFIED_DATE, DSL.excluded(LAST_MODIFIED_DATE))
+            .execute();
+    }
+
+    public List<RevokedToken> findCreatedSince(OffsetDateTime since) {
+        return dsl.select(TOKEN_ID, EXPIRY_DATE, CREATED_DATE)
+            .from(REVOKED_TOKENS)
+            .where(CREATED_DATE.ge(since))
+            .and(EXPIRY_DATE.gt(OffsetDateTime.now()))
+            .fetch(record -> new RevokedToken(record.get(TOKEN_ID), record.get(EXPIRY_DATE), record.get(CREATED_DATE)));
+    }
+
+    public int deleteExpired() {
+        return dsl.deleteFrom(REVOKED_TOKENS)
+            .where(EXPIRY_DATE.le(OffsetDateTime.now()))
+            .execute();
+    }
+
+    public record RevokedToken(UUID tokenId, OffsetDateTime expiryDate, OffsetDateTime createdDate) {}
+}
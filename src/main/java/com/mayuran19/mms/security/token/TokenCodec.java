@@ -0,0 +1,121 @@
+package com.mayuran19.mms.security.token;
+
+import com.mayuran19.mms.security.CustomUserDetails;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Compact binary token format: {@code base64url(payload) "." base64url(HMAC-SHA256(payload))}.
+ * The payload is a version byte followed by the fixed-width claims and two length-prefixed strings,
+ * roughly 100 bytes for a typical user.
+ */
+public class TokenCodec {
+
+    private static final byte VERSION = 1;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final CustomUserDetails.UserType[] USER_TYPES = CustomUserDetails.UserType.values();
+
+    private final SecretKeySpec key;
+
+    public TokenCodec(byte[] secret) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Token secret must be at least 256 bits");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    public String encode(AuthToken token) {
+        byte[] username = token.username().getBytes(StandardCharsets.UTF_8);
+        byte[] email = token.email() != null ? token.email().getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        ByteBuffer payload = ByteBuffer.allocate(1 + 16 + 16 + 1 + 16 + 8 + 2 + username.length + 2 + email.length);
+        payload.put(VERSION);
+        putUuid(payload, token.tokenId());
+        putUuid(payload, token.userId());
+        payload.put((byte) token.userType().ordinal());
+        putUuid(payload, token.tenantId() != null ? token.tenantId() : new UUID(0, 0));
+        payload.putLong(token.expiresAt().getEpochSecond());
+        payload.putShort((short) username.length).put(username);
+        payload.putShort((short) email.length).put(email);
+
+        byte[] bytes = payload.array();
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(sign(bytes));
+    }
+
+    /**
+     * Verifies the signature and decodes the claims. Expiry and revocation are checked by the caller.
+     */
+    public Optional<AuthToken> decode(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            if (buffer.get() != VERSION) {
+                return Optional.empty();
+            }
+            UUID tokenId = getUuid(buffer);
+            UUID userId = getUuid(buffer);
+            CustomUserDetails.UserType userType = USER_TYPES[buffer.get()];
+            UUID tenantId = getUuid(buffer);
+            Instant expiresAt = Instant.ofEpochSecond(buffer.getLong());
+            String username = getString(buffer);
+            String email = getString(buffer);
+
+            return Optional.of(new AuthToken(
+                tokenId,
+                userId,
+                userType,
+                tenantId.getMostSignificantBits() == 0 && tenantId.getLeastSignificantBits() == 0 ? null : tenantId,
+                username,
+                email.isEmpty() ? null : email,
+                expiresAt
+            ));
+        } catch (IllegalArgumentException | BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
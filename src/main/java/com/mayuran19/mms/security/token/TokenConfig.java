@@ -0,0 +1,41 @@
+package com.mayuran19.mms.security.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+@Configuration
+@EnableConfigurationProperties(TokenProperties.class)
+@ConditionalOnProperty(prefix = "mms.auth.token", name = "enabled", havingValue = "true")
+public class TokenConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenConfig.class);
+
+    @Bean
+    public TokenCodec tokenCodec(TokenProperties properties) {
+        if (StringUtils.hasText(properties.secret())) {
+            return new TokenCodec(Base64.getDecoder().decode(properties.secret()));
+        }
+        log.warn("mms.auth.token.secret is not set; using a random key, tokens will not be accepted by other nodes or after a restart");
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return new TokenCodec(secret);
+    }
+
+    @Bean
+    public TokenRevocationList tokenRevocationList(RevokedTokenRepository revokedTokenRepository) {
+        return new TokenRevocationList(revokedTokenRepository);
+    }
+
+    @Bean
+    public TokenService tokenService(TokenCodec tokenCodec, TokenRevocationList tokenRevocationList, TokenProperties properties) {
+        return new TokenService(tokenCodec, tokenRevocationList, properties);
+    }
+}
@@ -0,0 +1,22 @@
+package com.mayuran19.mms.security.token;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for stateless token authentication.
+ *
+ * @param enabled                 issue signed tokens at login instead of creating an HTTP session
+ * @param secret                  Base64 encoded HMAC-SHA256 key, shared by all nodes (at least 32 bytes)
+ * @param timeToLive              lifetime of an issued token
+ * @param revocationSyncInterval  how often the in-memory revocation list is refreshed from the database
+ */
+@ConfigurationProperties(prefix = "mms.auth.token")
+public record TokenProperties(
+    @DefaultValue("false") boolean enabled,
+    String secret,
+    @DefaultValue("30m") Duration timeToLive,
+    @DefaultValue("30s") Duration revocationSyncInterval
+) {}
@@ -0,0 +1,89 @@
+package com.mayuran19.mms.security.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked token ids so that token validation never touches the database.
+ * Revocations are written through to {@code revoked_tokens} and other nodes pick them up on the
+ * next sync. Entries are only kept until the token would have expired anyway, which bounds the
+ * set by the number of logouts within one token lifetime.
+ * <p>
+ * Suspended or deleted users are revoked as a whole: an entry keyed by the user id holds the
+ * latest expiry of any token issued before the revocation, and tokens of that user expiring by
+ * then are rejected. Token and user ids are both random UUIDs, so they share the set.
+ */
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // Overlap between syncs so rows committed late by a slow transaction are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile OffsetDateTime lastSync = OffsetDateTime.now().minusYears(1);
+
+    public TokenRevocationList(RevokedTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean isRevoked(AuthToken token) {
+        if (revoked.containsKey(token.tokenId())) {
+            return true;
+        }
+        Instant userRevokedUntil = revoked.get(token.userId());
+        return userRevokedUntil != null && !token.expiresAt().isAfter(userRevokedUntil);
+    }
+
+    public void revoke(AuthToken token) {
+        revoked.put(token.tokenId(), token.expiresAt());
+        repository.create(token.tokenId(), token.userId(), token.expiresAt().atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * Revokes every token of the given users that expires by {@code expiresBy}, in the caller's
+     * transaction. A rollback leaves the users revoked on this node until {@code expiresBy}, so
+     * they only have to log in again.
+     */
+    public void revokeUsers(Collection<UUID> userIds, Instant expiresBy, UUID revokedBy) {
+        for (UUID userId : userIds) {
+            revoked.merge(userId, expiresBy, TokenRevocationList::later);
+        }
+        repository.revokeUsers(userIds, expiresBy.atOffset(ZoneOffset.UTC), revokedBy);
+    }
+
+    @Scheduled(fixedDelayString = "${mms.auth.token.revocation-sync-interval:30s}")
+    public void sync() {
+        OffsetDateTime syncStarted = OffsetDateTime.now();
+        for (RevokedTokenRepository.RevokedToken token : repository.findCreatedSince(lastSync.minus(SYNC_OVERLAP))) {
+            revoked.merge(token.tokenId(), token.expiryDate().toInstant(), TokenRevocationList::later);
+        }
+        lastSync = syncStarted;
+
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        int purged = repository.deleteExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocations", purged);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,63 @@
+package com.mayuran19.mms.security.token;
+
+import com.mayuran19.mms.security.AuthenticatedUser;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues, validates and revokes stateless auth tokens. Validation is purely in-memory:
+ * signature, expiry and the {@link TokenRevocationList}.
+ */
+public class TokenService {
+
+    private final TokenCodec codec;
+    private final TokenRevocationList revocationList;
+    private final TokenProperties properties;
+
+    public TokenService(TokenCodec codec, TokenRevocationList revocationList, TokenProperties properties) {
+        this.codec = codec;
+        this.revocationList = revocationList;
+        this.properties = properties;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        AuthToken token = new AuthToken(
+            UUID.randomUUID(),
+            user.id(),
+            user.userType(),
+            user.tenantId(),
+            user.username(),
+            user.email(),
+            Instant.now().plus(properties.timeToLive())
+        );
+        return codec.encode(token);
+    }
+
+    public Optional<AuthToken> validate(String token) {
+        return codec.decode(token)
+            .filter(claims -> claims.expiresAt().isAfter(Instant.now()))
+            .filter(claims -> !revocationList.isRevoked(claims));
+    }
+
+    /**
+     * Revokes every token issued to the given users so far, e.g. when they are suspended or
+     * deleted. Tokens issued later, after a reactivation, are not affected.
+     */
+    public void revokeUsers(Collection<UUID> userIds, UUID revokedBy) {
+        if (!userIds.isEmpty()) {
+            revocationList.revokeUsers(userIds, Instant.now().plus(properties.timeToLive()), revokedBy);
+        }
+    }
+
+    /**
+     * Revokes the given token if it is valid. Returns whether anything was revoked.
+     */
+    public boolean revoke(String token) {
+        Optional<AuthToken> claims = validate(token);
+        claims.ifPresent(revocationList::revoke);
+        return claims.isPresent();
+    }
+}
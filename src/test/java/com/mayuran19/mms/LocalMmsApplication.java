@@ -0,0 +1,11 @@
+package com.mayuran19.mms;
+
+import org.springframework.boot.SpringApplication;
+
+public class LocalMmsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(MmsApplication::main).with(LocalPostgresConfiguration.class).run(args);
+    }
+
+}
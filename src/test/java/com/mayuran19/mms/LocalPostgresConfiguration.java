@@ -0,0 +1,40 @@
+package com.mayuran19.mms;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Docker-free alternative to {@link TestcontainersConfiguration}. The datasource points at a
+ * {@link LocalPostgres} instance and Liquibase applies the changelog on context start-up.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LocalPostgresConfiguration {
+
+    @Bean(destroyMethod = "close")
+    LocalPostgres localPostgres() {
+        return LocalPostgres.start();
+    }
+
+    @Bean
+    JdbcConnectionDetails localPostgresConnectionDetails(LocalPostgres postgres) {
+        return new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return postgres.username();
+            }
+
+            @Override
+            public String getPassword() {
+                return postgres.password();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return postgres.jdbcUrl();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.mayuran19.mms.platform.audit;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTests {
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static TransactionTemplate transactionTemplate;
+    private static AuditLog auditLog;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+        transactionTemplate = postgres.transactionTemplate();
+        // A batch size below the events per transaction, so the pre-commit write takes two inserts
+        auditLog = new AuditLog(new AuditRepository(dsl), new AuditProperties(AuditProperties.Mode.TRANSACTIONAL, 1024,
+            2, Duration.ofMillis(200), Duration.ofSeconds(1), 5, Duration.ofSeconds(10), 2, 0, Duration.ofHours(6)),
+            new SimpleMeterRegistry());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void transactionalModeWritesTheEventsOfACommittedTransaction() {
+        UUID tenantId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                record(tenantId);
+            }
+            // Nothing is written until the transaction commits
+            assertThat(countEvents(tenantId)).isZero();
+        });
+
+        assertThat(countEvents(tenantId)).isEqualTo(3);
+    }
+
+    @Test
+    void transactionalModeWritesNothingForARolledBackTransaction() {
+        UUID tenantId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                record(tenantId);
+            }
+            status.setRollbackOnly();
+        });
+
+        assertThat(countEvents(tenantId)).isZero();
+        // The pending events went with the transaction; the next one starts empty
+        transactionTemplate.executeWithoutResult(status -> record(tenantId));
+        assertThat(countEvents(tenantId)).isEqualTo(1);
+    }
+
+    private static void record(UUID tenantId) {
+        auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.CREATED, UUID.randomUUID(), tenantId, ADMIN_ID, null);
+    }
+
+    private static int countEvents(UUID tenantId) {
+        return dsl.fetchCount(AuditRepository.AUDIT_EVENTS, AuditRepository.TENANT_ID.eq(tenantId));
+    }
+}
@@ -0,0 +1,52 @@
+package com.mayuran19.mms.platform.audit;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditPartitionMaintainerTests {
+
+    private static LocalPostgres postgres;
+    private static AuditRepository auditRepository;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        DSLContext dsl = postgres.transactionalDsl();
+        auditRepository = new AuditRepository(dsl);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void createsMonthsAheadAndDropsMonthsPastTheRetention() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        auditRepository.createPartition(current.minusMonths(5));
+        auditRepository.createPartition(current.minusMonths(2));
+        AuditPartitionMaintainer maintainer = new AuditPartitionMaintainer(auditRepository,
+            new AuditProperties(AuditProperties.Mode.ASYNC, 1024, 500, Duration.ofMillis(200), Duration.ofSeconds(1), 5,
+                Duration.ofSeconds(10), 4, 2, Duration.ofHours(6)));
+
+        maintainer.maintainPartitions();
+
+        assertThat(auditRepository.findPartitions()).containsExactly(
+            current.minusMonths(2), current, current.plusMonths(1), current.plusMonths(2), current.plusMonths(3),
+            current.plusMonths(4));
+
+        // Another node running it at the same time, or the next run, changes nothing
+        maintainer.maintainPartitions();
+
+        assertThat(auditRepository.findPartitions()).hasSize(6).first().isEqualTo(current.minusMonths(2));
+    }
+}
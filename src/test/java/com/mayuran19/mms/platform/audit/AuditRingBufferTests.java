@@ -0,0 +1,81 @@
+package com.mayuran19.mms.platform.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTests {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void rejectsOffersWhenFullAndDrainsInOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        List<AuditEvent> offered = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AuditEvent event = event();
+            offered.add(event);
+            assertThat(buffer.offer(event)).isTrue();
+        }
+        assertThat(buffer.offer(event())).isFalse();
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(buffer.offer(event())).isTrue();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(2);
+        assertThat(drained.subList(0, 4)).containsExactlyElementsOf(offered);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(256);
+        int producers = 8;
+        int perProducer = 10_000;
+        Set<UUID> accepted = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AuditEvent event = event();
+                    if (buffer.offer(event)) {
+                        accepted.add(event.id());
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<UUID> drained = new HashSet<>();
+        List<AuditEvent> batch = new ArrayList<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            batch.clear();
+            buffer.drainTo(batch, 64);
+            batch.forEach(event -> assertThat(drained.add(event.id())).isTrue());
+        }
+        done.await();
+        batch.clear();
+        buffer.drainTo(batch, Integer.MAX_VALUE);
+        batch.forEach(event -> drained.add(event.id()));
+
+        assertThat(drained).isEqualTo(accepted);
+    }
+
+    private static AuditEvent event() {
+        return new AuditEvent(UUID.randomUUID(), OffsetDateTime.now(), UUID.randomUUID(),
+            AuditEvent.Entity.TENANT, UUID.randomUUID(), null, AuditEvent.Action.UPDATED, null);
+    }
+}
\ No newline at end of file
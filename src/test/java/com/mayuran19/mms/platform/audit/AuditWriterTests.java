@@ -0,0 +1,97 @@
+package com.mayuran19.mms.platform.audit;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditWriterTests {
+
+    private static final String POISON = "poison";
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void writesTheRestOfABatchOneByOneOnceItRunsOutOfAttempts() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditRepository auditRepository = new PoisonedAuditRepository(dsl);
+        AuditProperties properties = new AuditProperties(AuditProperties.Mode.ASYNC, 1024, 500, Duration.ofMillis(10),
+            Duration.ofMillis(10), 3, Duration.ofSeconds(5), 2, 0, Duration.ofHours(6));
+        AuditLog auditLog = new AuditLog(auditRepository, properties, meterRegistry);
+        AuditWriter writer = new AuditWriter(auditLog, auditRepository, properties, meterRegistry);
+        UUID tenantId = UUID.randomUUID();
+        record(auditLog, tenantId, null);
+        record(auditLog, tenantId, POISON);
+        record(auditLog, tenantId, null);
+
+        writer.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (meterRegistry.get("mms.audit.dropped").counter().count() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            // Events recorded after the bad one are not held up by it
+            record(auditLog, tenantId, null);
+            while (countEvents(tenantId) < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            writer.stop();
+        }
+
+        assertThat(meterRegistry.get("mms.audit.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mms.audit.written").counter().count()).isEqualTo(3);
+        assertThat(countEvents(tenantId)).isEqualTo(3);
+        assertThat(writer.isRunning()).isFalse();
+    }
+
+    private static void record(AuditLog auditLog, UUID tenantId, String details) {
+        auditLog.record(AuditEvent.Entity.TENANT_USER, AuditEvent.Action.UPDATED, UUID.randomUUID(), tenantId, ADMIN_ID, details);
+    }
+
+    private static int countEvents(UUID tenantId) {
+        return dsl.fetchCount(AuditRepository.AUDIT_EVENTS, AuditRepository.TENANT_ID.eq(tenantId));
+    }
+
+    /**
+     * Rejects every insert that contains a poisoned event, as a constraint violation or a value
+     * the driver cannot bind would. Not a {@code DataAccessException}, so the writer has to
+     * survive any runtime failure.
+     */
+    static class PoisonedAuditRepository extends AuditRepository {
+
+        PoisonedAuditRepository(DSLContext dsl) {
+            super(dsl);
+        }
+
+        @Override
+        public void insertAll(List<AuditEvent> events) {
+            if (events.stream().anyMatch(event -> POISON.equals(event.details()))) {
+                throw new IllegalArgumentException("Cannot write a poisoned event");
+            }
+            super.insertAll(events);
+        }
+    }
+}
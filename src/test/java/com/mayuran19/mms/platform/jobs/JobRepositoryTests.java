@@ -0,0 +1,102 @@
+package com.mayuran19.mms.platform.jobs;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobRepositoryTests {
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static JobRepository jobRepository;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+        jobRepository = new JobRepository(dsl);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void emptyQueue() {
+        dsl.deleteFrom(JobRepository.JOBS).execute();
+    }
+
+    @Test
+    void releaseExpiredRequeuesJobsWithAttemptsLeftAndFailsTheRest() {
+        Job retryable = start(jobRepository.create(UUID.randomUUID(), "test", null, null, 3, ADMIN_ID), "worker-a");
+        Job exhausted = start(jobRepository.create(UUID.randomUUID(), "test", null, null, 1, ADMIN_ID), "worker-a");
+        Job renewed = start(jobRepository.create(UUID.randomUUID(), "test", null, null, 1, ADMIN_ID), "worker-b");
+        expireLease(retryable.id());
+        expireLease(exhausted.id());
+
+        assertThat(jobRepository.releaseExpired()).isEqualTo(2);
+
+        assertThat(jobRepository.findById(retryable.id())).hasValueSatisfying(job -> {
+            assertThat(job.status()).isEqualTo(Job.Status.QUEUED);
+            assertThat(job.attempts()).isEqualTo(1);
+            assertThat(job.lockedBy()).isNull();
+            assertThat(job.finishedDate()).isNull();
+            assertThat(job.lastError()).isEqualTo("Lease expired");
+        });
+        assertThat(jobRepository.findById(exhausted.id())).hasValueSatisfying(job -> {
+            assertThat(job.status()).isEqualTo(Job.Status.FAILED);
+            assertThat(job.finishedDate()).isNotNull();
+        });
+        assertThat(jobRepository.findById(renewed.id()))
+            .hasValueSatisfying(job -> assertThat(job.status()).isEqualTo(Job.Status.RUNNING));
+        // The worker that lost the lease can no longer record an outcome
+        assertThat(jobRepository.complete(retryable.id(), "worker-a")).isFalse();
+    }
+
+    @Test
+    void onlyTheOwningWorkerCanRescheduleOrFinishAJob() {
+        Job job = start(jobRepository.create(UUID.randomUUID(), "test", null, null, 3, ADMIN_ID), "worker-a");
+
+        assertThat(jobRepository.reschedule(job.id(), "worker-b", Duration.ofMinutes(5), "boom")).isFalse();
+        assertThat(jobRepository.fail(job.id(), "worker-b", "boom")).isFalse();
+        assertThat(jobRepository.findById(job.id()))
+            .hasValueSatisfying(running -> assertThat(running.status()).isEqualTo(Job.Status.RUNNING));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        assertThat(jobRepository.reschedule(job.id(), "worker-a", Duration.ofMinutes(5), "boom")).isTrue();
+
+        assertThat(jobRepository.findById(job.id())).hasValueSatisfying(queued -> {
+            assertThat(queued.status()).isEqualTo(Job.Status.QUEUED);
+            assertThat(queued.runAfter()).isAfter(before.plusMinutes(4));
+            assertThat(queued.lockedBy()).isNull();
+            assertThat(queued.lastError()).isEqualTo("boom");
+        });
+        // Not due yet, and no longer running, so the old owner cannot touch it either
+        assertThat(jobRepository.lockDue(10)).isEmpty();
+        assertThat(jobRepository.complete(job.id(), "worker-a")).isFalse();
+    }
+
+    private static Job start(Job job, String workerId) {
+        return jobRepository.markRunning(List.of(job.id()), workerId, Duration.ofMinutes(5)).getFirst();
+    }
+
+    private static void expireLease(UUID id) {
+        dsl.update(JobRepository.JOBS)
+            .set(JobRepository.LOCKED_UNTIL, DSL.field("current_timestamp - interval '1 minute'", OffsetDateTime.class))
+            .where(JobRepository.ID.eq(id))
+            .execute();
+    }
+}
\ No newline at end of file
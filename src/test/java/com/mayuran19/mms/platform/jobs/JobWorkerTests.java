@@ -0,0 +1,236 @@
+package com.mayuran19.mms.platform.jobs;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobWorkerTests {
+
+    private static final int TENANT_CONCURRENCY = 2;
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static TransactionTemplate transactionTemplate;
+    private static JobRepository jobRepository;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+        transactionTemplate = postgres.transactionTemplate();
+        jobRepository = new JobRepository(dsl);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void emptyQueue() {
+        dsl.deleteFrom(JobRepository.JOBS).execute();
+    }
+
+    @Test
+    void concurrentClaimsSkipEachOthersJobs() throws Exception {
+        List<UUID> queued = enqueue(null, 20);
+        JobWorker first = worker();
+        JobWorker second = worker();
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Job>> held = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Job> jobs = first.claim(3);
+            claimed.countDown();
+            await(release);
+            return jobs;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The first claim has not committed, so its candidates are still locked rather than RUNNING
+        List<Job> other = transactionTemplate.execute(status -> second.claim(8));
+        release.countDown();
+        List<Job> jobs = held.get(10, TimeUnit.SECONDS);
+
+        assertThat(ids(jobs)).hasSameElementsAs(queued.subList(0, 3));
+        // Skipped past every candidate the first claim locked, not only the jobs it took
+        assertThat(ids(other)).hasSameElementsAs(queued.subList(12, 20));
+        assertThat(ids(jobs)).doesNotContainAnyElementsOf(ids(other));
+    }
+
+    @Test
+    void capsRunningJobsPerTenantAcrossWorkers() {
+        UUID tenantId = UUID.randomUUID();
+        enqueue(tenantId, 5);
+        List<UUID> unscoped = enqueue(null, 2);
+        JobWorker first = worker();
+        JobWorker second = worker();
+
+        List<Job> firstClaim = transactionTemplate.execute(status -> first.claim(8));
+        List<Job> secondClaim = transactionTemplate.execute(status -> second.claim(8));
+
+        assertThat(firstClaim).filteredOn(job -> tenantId.equals(job.tenantId())).hasSize(TENANT_CONCURRENCY);
+        // The second worker sees the first one's jobs running and leaves the tenant's queued
+        assertThat(secondClaim).isEmpty();
+        assertThat(ids(firstClaim)).containsAll(unscoped);
+
+        Job finished = firstClaim.stream().filter(job -> tenantId.equals(job.tenantId())).findFirst().orElseThrow();
+        jobRepository.complete(finished.id(), finished.lockedBy());
+        assertThat(transactionTemplate.execute(status -> second.claim(8)))
+            .singleElement()
+            .satisfies(job -> assertThat(job.tenantId()).isEqualTo(tenantId));
+    }
+
+    @Test
+    void leavesATenantBeingClaimedElsewhereForTheNextPoll() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        enqueue(tenantId, 1);
+        List<UUID> unscoped = enqueue(null, 1);
+        JobWorker first = worker();
+        JobWorker second = worker();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> held = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jobRepository.tryLockTenant(tenantId);
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Its running count cannot be trusted while another transaction holds the tenant
+        List<Job> claimed = transactionTemplate.execute(status -> second.claim(8));
+        release.countDown();
+        held.get(10, TimeUnit.SECONDS);
+
+        assertThat(ids(claimed)).containsExactlyElementsOf(unscoped);
+        assertThat(transactionTemplate.execute(status -> first.claim(8)))
+            .singleElement()
+            .satisfies(job -> assertThat(job.tenantId()).isEqualTo(tenantId));
+    }
+
+    @Test
+    void backoffDoublesWithinItsBounds() {
+        JobWorker worker = worker();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(worker.backoff(1)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+            assertThat(worker.backoff(2)).isBetween(Duration.ofSeconds(10), Duration.ofSeconds(20));
+            assertThat(worker.backoff(4)).isBetween(Duration.ofSeconds(40), Duration.ofSeconds(80));
+            assertThat(worker.backoff(12)).isBetween(Duration.ofMinutes(30), Duration.ofHours(1));
+            // Past the width of the shift the cap applies rather than an overflowed delay
+            assertThat(worker.backoff(64)).isBetween(Duration.ofMinutes(30), Duration.ofHours(1));
+        }
+    }
+
+    @Test
+    void pollerSurvivesAFailedTransaction() throws Exception {
+        UUID id = enqueue(null, 1).getFirst();
+        CountDownLatch ran = new CountDownLatch(1);
+        JobWorker worker = new JobWorker(jobRepository, new TransactionTemplate(new FailingOnceTransactionManager(postgres.dataSource())),
+            properties(), List.of(handler(ran)), new SimpleMeterRegistry());
+
+        worker.start();
+        try {
+            assertThat(ran.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            worker.stop();
+        }
+
+        assertThat(jobRepository.findById(id))
+            .hasValueSatisfying(job -> assertThat(job.status()).isEqualTo(Job.Status.SUCCEEDED));
+    }
+
+    private static JobWorker worker() {
+        return new JobWorker(jobRepository, transactionTemplate, properties(), List.of(), new SimpleMeterRegistry());
+    }
+
+    private static JobProperties properties() {
+        return new JobProperties(true, 4, 8, Duration.ofMillis(50), Duration.ofMinutes(5), 5,
+            Duration.ofSeconds(10), Duration.ofHours(1), TENANT_CONCURRENCY, Duration.ofSeconds(5),
+            Duration.ofDays(7), Duration.ofHours(1));
+    }
+
+    private static List<UUID> enqueue(UUID tenantId, int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(jobRepository.create(UUID.randomUUID(), "test", tenantId, null, 3, ADMIN_ID).id());
+            // Claims go oldest first; keep run_after distinct so the order is the insertion order
+            dsl.update(JobRepository.JOBS)
+                .set(JobRepository.RUN_AFTER, DSL.field("current_timestamp - {0} * interval '1 second'",
+                    OffsetDateTime.class, DSL.val(count - i)))
+                .where(JobRepository.ID.eq(ids.getLast()))
+                .execute();
+        }
+        return ids;
+    }
+
+    private static JobHandler handler(CountDownLatch ran) {
+        return new JobHandler() {
+            @Override
+            public String type() {
+                return "test";
+            }
+
+            @Override
+            public void execute(Job job) {
+                ran.countDown();
+            }
+        };
+    }
+
+    private static List<UUID> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::id).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fails to open the first transaction, as when the pool has no connection to hand out.
+     */
+    static class FailingOnceTransactionManager extends DataSourceTransactionManager {
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        FailingOnceTransactionManager(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            if (failed.compareAndSet(false, true)) {
+                throw new CannotCreateTransactionException("Simulated connection failure");
+            }
+            super.doBegin(transaction, definition);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.mayuran19.mms.platform.outbox;
+
+import com.mayuran19.mms.platform.events.ChangeEvent;
+import com.mayuran19.mms.support.LocalPostgres;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxRelayTests {
+
+    private static final int BATCH_SIZE = 2;
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static TransactionTemplate transactionTemplate;
+    private static OutboxRepository outboxRepository;
+    private static Outbox outbox;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+        transactionTemplate = postgres.transactionTemplate();
+        outboxRepository = new OutboxRepository(dsl);
+        outbox = new Outbox(outboxRepository);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void emptyOutbox() {
+        dsl.deleteFrom(OutboxRepository.OUTBOX_EVENTS).execute();
+    }
+
+    @Test
+    void deletesEventsOnceEverySinkHasTakenThem() {
+        List<ChangeEvent> events = changes(3);
+        transactionTemplate.executeWithoutResult(status -> outbox.addAll(events, ADMIN_ID));
+        RecordingSink first = new RecordingSink("first");
+        RecordingSink second = new RecordingSink("second");
+        OutboxRelay relay = relay(first, second);
+
+        assertThat(relay.relayBatch()).isTrue();
+        assertThat(countEvents()).isEqualTo(1);
+        assertThat(relay.relayBatch()).isFalse();
+        assertThat(countEvents()).isZero();
+
+        assertThat(first.entityIds()).containsExactlyElementsOf(events.stream().map(ChangeEvent::id).toList());
+        assertThat(second.entityIds()).isEqualTo(first.entityIds());
+    }
+
+    @Test
+    void leavesEventsInPlaceWhenASinkFailsAndDeliversThemAgain() {
+        transactionTemplate.executeWithoutResult(status -> outbox.addAll(changes(2), ADMIN_ID));
+        RecordingSink healthy = new RecordingSink("healthy");
+        RecordingSink flaky = new RecordingSink("flaky");
+        flaky.failing = true;
+        OutboxRelay relay = relay(healthy, flaky);
+
+        assertThatThrownBy(relay::relayBatch).isInstanceOf(OutboxRelay.DeliveryException.class);
+        assertThat(countEvents()).isEqualTo(2);
+
+        flaky.failing = false;
+        assertThat(relay.relayBatch()).isTrue();
+        assertThat(countEvents()).isZero();
+
+        // The sink that took the first attempt gets the same events again, identified by eventId
+        assertThat(healthy.received).hasSize(4);
+        assertThat(healthy.received.subList(2, 4)).map(OutboxEvent::eventId)
+            .containsExactlyElementsOf(healthy.received.subList(0, 2).stream().map(OutboxEvent::eventId).toList());
+        assertThat(flaky.received).hasSize(4);
+    }
+
+    @Test
+    void standsByWhileAnotherRelayIsActive() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> outbox.addAll(changes(2), ADMIN_ID));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Stands in for the relay of another node in the middle of a batch
+        CompletableFuture<Void> active = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            assertThat(outboxRepository.tryLockRelay()).isTrue();
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        RecordingSink sink = new RecordingSink("sink");
+        OutboxRelay standby = relay(sink);
+        assertThat(standby.relayBatch()).isFalse();
+        assertThat(sink.received).isEmpty();
+        assertThat(countEvents()).isEqualTo(2);
+
+        release.countDown();
+        active.get(10, TimeUnit.SECONDS);
+        assertThat(standby.relayBatch()).isTrue();
+        assertThat(sink.received).hasSize(2);
+    }
+
+    @Test
+    void writesNothingForARolledBackChange() {
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.add(changes(1).getFirst(), ADMIN_ID);
+            outbox.addAll(changes(2), ADMIN_ID);
+            status.setRollbackOnly();
+        });
+
+        assertThat(countEvents()).isZero();
+        RecordingSink sink = new RecordingSink("sink");
+        assertThat(relay(sink).relayBatch()).isFalse();
+        assertThat(sink.received).isEmpty();
+    }
+
+    private static OutboxRelay relay(OutboxSink... sinks) {
+        OutboxProperties properties = new OutboxProperties(true, BATCH_SIZE, Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMinutes(1), new OutboxProperties.File(false, Path.of("unused.jsonl")),
+            new OutboxProperties.Webhook(false, URI.create("http://localhost:8089/events"), Duration.ofSeconds(2),
+                Duration.ofSeconds(10)));
+        return new OutboxRelay(outboxRepository, transactionTemplate, properties, List.of(sinks), new SimpleMeterRegistry());
+    }
+
+    private static List<ChangeEvent> changes(int count) {
+        UUID tenantId = UUID.randomUUID();
+        List<ChangeEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new ChangeEvent(ChangeEvent.Entity.TENANT_USER, ChangeEvent.Action.CREATED, UUID.randomUUID(), tenantId));
+        }
+        return events;
+    }
+
+    private static int countEvents() {
+        return dsl.fetchCount(OutboxRepository.OUTBOX_EVENTS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Keeps every batch it is handed, including those it then fails, as a remote endpoint that
+     * received the request but whose answer was lost would.
+     */
+    static class RecordingSink implements OutboxSink {
+
+        private final String name;
+        final List<OutboxEvent> received = new ArrayList<>();
+        volatile boolean failing;
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void deliver(List<OutboxEvent> events) throws IOException {
+            received.addAll(events);
+            if (failing) {
+                throw new IOException("Simulated delivery failure");
+            }
+        }
+
+        List<UUID> entityIds() {
+            return received.stream().map(OutboxEvent::entityId).toList();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mayuran19.mms.platform.stats;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.Record3;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.mayuran19.mms.support.Fixtures.insertTenant;
+import static com.mayuran19.mms.support.Fixtures.insertTenantUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class DashboardStatsRepositoryTests {
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static DashboardStatsRepository dashboardStatsRepository;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+        dashboardStatsRepository = new DashboardStatsRepository(dsl);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void countsMembersWithoutAStatusInsteadOfTreatingThemAsNoMembers() {
+        UUID tenantId = insertTenant(dsl, "vandelay");
+        insertTenantUsers(dsl, tenantId, "vandelay-active", 3, "ACTIVE");
+        insertTenantUsers(dsl, tenantId, "vandelay-unset", 2, null);
+        UUID emptyTenantId = insertTenant(dsl, "kramerica");
+
+        dashboardStatsRepository.refresh();
+
+        assertThat(statuses(tenantId)).containsOnly(entry("ACTIVE", 3L), entry("UNKNOWN", 2L));
+        assertThat(statuses(emptyTenantId)).containsOnly(entry(DashboardStatsRepository.NO_MEMBERS, 0L));
+        assertThat(dashboardStatsRepository.countMembersByStatus())
+            .hasEntrySatisfying("UNKNOWN", count -> assertThat(count).isGreaterThanOrEqualTo(2L))
+            .doesNotContainKey(DashboardStatsRepository.NO_MEMBERS);
+    }
+
+    private static Map<String, Long> statuses(UUID tenantId) {
+        return dashboardStatsRepository.findByTenantId(tenantId).stream()
+            .collect(Collectors.toMap(Record3::value2, Record3::value3));
+    }
+}
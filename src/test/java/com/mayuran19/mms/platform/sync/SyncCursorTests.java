@@ -0,0 +1,63 @@
+package com.mayuran19.mms.platform.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncCursorTests {
+
+    @Test
+    void roundTripsAtMicrosecondPrecision() {
+        SyncCursor cursor = new SyncCursor(
+            OffsetDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000, ZoneOffset.ofHours(8)),
+            UUID.fromString("0193f6a2-7c1e-7d4b-9a2f-3c5e8b1d4f60"));
+
+        SyncCursor decoded = SyncCursor.decode(cursor.encode());
+
+        assertThat(decoded.compareTo(cursor)).isZero();
+        assertThat(decoded.id()).isEqualTo(cursor.id());
+        assertThat(decoded.modified().toInstant()).isEqualTo(cursor.modified().toInstant());
+    }
+
+    @Test
+    void roundTripsHorizonAndRejectsCursorsWithoutOne() {
+        OffsetDateTime modified = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime horizon = OffsetDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000, ZoneOffset.UTC);
+        UUID id = UUID.fromString("0193f6a2-7c1e-7d4b-9a2f-3c5e8b1d4f60");
+
+        SyncCursor decoded = SyncCursor.decode(new SyncCursor(modified, id).withHorizon(horizon).encode());
+        assertThat(decoded.horizon().toInstant()).isEqualTo(horizon.toInstant());
+        assertThat(decoded.modified().toInstant()).isEqualTo(modified.toInstant());
+
+        String withoutHorizon = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(("1577836800000000_" + id).getBytes(StandardCharsets.US_ASCII));
+        assertThatThrownBy(() -> SyncCursor.decode(withoutHorizon))
+            .isInstanceOf(SyncService.InvalidCursorException.class);
+    }
+
+    @Test
+    void ordersIdsAsUnsignedBytesLikePostgres() {
+        OffsetDateTime modified = OffsetDateTime.now();
+        SyncCursor low = new SyncCursor(modified, UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"));
+        SyncCursor high = new SyncCursor(modified, UUID.fromString("80000000-0000-0000-0000-000000000000"));
+
+        // UUID.compareTo treats the high bit as a sign and would order these the other way round
+        assertThat(low.id().compareTo(high.id())).isPositive();
+        assertThat(low.compareTo(high)).isNegative();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> SyncCursor.decode("not a cursor"))
+            .isInstanceOf(SyncService.InvalidCursorException.class);
+        assertThatThrownBy(() -> SyncCursor.decode("MTIz"))
+            .isInstanceOf(SyncService.InvalidCursorException.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.mayuran19.mms.platform.sync;
+
+import com.mayuran19.mms.platform.sync.dto.ChangesResponse;
+import com.mayuran19.mms.platform.tenant.TenantRepository;
+import com.mayuran19.mms.platform.tenant.TenantUserRepository;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncServiceTests {
+
+    private static final UUID ACME_ID = UUID.fromString("01900000-0000-7000-8000-000000000001");
+    private static final UUID ADMIN_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static SyncService syncService;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate().seed("db/seed/test-data.sql");
+        dsl = DSL.using(postgres.dataSource(), SQLDialect.POSTGRES);
+        syncService = new SyncService(
+            new TenantRepository(dsl),
+            new TenantUserRepository(dsl),
+            new TombstoneRepository(dsl),
+            new SyncProperties(Duration.ZERO, RETENTION, Duration.ofHours(1), 2, 1000)
+        );
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void fullSyncPagesThroughRowsOlderThanTheRetention() {
+        List<UUID> old = insertMembers(5, OffsetDateTime.now().minus(RETENTION).minusDays(10));
+
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        ChangesResponse<TenantUserResponse> page;
+        do {
+            page = syncService.getTenantUserChanges(cursor, null, 2);
+            page.changed().forEach(user -> seen.add(user.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (page.hasMore());
+
+        assertThat(pages).isGreaterThan(2);
+        assertThat(seen).containsAll(old);
+        // Caught up, the watermark resumes from now rather than from the old rows
+        assertThat(syncService.getTenantUserChanges(cursor, null, 2).changed()).isEmpty();
+    }
+
+    @Test
+    void rejectsCursorsWhoseDeletionsMayBePurged() {
+        OffsetDateTime expired = OffsetDateTime.now().minus(RETENTION).minusDays(1);
+
+        assertThatThrownBy(() -> syncService.getTenantUserChanges(null, expired, null))
+            .isInstanceOf(SyncService.CursorExpiredException.class);
+        // Caught up that long ago: deletions since then may already be gone
+        String stale = new SyncCursor(expired, UUID.randomUUID()).encode();
+        assertThatThrownBy(() -> syncService.getTenantUserChanges(stale, null, null))
+            .isInstanceOf(SyncService.CursorExpiredException.class);
+    }
+
+    private static List<UUID> insertMembers(int count, OffsetDateTime modified) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            dsl.insertInto(TENANT_USERS)
+                .set(TENANT_USERS.ID, id)
+                .set(TENANT_USERS.TENANT_ID, ACME_ID)
+                .set(TENANT_USERS.EMAIL, "old-" + i + "@acme.test")
+                .set(TENANT_USERS.PASSWORD_HASH, "unused")
+                .set(TENANT_USERS.STATUS, "ACTIVE")
+                .set(TENANT_USERS.CREATED_BY, ADMIN_ID)
+                .set(TENANT_USERS.CREATED_DATE, modified)
+                .set(TENANT_USERS.LAST_MODIFIED_BY, ADMIN_ID)
+                .set(TENANT_USERS.LAST_MODIFIED_DATE, modified.plusSeconds(i))
+                .execute();
+            ids.add(id);
+        }
+        return ids;
+    }
+}
\ No newline at end of file
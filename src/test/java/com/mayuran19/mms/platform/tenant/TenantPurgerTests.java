@@ -0,0 +1,183 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.platform.events.ChangeEventPublisher;
+import com.mayuran19.mms.platform.outbox.Outbox;
+import com.mayuran19.mms.platform.tenant.TenantDeletionRepository.TenantDeletion;
+import com.mayuran19.mms.platform.tenant.dto.CreateTenantRequest;
+import com.mayuran19.mms.security.CustomUserDetailsService;
+import com.mayuran19.mms.security.bloom.KnownUserFilter;
+import com.mayuran19.mms.security.session.ConcurrentSessionControl;
+import com.mayuran19.mms.security.session.ConcurrentSessionProperties;
+import com.mayuran19.mms.security.token.TokenService;
+import com.mayuran19.mms.support.LocalPostgres;
+import com.mayuran19.mms.support.PlatformServices;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mayuran19.mms.jooq.Tables.TENANTS;
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static com.mayuran19.mms.support.Fixtures.countSessions;
+import static com.mayuran19.mms.support.Fixtures.insertSession;
+import static com.mayuran19.mms.support.Fixtures.insertTenantUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantPurgerTests {
+
+    private static final int BATCH_SIZE = 3;
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static TransactionTemplate transactionTemplate;
+    private static FailingTenantStatsRepository tenantStatsRepository;
+    private static TenantDeletionRepository tenantDeletionRepository;
+    private static TenantService tenantService;
+    private static TenantPurger tenantPurger;
+    private static CustomUserDetailsService userDetailsService;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate().seed("db/seed/test-data.sql");
+        dsl = postgres.transactionalDsl();
+        transactionTemplate = postgres.transactionTemplate();
+        PlatformServices services = PlatformServices.create(dsl, transactionTemplate);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+
+        TenantRepository tenantRepository = new TenantRepository(dsl);
+        TenantUserRepository tenantUserRepository = new TenantUserRepository(dsl);
+        tenantStatsRepository = new FailingTenantStatsRepository(dsl);
+        tenantDeletionRepository = new TenantDeletionRepository(dsl);
+
+        tenantService = new TenantService(tenantRepository, tenantStatsRepository, tenantDeletionRepository,
+            services.dashboardStatsService(), services.syncService(), services.auditLog(),
+            beans.getBeanProvider(ChangeEventPublisher.class), beans.getBeanProvider(Outbox.class),
+            services.meterRegistry());
+        tenantPurger = new TenantPurger(tenantDeletionRepository, tenantRepository, tenantUserRepository,
+            tenantStatsRepository, services.syncService(), services.dashboardStatsService(), services.auditLog(),
+            new ConcurrentSessionControl(dsl, new ConcurrentSessionProperties(1)), beans.getBeanProvider(TokenService.class),
+            transactionTemplate,
+            new TenantDeletionProperties(Duration.ofHours(1), BATCH_SIZE, Duration.ZERO, Duration.ofSeconds(30)),
+            services.meterRegistry());
+        userDetailsService = new CustomUserDetailsService(dsl, beans.getBeanProvider(KnownUserFilter.class));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void hidesTheTenantAtOnceAndPurgesItInTheBackground() {
+        UUID tenantId = createTenant("initech", 7);
+        List<UUID> members = memberIds(tenantId);
+        insertSession(dsl, "TENANT:" + members.get(0));
+        insertSession(dsl, "TENANT:" + members.get(1));
+        assertThat(userDetailsService.loadUserByUsername("initech-0@initech.test@tenant:initech")).isNotNull();
+
+        transactionTemplate.executeWithoutResult(status -> tenantService.deleteTenant(tenantId, ADMIN_ID));
+
+        assertThat(dsl.select(TENANTS.STATUS).from(TENANTS).where(TENANTS.ID.eq(tenantId)).fetchOne(TENANTS.STATUS))
+            .isEqualTo(TenantRepository.STATUS_DELETING);
+        assertThatThrownBy(() -> tenantService.getTenantById(tenantId))
+            .isInstanceOf(TenantService.TenantNotFoundException.class);
+        assertThatThrownBy(() -> tenantService.getTenantBySlug("initech"))
+            .isInstanceOf(TenantService.TenantNotFoundException.class);
+        assertThat(tenantService.getAllTenants()).noneMatch(tenant -> tenant.id().equals(tenantId));
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("initech-0@initech.test@tenant:initech"))
+            .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(tenantDeletionRepository.findByTenantId(tenantId)).hasValueSatisfying(deletion -> {
+            assertThat(deletion.membersTotal()).isEqualTo(7);
+            assertThat(deletion.completedDate()).isNull();
+        });
+        // Nothing is purged by the request itself
+        assertThat(memberIds(tenantId)).hasSize(7);
+
+        tenantPurger.purge();
+
+        assertThat(dsl.fetchCount(TENANTS, TENANTS.ID.eq(tenantId))).isZero();
+        assertThat(memberIds(tenantId)).isEmpty();
+        assertThat(countSessions(dsl, "TENANT:" + members.get(0)) + countSessions(dsl, "TENANT:" + members.get(1))).isZero();
+        assertThat(tenantStatsRepository.findMemberCount(tenantId)).isEmpty();
+        assertThat(dsl.fetchCount(DSL.table(DSL.name("tombstones")),
+            DSL.field(DSL.name("tenant_id")).eq(tenantId),
+            DSL.field(DSL.name("entity_type")).eq("TENANT_USER"))).isEqualTo(7);
+        TenantDeletion deletion = tenantDeletionRepository.findByTenantId(tenantId).orElseThrow();
+        assertThat(deletion.membersDeleted()).isEqualTo(7);
+        assertThat(deletion.sessionsDeleted()).isEqualTo(2);
+        assertThat(deletion.completedDate()).isNotNull();
+    }
+
+    @Test
+    void resumesAfterAFailedBatch() {
+        UUID tenantId = createTenant("hooli", 7);
+        transactionTemplate.executeWithoutResult(status -> tenantService.deleteTenant(tenantId, ADMIN_ID));
+
+        // The first batch commits, the second rolls back and ends the run
+        tenantStatsRepository.failAfter(1);
+        tenantPurger.purge();
+
+        TenantDeletion interrupted = tenantDeletionRepository.findByTenantId(tenantId).orElseThrow();
+        assertThat(interrupted.membersDeleted()).isEqualTo(BATCH_SIZE);
+        assertThat(interrupted.completedDate()).isNull();
+        assertThat(memberIds(tenantId)).hasSize(7 - BATCH_SIZE);
+        assertThat(tenantStatsRepository.findMemberCount(tenantId)).contains((long) 7 - BATCH_SIZE);
+
+        tenantPurger.purge();
+
+        TenantDeletion deletion = tenantDeletionRepository.findByTenantId(tenantId).orElseThrow();
+        assertThat(deletion.membersDeleted()).isEqualTo(7);
+        assertThat(deletion.completedDate()).isNotNull();
+        assertThat(dsl.fetchCount(TENANTS, TENANTS.ID.eq(tenantId))).isZero();
+    }
+
+    private static UUID createTenant(String slug, int members) {
+        return transactionTemplate.execute(status -> {
+            UUID id = tenantService.createTenant(new CreateTenantRequest(slug, slug, "ACTIVE"), ADMIN_ID).id();
+            insertTenantUsers(dsl, id, slug, members, "ACTIVE");
+            tenantStatsRepository.addMembers(id, members);
+            return id;
+        });
+    }
+
+    private static List<UUID> memberIds(UUID tenantId) {
+        return dsl.select(TENANT_USERS.ID).from(TENANT_USERS).where(TENANT_USERS.TENANT_ID.eq(tenantId)).fetch(TENANT_USERS.ID);
+    }
+
+    /**
+     * Lets a given number of counter updates through and fails the next one, rolling back the
+     * purge batch it belongs to.
+     */
+    static class FailingTenantStatsRepository extends TenantStatsRepository {
+
+        private final AtomicInteger remaining = new AtomicInteger(-1);
+
+        FailingTenantStatsRepository(DSLContext dsl) {
+            super(dsl);
+        }
+
+        void failAfter(int updates) {
+            remaining.set(updates);
+        }
+
+        @Override
+        public void addMembers(UUID tenantId, long delta) {
+            if (remaining.getAndUpdate(n -> n >= 0 ? n - 1 : n) == 0) {
+                throw new DataAccessResourceFailureException("Simulated counter update failure");
+            }
+            super.addMembers(tenantId, delta);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantRepositoryTests {
+
+    private static final UUID ACME_ID = UUID.fromString("01900000-0000-7000-8000-000000000001");
+
+    private static LocalPostgres postgres;
+    private static TenantRepository tenantRepository;
+    private static TenantUserRepository tenantUserRepository;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate().seed("db/seed/test-data.sql");
+        DSLContext dsl = DSL.using(postgres.dataSource(), SQLDialect.POSTGRES);
+        tenantRepository = new TenantRepository(dsl);
+        tenantUserRepository = new TenantUserRepository(dsl);
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void findsSeededTenantBySlug() {
+        assertThat(tenantRepository.findBySlug("acme"))
+            .hasValueSatisfying(tenant -> assertThat(tenant.getId()).isEqualTo(ACME_ID));
+    }
+
+    @Test
+    void countsUsersOfTenant() {
+        assertThat(tenantUserRepository.countByTenantId(ACME_ID)).isEqualTo(2);
+    }
+
+}
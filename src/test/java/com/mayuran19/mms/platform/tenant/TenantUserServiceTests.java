@@ -0,0 +1,323 @@
+package com.mayuran19.mms.platform.tenant;
+
+import com.mayuran19.mms.platform.events.ChangeEventPublisher;
+import com.mayuran19.mms.platform.outbox.Outbox;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserDeleteRequest;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserResponse.Outcome;
+import com.mayuran19.mms.platform.tenant.dto.BulkTenantUserStatusRequest;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserFilter;
+import com.mayuran19.mms.platform.tenant.dto.TenantUserResponse;
+import com.mayuran19.mms.platform.tenant.dto.UpdateTenantUserRequest;
+import com.mayuran19.mms.security.AuthenticatedUser;
+import com.mayuran19.mms.security.CustomUserDetails;
+import com.mayuran19.mms.security.PlatformUserPrincipal;
+import com.mayuran19.mms.security.bloom.KnownUserFilter;
+import com.mayuran19.mms.security.session.ConcurrentSessionControl;
+import com.mayuran19.mms.security.session.ConcurrentSessionProperties;
+import com.mayuran19.mms.security.token.RevokedTokenRepository;
+import com.mayuran19.mms.security.token.TokenCodec;
+import com.mayuran19.mms.security.token.TokenProperties;
+import com.mayuran19.mms.security.token.TokenRevocationList;
+import com.mayuran19.mms.security.token.TokenService;
+import com.mayuran19.mms.support.LocalPostgres;
+import com.mayuran19.mms.support.PlatformServices;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.mayuran19.mms.jooq.Tables.TENANTS;
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+import static com.mayuran19.mms.support.Fixtures.ADMIN_ID;
+import static com.mayuran19.mms.support.Fixtures.countSessions;
+import static com.mayuran19.mms.support.Fixtures.insertSession;
+import static com.mayuran19.mms.support.Fixtures.insertTenant;
+import static com.mayuran19.mms.support.Fixtures.insertTenantUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantUserServiceTests {
+
+    private static final UUID ACME_ID = UUID.fromString("01900000-0000-7000-8000-000000000001");
+    // Alice is a member of acme; using her id with another tenant must not reach her
+    private static final UUID ALICE_ID = UUID.fromString("01900000-0000-7000-8000-000000000101");
+    private static final PlatformUserPrincipal ADMIN = new PlatformUserPrincipal(ADMIN_ID, "admin", "admin@mms.test");
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+    private static TenantStatsRepository tenantStatsRepository;
+    private static TenantUserService tenantUserService;
+    private static TokenService tokenService;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate().seed("db/seed/test-data.sql");
+        dsl = postgres.transactionalDsl();
+        TransactionTemplate transactionTemplate = postgres.transactionTemplate();
+        PlatformServices services = PlatformServices.create(dsl, transactionTemplate);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+
+        TenantRepository tenantRepository = new TenantRepository(dsl);
+        TenantUserRepository tenantUserRepository = new TenantUserRepository(dsl);
+        tenantStatsRepository = new TenantStatsRepository(dsl);
+
+        tokenService = new TokenService(new TokenCodec(new byte[32]), new TokenRevocationList(new RevokedTokenRepository(dsl)),
+            new TokenProperties(true, null, Duration.ofMinutes(30), Duration.ofSeconds(30)));
+        beans.addBean("tokenService", tokenService);
+
+        tenantUserService = new TenantUserService(tenantUserRepository, tenantRepository, tenantStatsRepository,
+            services.dashboardStatsService(), services.syncService(), services.auditLog(), new BCryptPasswordEncoder(),
+            beans.getBeanProvider(KnownUserFilter.class), beans.getBeanProvider(ChangeEventPublisher.class),
+            beans.getBeanProvider(Outbox.class), beans.getBeanProvider(TokenService.class), new ConcurrentSessionControl(dsl, new ConcurrentSessionProperties(1)),
+            transactionTemplate, services.meterRegistry());
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void setsTheStatusOfTheGivenIdsAndReportsEachOutcome() {
+        UUID tenantId = insertTenant(dsl, "umbrella");
+        List<UUID> active = insertTenantUsers(dsl, tenantId, "umbrella", 2, "ACTIVE");
+        UUID suspended = insertTenantUsers(dsl, tenantId, "umbrella-suspended", 1, "SUSPENDED").getFirst();
+        UUID stranger = UUID.randomUUID();
+        insertSession(dsl, "TENANT:" + active.get(0));
+        insertSession(dsl, "TENANT:" + active.get(1));
+        insertSession(dsl, "TENANT:" + ALICE_ID);
+        String suspendedToken = token(active.get(0), tenantId);
+        String aliceToken = token(ALICE_ID, ACME_ID);
+
+        BulkTenantUserResponse response = tenantUserService.changeTenantUserStatus(ADMIN, tenantId,
+            new BulkTenantUserStatusRequest(List.of(active.get(0), active.get(1), suspended, ALICE_ID, stranger, active.get(0)),
+                null, "SUSPENDED"));
+
+        assertThat(outcomes(response)).containsExactlyInAnyOrderEntriesOf(Map.of(
+            active.get(0), Outcome.UPDATED,
+            active.get(1), Outcome.UPDATED,
+            suspended, Outcome.UNCHANGED,
+            ALICE_ID, Outcome.NOT_FOUND,
+            stranger, Outcome.NOT_FOUND));
+        assertThat(response.results()).hasSize(5);
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.complete()).isTrue();
+        assertThat(status(active.get(0))).isEqualTo("SUSPENDED");
+        // Suspended members are signed out; a member of another tenant is left alone
+        assertThat(countSessions(dsl, "TENANT:" + active.get(0)) + countSessions(dsl, "TENANT:" + active.get(1))).isZero();
+        assertThat(tokenService.validate(suspendedToken)).isEmpty();
+        assertThat(status(ALICE_ID)).isEqualTo("ACTIVE");
+        assertThat(countSessions(dsl, "TENANT:" + ALICE_ID)).isEqualTo(1);
+        assertThat(tokenService.validate(aliceToken)).isPresent();
+    }
+
+    @Test
+    void reactivatingMembersKeepsTheirSessions() {
+        UUID tenantId = insertTenant(dsl, "tyrell");
+        UUID member = insertTenantUsers(dsl, tenantId, "tyrell", 1, "INACTIVE").getFirst();
+        insertSession(dsl, "TENANT:" + member);
+
+        BulkTenantUserResponse response = tenantUserService.changeTenantUserStatus(ADMIN, tenantId,
+            new BulkTenantUserStatusRequest(List.of(member), null, "ACTIVE"));
+
+        assertThat(outcomes(response)).containsExactlyEntriesOf(Map.of(member, Outcome.UPDATED));
+        assertThat(countSessions(dsl, "TENANT:" + member)).isEqualTo(1);
+    }
+
+    @Test
+    void setsTheStatusOfTheMembersMatchingAFilter() {
+        UUID tenantId = insertTenant(dsl, "cyberdyne");
+        List<UUID> active = insertTenantUsers(dsl, tenantId, "cyberdyne", 3, "ACTIVE");
+        List<UUID> inactive = insertTenantUsers(dsl, tenantId, "cyberdyne-inactive", 2, "INACTIVE");
+
+        BulkTenantUserResponse response = tenantUserService.changeTenantUserStatus(ADMIN, tenantId,
+            new BulkTenantUserStatusRequest(null, new TenantUserFilter("INACTIVE", null, null), "SUSPENDED"));
+
+        assertThat(outcomes(response)).containsOnlyKeys(inactive);
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.complete()).isTrue();
+        assertThat(active).allSatisfy(id -> assertThat(status(id)).isEqualTo("ACTIVE"));
+        assertThat(inactive).allSatisfy(id -> assertThat(status(id)).isEqualTo("SUSPENDED"));
+        // Nothing matches any more, so repeating the request is a no-op
+        assertThat(tenantUserService.changeTenantUserStatus(ADMIN, tenantId,
+            new BulkTenantUserStatusRequest(null, new TenantUserFilter("INACTIVE", null, null), "SUSPENDED")).results())
+            .isEmpty();
+    }
+
+    @Test
+    void stopsAFilterAfterTenThousandMembersAndContinuesWhenRepeated() {
+        UUID tenantId = insertTenant(dsl, "massive");
+        dsl.execute("""
+            insert into tenant_users (id, tenant_id, email, password_hash, status, created_by, created_date,
+                                      last_modified_by, last_modified_date)
+            select md5({0}::text || n)::uuid, {0}, 'massive-' || n || '@massive.test', 'unused', 'ACTIVE', {1},
+                   current_timestamp, {1}, current_timestamp
+            from generate_series(1, 10001) n
+            """, DSL.val(tenantId), DSL.val(ADMIN_ID));
+        BulkTenantUserStatusRequest request = new BulkTenantUserStatusRequest(null,
+            new TenantUserFilter("ACTIVE", null, null), "INACTIVE");
+
+        BulkTenantUserResponse first = tenantUserService.changeTenantUserStatus(ADMIN, tenantId, request);
+
+        assertThat(first.complete()).isFalse();
+        assertThat(first.results()).hasSize(10_000);
+        assertThat(first.succeeded()).isEqualTo(10_000);
+
+        BulkTenantUserResponse second = tenantUserService.changeTenantUserStatus(ADMIN, tenantId, request);
+
+        assertThat(second.complete()).isTrue();
+        assertThat(second.results()).singleElement()
+            .satisfies(result -> assertThat(result.outcome()).isEqualTo(Outcome.UPDATED));
+        assertThat(dsl.fetchCount(TENANT_USERS, TENANT_USERS.TENANT_ID.eq(tenantId).and(TENANT_USERS.STATUS.eq("ACTIVE"))))
+            .isZero();
+    }
+
+    @Test
+    void deletesTheGivenMembersWithTheirSessionsTombstonesAndCount() {
+        UUID tenantId = insertTenant(dsl, "wonka");
+        List<UUID> members = insertTenantUsers(dsl, tenantId, "wonka", 3, "ACTIVE");
+        tenantStatsRepository.addMembers(tenantId, 3);
+        insertSession(dsl, "TENANT:" + members.get(0));
+        insertSession(dsl, "TENANT:" + ALICE_ID);
+        UUID stranger = UUID.randomUUID();
+
+        BulkTenantUserResponse response = tenantUserService.deleteTenantUsers(ADMIN, tenantId,
+            new BulkTenantUserDeleteRequest(List.of(members.get(0), members.get(1), ALICE_ID, stranger), null));
+
+        assertThat(outcomes(response)).containsExactlyInAnyOrderEntriesOf(Map.of(
+            members.get(0), Outcome.DELETED,
+            members.get(1), Outcome.DELETED,
+            ALICE_ID, Outcome.NOT_FOUND,
+            stranger, Outcome.NOT_FOUND));
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(memberIds(tenantId)).containsExactly(members.get(2));
+        assertThat(tenantStatsRepository.findMemberCount(tenantId)).contains(1L);
+        assertThat(countSessions(dsl, "TENANT:" + members.get(0))).isZero();
+        assertThat(tombstoneCount(tenantId)).isEqualTo(2);
+        assertThat(status(ALICE_ID)).isEqualTo("ACTIVE");
+        assertThat(countSessions(dsl, "TENANT:" + ALICE_ID)).isEqualTo(1);
+    }
+
+    @Test
+    void deletingOneMemberSignsItOut() {
+        UUID tenantId = insertTenant(dsl, "nakatomi");
+        UUID member = insertTenantUsers(dsl, tenantId, "nakatomi", 1, "ACTIVE").getFirst();
+        tenantStatsRepository.addMembers(tenantId, 1);
+        insertSession(dsl, "TENANT:" + member);
+        String token = token(member, tenantId);
+
+        tenantUserService.deleteTenantUser(ADMIN, member);
+
+        assertThat(memberIds(tenantId)).isEmpty();
+        assertThat(countSessions(dsl, "TENANT:" + member)).isZero();
+        assertThat(tokenService.validate(token)).isEmpty();
+    }
+
+    @Test
+    void deletesTheMembersMatchingAFilter() {
+        UUID tenantId = insertTenant(dsl, "initrode");
+        List<UUID> active = insertTenantUsers(dsl, tenantId, "initrode", 2, "ACTIVE");
+        List<UUID> suspended = insertTenantUsers(dsl, tenantId, "initrode-suspended", 3, "SUSPENDED");
+        tenantStatsRepository.addMembers(tenantId, 5);
+
+        BulkTenantUserResponse response = tenantUserService.deleteTenantUsers(ADMIN, tenantId,
+            new BulkTenantUserDeleteRequest(null, new TenantUserFilter("SUSPENDED", null, null)));
+
+        assertThat(outcomes(response)).containsOnlyKeys(suspended);
+        assertThat(response.succeeded()).isEqualTo(3);
+        assertThat(response.complete()).isTrue();
+        assertThat(memberIds(tenantId)).containsExactlyInAnyOrderElementsOf(active);
+        assertThat(tenantStatsRepository.findMemberCount(tenantId)).contains(2L);
+        assertThat(tombstoneCount(tenantId)).isEqualTo(3);
+    }
+
+    @Test
+    void memberListVersionChangesWithEveryMemberWrite() {
+        UUID tenantId = insertTenant(dsl, "gringotts");
+        UUID member = insertTenantUsers(dsl, tenantId, "gringotts", 1, "ACTIVE").getFirst();
+        String initial = tenantUserService.getTenantUsersVersion(tenantId).eTag();
+
+        tenantUserService.updateTenantUser(ADMIN, member, new UpdateTenantUserRequest("Renamed", null, null));
+        String renamed = tenantUserService.getTenantUsersVersion(tenantId).eTag();
+        // Moving the timestamp back, as a late commit from another node would, still changes it
+        dsl.update(TENANT_USERS).set(TENANT_USERS.LAST_MODIFIED_DATE, TENANT_USERS.LAST_MODIFIED_DATE.minus(1))
+            .where(TENANT_USERS.ID.eq(member)).execute();
+        tenantUserService.changeTenantUserStatus(ADMIN, tenantId, new BulkTenantUserStatusRequest(List.of(member), null, "INACTIVE"));
+        String deactivated = tenantUserService.getTenantUsersVersion(tenantId).eTag();
+
+        assertThat(List.of(initial, renamed, deactivated)).doesNotHaveDuplicates();
+
+        dsl.update(TENANTS).set(TENANTS.STATUS, TenantRepository.STATUS_DELETING).where(TENANTS.ID.eq(tenantId)).execute();
+        assertThatThrownBy(() -> tenantUserService.getTenantUsersVersion(tenantId))
+            .isInstanceOf(TenantUserService.TenantNotFoundException.class);
+    }
+
+    @Test
+    void searchRanksOnlyABoundedNumberOfCandidates() {
+        UUID tenantId = insertTenant(dsl, "dunder");
+        insertTenantUsers(dsl, tenantId, "dunder", 30, "ACTIVE");
+
+        assertThat(tenantUserService.searchTenantUsers(tenantId, "dunder-7@", 0, 5).users())
+            .extracting(TenantUserResponse::email)
+            .contains("dunder-7@dunder.test");
+        // Every member matches; only the candidates are ranked and paged through
+        assertThat(new TenantUserRepository(dsl).search(tenantId, "dunder", 10, 0, 100)).hasSize(10);
+        assertThat(new TenantUserRepository(dsl).search(tenantId, "dunder", 10, 8, 100)).hasSize(2);
+    }
+
+    @Test
+    void rejectsRequestsThatDoNotSelectMembersOneWay() {
+        UUID tenantId = insertTenant(dsl, "soylent");
+
+        assertThatThrownBy(() -> tenantUserService.deleteTenantUsers(ADMIN, tenantId,
+            new BulkTenantUserDeleteRequest(List.of(UUID.randomUUID()), new TenantUserFilter("ACTIVE", null, null))))
+            .isInstanceOf(TenantUserService.InvalidBulkRequestException.class);
+        assertThatThrownBy(() -> tenantUserService.deleteTenantUsers(ADMIN, tenantId,
+            new BulkTenantUserDeleteRequest(null, null)))
+            .isInstanceOf(TenantUserService.InvalidBulkRequestException.class);
+        // An empty filter would match the whole tenant
+        assertThatThrownBy(() -> tenantUserService.changeTenantUserStatus(ADMIN, tenantId,
+            new BulkTenantUserStatusRequest(null, new TenantUserFilter(null, null, null), "INACTIVE")))
+            .isInstanceOf(TenantUserService.InvalidBulkRequestException.class);
+        assertThatThrownBy(() -> tenantUserService.deleteTenantUsers(ADMIN, UUID.randomUUID(),
+            new BulkTenantUserDeleteRequest(List.of(ALICE_ID), null)))
+            .isInstanceOf(TenantUserService.TenantNotFoundException.class);
+    }
+
+    private static String token(UUID userId, UUID tenantId) {
+        String token = tokenService.issue(new AuthenticatedUser(userId, CustomUserDetails.UserType.TENANT, tenantId,
+            userId + "@test", userId + "@test"));
+        assertThat(tokenService.validate(token)).isPresent();
+        return token;
+    }
+
+    private static Map<UUID, Outcome> outcomes(BulkTenantUserResponse response) {
+        return response.results().stream()
+            .collect(Collectors.toMap(BulkTenantUserResponse.Result::id, BulkTenantUserResponse.Result::outcome));
+    }
+
+    private static String status(UUID userId) {
+        return dsl.select(TENANT_USERS.STATUS).from(TENANT_USERS).where(TENANT_USERS.ID.eq(userId)).fetchOne(TENANT_USERS.STATUS);
+    }
+
+    private static List<UUID> memberIds(UUID tenantId) {
+        return dsl.select(TENANT_USERS.ID).from(TENANT_USERS).where(TENANT_USERS.TENANT_ID.eq(tenantId)).fetch(TENANT_USERS.ID);
+    }
+
+    private static int tombstoneCount(UUID tenantId) {
+        return dsl.fetchCount(DSL.table(DSL.name("tombstones")),
+            DSL.field(DSL.name("tenant_id")).eq(tenantId),
+            DSL.field(DSL.name("entity_type")).eq("TENANT_USER"));
+    }
+}
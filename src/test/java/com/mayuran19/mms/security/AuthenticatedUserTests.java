@@ -0,0 +1,78 @@
+package com.mayuran19.mms.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticatedUserTests {
+
+    private final String passwordHash = new BCryptPasswordEncoder().encode("Admin@123");
+
+    private final CustomUserDetails userDetails = new CustomUserDetails(
+        UUID.randomUUID(),
+        "alice@acme.test",
+        "alice@acme.test",
+        passwordHash,
+        CustomUserDetails.UserType.TENANT,
+        UUID.randomUUID(),
+        true
+    );
+
+    @Test
+    void sessionPayloadIsSmallerAndCarriesNoPasswordHash() throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.from(userDetails);
+
+        byte[] before = serializedContext(userDetails);
+        byte[] after = serializedContext(user);
+
+        // At least the 60-character BCrypt hash is gone from every stored session
+        assertThat(after.length).isLessThanOrEqualTo(before.length - passwordHash.length());
+        assertThat(new String(before, StandardCharsets.ISO_8859_1)).contains(passwordHash);
+        assertThat(new String(after, StandardCharsets.ISO_8859_1)).doesNotContain(passwordHash);
+    }
+
+    @Test
+    void authoritiesAreSharedPerUserType() {
+        AuthenticatedUser user = AuthenticatedUser.from(userDetails);
+
+        assertThat(user.authorities()).isSameAs(userDetails.getAuthorities());
+        assertThat(user.authorities()).extracting("authority").containsExactly("ROLE_TENANT_USER");
+    }
+
+    @Test
+    void principalViewIsCachedAndRebuiltAfterDeserialization() throws IOException, ClassNotFoundException {
+        AuthenticatedUser user = AuthenticatedUser.from(userDetails);
+
+        assertThat(TenantUserPrincipal.from(user)).isSameAs(TenantUserPrincipal.from(user));
+
+        SecurityContextImpl context;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedContext(user)))) {
+            context = (SecurityContextImpl) in.readObject();
+        }
+        AuthenticatedUser restored = (AuthenticatedUser) context.getAuthentication().getPrincipal();
+
+        assertThat(restored.tenantUserPrincipal()).isEqualTo(user.tenantUserPrincipal());
+    }
+
+    private static byte[] serializedContext(Object principal) throws IOException {
+        // Same encoding Spring Session JDBC uses for the SPRING_SECURITY_CONTEXT attribute
+        SecurityContextImpl context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+            principal, null, CustomUserDetails.UserType.TENANT.authorities()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(context);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.mayuran19.mms.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of resolving {@code @CurrentTenantUser} / {@code @CurrentPlatformUser}
+ * arguments. Run with the GC profiler to check the allocation rate, which should be ~0 B/op:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mayuran19.mms.security.PrincipalResolutionBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalResolutionBenchmark {
+
+    private final CurrentTenantUserArgumentResolver tenantResolver = new CurrentTenantUserArgumentResolver();
+    private final CurrentPlatformUserArgumentResolver platformResolver = new CurrentPlatformUserArgumentResolver();
+
+    private SecurityContextImpl tenantContext;
+    private SecurityContextImpl platformContext;
+
+    @Setup(Level.Trial)
+    public void createContexts() {
+        tenantContext = context(new AuthenticatedUser(
+            UUID.randomUUID(), CustomUserDetails.UserType.TENANT, UUID.randomUUID(), "alice@acme.test", "alice@acme.test"));
+        platformContext = context(new AuthenticatedUser(
+            UUID.randomUUID(), CustomUserDetails.UserType.PLATFORM, null, "admin", "admin@platform.local"));
+    }
+
+    @TearDown(Level.Trial)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object resolveTenantUser() {
+        SecurityContextHolder.setContext(tenantContext);
+        return tenantResolver.resolveArgument(null, null, null, null);
+    }
+
+    @Benchmark
+    public Object resolvePlatformUser() {
+        SecurityContextHolder.setContext(platformContext);
+        return platformResolver.resolveArgument(null, null, null, null);
+    }
+
+    @Benchmark
+    public Object authorities() {
+        return tenantContext.getAuthentication().getAuthorities();
+    }
+
+    private static SecurityContextImpl context(AuthenticatedUser user) {
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PrincipalResolutionBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
@@ -0,0 +1,29 @@
+package com.mayuran19.mms.security.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BloomFilterTests {
+
+    @Test
+    void hasNoFalseNegativesAndStaysNearTargetFalsePositiveRate() {
+        int entries = 100_000;
+        BloomFilter filter = BloomFilter.create(entries, 0.01);
+        for (int i = 0; i < entries; i++) {
+            filter.put("member" + i + "@acme.test");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < entries; i++) {
+            assertThat(filter.mightContain("member" + i + "@acme.test")).isTrue();
+            if (filter.mightContain("stranger" + i + "@acme.test")) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / entries).isLessThan(0.015);
+        assertThat(filter.expectedFalsePositiveRate()).isCloseTo(0.01, within(0.002));
+    }
+}
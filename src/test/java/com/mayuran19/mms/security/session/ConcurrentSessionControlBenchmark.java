@@ -0,0 +1,143 @@
+package com.mayuran19.mms.security.session;
+
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION;
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION_ATTRIBUTES;
+
+/**
+ * Cost of expiring a principal's prior sessions at login, as a function of how many sessions the
+ * principal holds: one set-based delete versus a lookup followed by a delete per session, and the
+ * whole session store work of a login, i.e. the expiry followed by saving the new session the way
+ * the JDBC session repository does at the end of the request. Runs against {@link LocalPostgres}:
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mayuran19.mms.security.session.ConcurrentSessionControlBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentSessionControlBenchmark {
+
+    private static final String PRINCIPAL = "TENANT:" + UUID.randomUUID();
+    private static final String CURRENT_SESSION = UUID.randomUUID().toString();
+
+    @Param({"1", "10", "100", "1000"})
+    int sessionsPerPrincipal;
+
+    private LocalPostgres postgres;
+    private DSLContext dsl;
+    private ConcurrentSessionControl control;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = DSL.using(postgres.dataSource(), SQLDialect.POSTGRES);
+        control = new ConcurrentSessionControl(dsl, new ConcurrentSessionProperties(1));
+        // Unrelated sessions so the principal index has realistic selectivity
+        insertSessions("PLATFORM:" + UUID.randomUUID(), 10_000);
+    }
+
+    @Setup(Level.Invocation)
+    public void createSessions() {
+        insertSessions(PRINCIPAL, sessionsPerPrincipal);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Benchmark
+    public int batchedExpiry() {
+        return control.onLogin(PRINCIPAL, CURRENT_SESSION);
+    }
+
+    @Benchmark
+    public int login() {
+        String sessionId = UUID.randomUUID().toString();
+        int expired = control.onLogin(PRINCIPAL, sessionId);
+        long now = System.currentTimeMillis();
+        String primaryId = UUID.randomUUID().toString();
+        dsl.insertInto(SPRING_SESSION,
+                SPRING_SESSION.PRIMARY_ID, SPRING_SESSION.SESSION_ID, SPRING_SESSION.CREATION_TIME,
+                SPRING_SESSION.LAST_ACCESS_TIME, SPRING_SESSION.MAX_INACTIVE_INTERVAL, SPRING_SESSION.EXPIRY_TIME,
+                SPRING_SESSION.PRINCIPAL_NAME)
+            .values(primaryId, sessionId, now, now, 1800, now + 1_800_000L, PRINCIPAL)
+            .execute();
+        dsl.insertInto(SPRING_SESSION_ATTRIBUTES,
+                SPRING_SESSION_ATTRIBUTES.SESSION_PRIMARY_ID, SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_NAME,
+                SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_BYTES)
+            .values(primaryId, "SPRING_SECURITY_CONTEXT", new byte[1024])
+            .values(primaryId, "org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME",
+                PRINCIPAL.getBytes())
+            .execute();
+        return expired;
+    }
+
+    @Benchmark
+    public int perSessionExpiry() {
+        List<String> sessionIds = dsl.select(SPRING_SESSION.SESSION_ID)
+            .from(SPRING_SESSION)
+            .where(SPRING_SESSION.PRINCIPAL_NAME.eq(PRINCIPAL))
+            .fetch(SPRING_SESSION.SESSION_ID);
+        for (String sessionId : sessionIds) {
+            dsl.deleteFrom(SPRING_SESSION)
+                .where(SPRING_SESSION.SESSION_ID.eq(sessionId))
+                .execute();
+        }
+        return sessionIds.size();
+    }
+
+    private void insertSessions(String principal, int count) {
+        long now = System.currentTimeMillis();
+        var sessions = dsl.insertInto(SPRING_SESSION,
+            SPRING_SESSION.PRIMARY_ID, SPRING_SESSION.SESSION_ID, SPRING_SESSION.CREATION_TIME,
+            SPRING_SESSION.LAST_ACCESS_TIME, SPRING_SESSION.MAX_INACTIVE_INTERVAL, SPRING_SESSION.EXPIRY_TIME,
+            SPRING_SESSION.PRINCIPAL_NAME);
+        var attributes = dsl.insertInto(SPRING_SESSION_ATTRIBUTES,
+            SPRING_SESSION_ATTRIBUTES.SESSION_PRIMARY_ID, SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_NAME,
+            SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_BYTES);
+        for (int i = 0; i < count; i++) {
+            String primaryId = UUID.randomUUID().toString();
+            sessions = sessions.values(primaryId, UUID.randomUUID().toString(), now, now - i, 1800, now + 1_800_000L, principal);
+            attributes = attributes.values(primaryId, "SPRING_SECURITY_CONTEXT", new byte[1024]);
+        }
+        sessions.execute();
+        attributes.execute();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ConcurrentSessionControlBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.mayuran19.mms.security.session;
+
+import com.mayuran19.mms.security.AuthenticatedUser;
+import com.mayuran19.mms.security.CustomUserDetails;
+import com.mayuran19.mms.support.LocalPostgres;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION_ATTRIBUTES;
+import static com.mayuran19.mms.support.Fixtures.insertSession;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Size of the stored {@code SPRING_SECURITY_CONTEXT} attribute per principal type, before and after
+ * the session principal was replaced by {@link AuthenticatedUser}. The sizes are published to the
+ * test report, so a run records the numbers for the current principal fields.
+ */
+class SessionAttributeSizeTests {
+
+    private static final String SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode("Admin@123");
+
+    private static LocalPostgres postgres;
+    private static DSLContext dsl;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres = LocalPostgres.start().migrate();
+        dsl = postgres.transactionalDsl();
+    }
+
+    @AfterAll
+    static void stopDatabase() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void leanTenantPrincipalShrinksTheStoredSecurityContext(TestReporter reporter) throws IOException {
+        assertStoredSizeShrinks(CustomUserDetails.UserType.TENANT, reporter);
+    }
+
+    @Test
+    void leanPlatformPrincipalShrinksTheStoredSecurityContext(TestReporter reporter) throws IOException {
+        assertStoredSizeShrinks(CustomUserDetails.UserType.PLATFORM, reporter);
+    }
+
+    private static void assertStoredSizeShrinks(CustomUserDetails.UserType userType, TestReporter reporter)
+        throws IOException {
+        CustomUserDetails userDetails = new CustomUserDetails(
+            UUID.randomUUID(),
+            "alice@acme.test",
+            "alice@acme.test",
+            PASSWORD_HASH,
+            userType,
+            userType == CustomUserDetails.UserType.TENANT ? UUID.randomUUID() : null,
+            true
+        );
+
+        int before = storedSize(userDetails, userType);
+        int after = storedSize(AuthenticatedUser.from(userDetails), userType);
+
+        reporter.publishEntry(userType + ".userDetailsBytes", String.valueOf(before));
+        reporter.publishEntry(userType + ".authenticatedUserBytes", String.valueOf(after));
+        assertThat(after).isLessThanOrEqualTo(before - PASSWORD_HASH.length());
+    }
+
+    /**
+     * Stores the security context holding {@code principal} in a new session and returns the
+     * length of {@code attribute_bytes} as PostgreSQL reports it.
+     */
+    private static int storedSize(Object principal, CustomUserDetails.UserType userType) throws IOException {
+        String primaryId = insertSession(dsl, userType + ":" + UUID.randomUUID());
+        dsl.insertInto(SPRING_SESSION_ATTRIBUTES)
+            .set(SPRING_SESSION_ATTRIBUTES.SESSION_PRIMARY_ID, primaryId)
+            .set(SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_NAME, SECURITY_CONTEXT)
+            .set(SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_BYTES, serializedContext(principal, userType))
+            .execute();
+        return dsl.select(DSL.octetLength(SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_BYTES))
+            .from(SPRING_SESSION_ATTRIBUTES)
+            .where(SPRING_SESSION_ATTRIBUTES.SESSION_PRIMARY_ID.eq(primaryId))
+            .and(SPRING_SESSION_ATTRIBUTES.ATTRIBUTE_NAME.eq(SECURITY_CONTEXT))
+            .fetchSingle()
+            .value1();
+    }
+
+    private static byte[] serializedContext(Object principal, CustomUserDetails.UserType userType) throws IOException {
+        // Same encoding Spring Session JDBC uses for the SPRING_SECURITY_CONTEXT attribute
+        SecurityContextImpl context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+            principal, null, userType.authorities()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(context);
+        }
+        return bytes.toByteArray();
+    }
+}
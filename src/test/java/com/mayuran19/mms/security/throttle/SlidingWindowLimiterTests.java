@@ -0,0 +1,106 @@
+package com.mayuran19.mms.security.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTests {
+
+    private static final long WINDOW = 60_000;
+
+    private final SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, WINDOW, 1_000, 8_000, 1024, 1024);
+    private final ThrottleKey alice = ThrottleKey.of(LoginThrottle.Dimension.ACCOUNT, "alice@acme.test@tenant:acme");
+    private final ThrottleKey bob = ThrottleKey.of(LoginThrottle.Dimension.ACCOUNT, "bob@acme.test@tenant:acme");
+
+    @Test
+    void blocksAtLimitWithDoublingBackoff() {
+        long now = 10 * WINDOW;
+
+        assertThat(limiter.recordFailure(alice, now)).isZero();
+        assertThat(limiter.recordFailure(alice, now)).isZero();
+        assertThat(limiter.retryAfterMillis(alice, now)).isZero();
+
+        assertThat(limiter.recordFailure(alice, now)).isEqualTo(1_000);
+        assertThat(limiter.recordFailure(alice, now)).isEqualTo(2_000);
+        assertThat(limiter.recordFailure(alice, now)).isEqualTo(4_000);
+        assertThat(limiter.recordFailure(alice, now)).isEqualTo(8_000);
+        assertThat(limiter.recordFailure(alice, now)).isEqualTo(8_000);
+        assertThat(limiter.retryAfterMillis(alice, now)).isEqualTo(8_000);
+        assertThat(limiter.retryAfterMillis(bob, now)).isZero();
+    }
+
+    @Test
+    void previousWindowDecaysAsTheWindowSlides() {
+        long start = 10 * WINDOW;
+        limiter.recordFailure(alice, start);
+        limiter.recordFailure(alice, start);
+
+        // Half way through the next window half of the previous two failures still count
+        assertThat(limiter.recordFailure(alice, start + WINDOW + WINDOW / 2)).isZero();
+        // Two windows later they are gone
+        assertThat(limiter.recordFailure(bob, start + 3 * WINDOW)).isZero();
+        assertThat(limiter.recordFailure(alice, start + 3 * WINDOW)).isZero();
+    }
+
+    @Test
+    void resetClearsFailuresAndBlock() {
+        long now = 10 * WINDOW;
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailure(alice, now);
+        }
+        limiter.reset(alice);
+
+        assertThat(limiter.retryAfterMillis(alice, now)).isZero();
+        assertThat(limiter.recordFailure(alice, now)).isZero();
+    }
+
+    @Test
+    void floodOfFailuresOnOtherKeysNeverBlocksAnUntouchedKey() {
+        // The default account settings under a flood of 400 failures a second for a whole window
+        SlidingWindowLimiter accounts = new SlidingWindowLimiter(5, 15 * WINDOW, 1_000, 900_000, 16384, 65536);
+        long start = 10 * 15 * WINDOW;
+        for (int i = 0; i < 360_000; i++) {
+            ThrottleKey attacked = ThrottleKey.of(LoginThrottle.Dimension.ACCOUNT, "user-" + i + "@acme.test@tenant:acme");
+            long now = start + i * 2L;
+            assertThat(accounts.recordFailure(attacked, now)).isZero();
+        }
+        long end = start + 720_000;
+
+        assertThat(accounts.retryAfterMillis(alice, end)).isZero();
+        // One typo of a user whose slots every other key has crowded is still only one failure
+        assertThat(accounts.recordFailure(bob, end)).isZero();
+        assertThat(accounts.retryAfterMillis(bob, end)).isZero();
+    }
+
+    @Test
+    void keysSharingPreFilterSlotsDoNotAffectEachOther() {
+        // Two slots per row: every key shares them with every other
+        SlidingWindowLimiter crowded = new SlidingWindowLimiter(3, WINDOW, 1_000, 8_000, 2, 1024);
+        long now = 10 * WINDOW;
+        for (int i = 0; i < 3; i++) {
+            crowded.recordFailure(alice, now);
+        }
+
+        assertThat(crowded.retryAfterMillis(alice, now)).isEqualTo(1_000);
+        assertThat(crowded.retryAfterMillis(bob, now)).isZero();
+        // Bob logging in does not forgive Alice
+        crowded.reset(bob);
+        assertThat(crowded.retryAfterMillis(alice, now)).isEqualTo(1_000);
+    }
+
+    @Test
+    void forgetsTheLeastRecentlySeenKeyWhenFull() {
+        SlidingWindowLimiter small = new SlidingWindowLimiter(3, WINDOW, 1_000, 8_000, 1024, 2);
+        ThrottleKey carol = ThrottleKey.of(LoginThrottle.Dimension.ACCOUNT, "carol@globex.test@tenant:globex");
+        long now = 10 * WINDOW;
+        small.recordFailure(alice, now);
+        small.recordFailure(alice, now);
+        small.recordFailure(bob, now);
+        small.recordFailure(carol, now);
+
+        // Alice's two failures were forgotten to make room for Carol
+        assertThat(small.recordFailure(alice, now)).isZero();
+        assertThat(small.recordFailure(alice, now)).isZero();
+        assertThat(small.recordFailure(alice, now)).isEqualTo(1_000);
+    }
+}
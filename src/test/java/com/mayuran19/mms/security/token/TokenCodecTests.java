@@ -0,0 +1,55 @@
+package com.mayuran19.mms.security.token;
+
+import com.mayuran19.mms.security.CustomUserDetails;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenCodecTests {
+
+    private final TokenCodec codec = new TokenCodec(secret((byte) 1));
+
+    @Test
+    void roundTripsClaims() {
+        AuthToken token = new AuthToken(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            CustomUserDetails.UserType.TENANT,
+            UUID.randomUUID(),
+            "alice@acme.test",
+            "alice@acme.test",
+            Instant.now().plus(30, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS)
+        );
+
+        assertThat(codec.decode(codec.encode(token))).contains(token);
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        AuthToken token = new AuthToken(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            CustomUserDetails.UserType.PLATFORM,
+            null,
+            "admin",
+            "admin@platform.local",
+            Instant.now().plus(30, ChronoUnit.MINUTES)
+        );
+
+        String foreign = new TokenCodec(secret((byte) 2)).encode(token);
+
+        assertThat(codec.decode(foreign)).isEmpty();
+        assertThat(codec.decode("not-a-token")).isEmpty();
+    }
+
+    private static byte[] secret(byte value) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, value);
+        return secret;
+    }
+}
@@ -0,0 +1,91 @@
+package com.mayuran19.mms.support;
+
+import org.jooq.DSLContext;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mayuran19.mms.jooq.Tables.SPRING_SESSION;
+import static com.mayuran19.mms.jooq.Tables.TENANTS;
+import static com.mayuran19.mms.jooq.Tables.TENANT_USERS;
+
+/**
+ * Rows that tests insert directly, bypassing the services under test.
+ */
+public final class Fixtures {
+
+    public static final UUID ADMIN_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private Fixtures() {
+    }
+
+    /**
+     * Inserts an {@code ACTIVE} tenant without members or a {@code tenant_stats} row.
+     */
+    public static UUID insertTenant(DSLContext dsl, String slug) {
+        OffsetDateTime now = OffsetDateTime.now();
+        UUID id = UUID.randomUUID();
+        dsl.insertInto(TENANTS)
+            .set(TENANTS.ID, id)
+            .set(TENANTS.NAME, slug)
+            .set(TENANTS.SLUG, slug)
+            .set(TENANTS.STATUS, "ACTIVE")
+            .set(TENANTS.CREATED_BY, ADMIN_ID)
+            .set(TENANTS.CREATED_DATE, now)
+            .set(TENANTS.LAST_MODIFIED_BY, ADMIN_ID)
+            .set(TENANTS.LAST_MODIFIED_DATE, now)
+            .execute();
+        return id;
+    }
+
+    /**
+     * Inserts {@code count} members named {@code <prefix>-<n>@<prefix>.test}. The tenant's
+     * {@code tenant_stats} counter is left to the caller.
+     */
+    public static List<UUID> insertTenantUsers(DSLContext dsl, UUID tenantId, String prefix, int count, String status) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            dsl.insertInto(TENANT_USERS)
+                .set(TENANT_USERS.ID, id)
+                .set(TENANT_USERS.TENANT_ID, tenantId)
+                .set(TENANT_USERS.EMAIL, prefix + "-" + i + "@" + prefix + ".test")
+                .set(TENANT_USERS.PASSWORD_HASH, "unused")
+                .set(TENANT_USERS.FIRST_NAME, "Member")
+                .set(TENANT_USERS.LAST_NAME, String.valueOf(i))
+                .set(TENANT_USERS.STATUS, status)
+                .set(TENANT_USERS.CREATED_BY, ADMIN_ID)
+                .set(TENANT_USERS.CREATED_DATE, now)
+                .set(TENANT_USERS.LAST_MODIFIED_BY, ADMIN_ID)
+                .set(TENANT_USERS.LAST_MODIFIED_DATE, now)
+                .execute();
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts a live session indexed under {@code principalName}, as Spring Session JDBC would.
+     */
+    public static String insertSession(DSLContext dsl, String principalName) {
+        String id = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        dsl.insertInto(SPRING_SESSION)
+            .set(SPRING_SESSION.PRIMARY_ID, id)
+            .set(SPRING_SESSION.SESSION_ID, UUID.randomUUID().toString())
+            .set(SPRING_SESSION.CREATION_TIME, now)
+            .set(SPRING_SESSION.LAST_ACCESS_TIME, now)
+            .set(SPRING_SESSION.MAX_INACTIVE_INTERVAL, 1800)
+            .set(SPRING_SESSION.EXPIRY_TIME, now + 1_800_000)
+            .set(SPRING_SESSION.PRINCIPAL_NAME, principalName)
+            .execute();
+        return id;
+    }
+
+    public static int countSessions(DSLContext dsl, String principalName) {
+        return dsl.fetchCount(SPRING_SESSION, SPRING_SESSION.PRINCIPAL_NAME.eq(principalName));
+    }
+}
\ No newline at end of file
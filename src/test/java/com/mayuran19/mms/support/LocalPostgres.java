@@ -0,0 +1,159 @@
+package com.mayuran19.mms.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * PostgreSQL for tests and benchmarks that does not need Docker.
+ * <p>
+ * If {@code MMS_TEST_POSTGRES_URL} (or the {@code mms.test.postgres.url} system property) is set,
+ * that pre-provisioned instance is used together with the matching {@code _USER}/{@code _PASSWORD}
+ * settings. Each {@link #start()} then creates a throwaway database next to the configured one,
+ * which requires the {@code CREATEDB} privilege, and {@link #close()} drops it, so test classes
+ * never see each other's rows. Otherwise an embedded PostgreSQL binary is unpacked and started
+ * on a free port.
+ */
+public final class LocalPostgres implements AutoCloseable {
+
+    private static final String CHANGELOG = "classpath:db/changelog/db.changelog-master.xml";
+
+    private final EmbeddedPostgres embedded;
+    private final DataSource adminDataSource;
+    private final String database;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final DataSource dataSource;
+
+    private LocalPostgres(EmbeddedPostgres embedded, DataSource adminDataSource, String database,
+                          String jdbcUrl, String username, String password) {
+        this.embedded = embedded;
+        this.adminDataSource = adminDataSource;
+        this.database = database;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.dataSource = new DriverManagerDataSource(jdbcUrl, username, password);
+    }
+
+    public static LocalPostgres start() {
+        String url = setting("mms.test.postgres.url", "MMS_TEST_POSTGRES_URL", null);
+        if (url != null) {
+            String username = setting("mms.test.postgres.username", "MMS_TEST_POSTGRES_USER", "mms");
+            String password = setting("mms.test.postgres.password", "MMS_TEST_POSTGRES_PASSWORD", "password");
+            DataSource admin = new DriverManagerDataSource(url, username, password);
+            String database = "mms_test_" + UUID.randomUUID().toString().replace("-", "");
+            new JdbcTemplate(admin).execute("CREATE DATABASE " + database);
+            return new LocalPostgres(null, admin, database, withDatabase(url, database), username, password);
+        }
+        try {
+            EmbeddedPostgres embedded = EmbeddedPostgres.builder().start();
+            return new LocalPostgres(embedded, null, null, embedded.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start embedded PostgreSQL", e);
+        }
+    }
+
+    /**
+     * {@code url} with its database name replaced, keeping host, port and parameters.
+     */
+    private static String withDatabase(String url, String database) {
+        int hostStart = url.indexOf("//") + 2;
+        int parameters = url.indexOf('?', hostStart);
+        int hostEnd = parameters < 0 ? url.length() : parameters;
+        int slash = url.indexOf('/', hostStart);
+        int start = slash < 0 || slash > hostEnd ? hostEnd : slash;
+        return url.substring(0, start) + "/" + database + url.substring(hostEnd);
+    }
+
+    private static String setting(String property, String env, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            value = System.getenv(env);
+        }
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+
+    /**
+     * Applies the application's Liquibase changelog.
+     */
+    public LocalPostgres migrate() {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGELOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to apply Liquibase changelog", e);
+        }
+        return this;
+    }
+
+    /**
+     * Runs the given classpath SQL scripts, e.g. {@code db/seed/test-data.sql}.
+     */
+    public LocalPostgres seed(String... scripts) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String script : scripts) {
+            populator.addScript(new ClassPathResource(script));
+        }
+        populator.execute(dataSource);
+        return this;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * jOOQ on this database that joins the Spring transaction of the calling thread, as the
+     * application's does, e.g. one started by {@link #transactionTemplate()}.
+     */
+    public DSLContext transactionalDsl() {
+        return DSL.using(new TransactionAwareDataSourceProxy(dataSource), SQLDialect.POSTGRES);
+    }
+
+    public TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+        if (database != null) {
+            // FORCE closes connections a Spring test context's pool may still hold
+            new JdbcTemplate(adminDataSource).execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+        }
+    }
+}
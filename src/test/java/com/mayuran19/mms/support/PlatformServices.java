@@ -0,0 +1,45 @@
+package com.mayuran19.mms.support;
+
+import com.mayuran19.mms.platform.audit.AuditLog;
+import com.mayuran19.mms.platform.audit.AuditProperties;
+import com.mayuran19.mms.platform.audit.AuditRepository;
+import com.mayuran19.mms.platform.stats.DashboardStatsProperties;
+import com.mayuran19.mms.platform.stats.DashboardStatsRepository;
+import com.mayuran19.mms.platform.stats.DashboardStatsService;
+import com.mayuran19.mms.platform.sync.SyncProperties;
+import com.mayuran19.mms.platform.sync.SyncService;
+import com.mayuran19.mms.platform.sync.TombstoneRepository;
+import com.mayuran19.mms.platform.tenant.TenantRepository;
+import com.mayuran19.mms.platform.tenant.TenantUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * The collaborators every tenant and member service is built on, wired by hand with the
+ * application's default properties, for tests that construct those services directly.
+ */
+public record PlatformServices(
+    MeterRegistry meterRegistry,
+    SyncService syncService,
+    DashboardStatsService dashboardStatsService,
+    AuditLog auditLog
+) {
+
+    public static PlatformServices create(DSLContext dsl, TransactionTemplate transactionTemplate) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SyncService syncService = new SyncService(new TenantRepository(dsl), new TenantUserRepository(dsl),
+            new TombstoneRepository(dsl),
+            new SyncProperties(Duration.ofSeconds(5), Duration.ofDays(30), Duration.ofHours(1), 500, 1000));
+        DashboardStatsService dashboardStatsService = new DashboardStatsService(new DashboardStatsRepository(dsl), dsl,
+            transactionTemplate, new DashboardStatsProperties(Duration.ofMinutes(5), Duration.ofSeconds(30),
+            Duration.ofSeconds(15), 500, Duration.ofSeconds(30)), meterRegistry);
+        AuditLog auditLog = new AuditLog(new AuditRepository(dsl), new AuditProperties(AuditProperties.Mode.ASYNC, 1024,
+            500, Duration.ofMillis(200), Duration.ofSeconds(1), 5, Duration.ofSeconds(10), 2, 0, Duration.ofHours(6)),
+            meterRegistry);
+        return new PlatformServices(meterRegistry, syncService, dashboardStatsService, auditLog);
+    }
+}
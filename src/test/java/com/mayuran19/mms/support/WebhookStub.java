@@ -0,0 +1,54 @@
+package com.mayuran19.mms.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local receiver for the outbox webhook sink. Accepts batches on {@code POST /events}, logs
+ * their size and idempotency key, and fails the given share of them with {@code 503} to exercise
+ * redelivery.
+ * <p>
+ * Usage: {@code WebhookStub [port] [failureRate]}, by default {@code 8089 0.0}.
+ */
+public final class WebhookStub {
+
+    private WebhookStub() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        double failureRate = args.length > 1 ? Double.parseDouble(args[1]) : 0.0;
+        AtomicLong received = new AtomicLong();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/events", exchange -> {
+            try (exchange; InputStream body = exchange.getRequestBody()) {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                // Counts top-level objects; the payload has no nested ones
+                long events = json.chars().filter(c -> c == '{').count();
+                String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+                if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    System.out.printf("rejected batch %s (%d events)%n", key, events);
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                System.out.printf("accepted batch %s (%d events, %d total)%n", key, events, received.addAndGet(events));
+                exchange.sendResponseHeaders(204, -1);
+            }
+        });
+        server.start();
+        System.out.printf("Webhook stub listening on http://localhost:%d/events%n", port);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+-- Baseline data for repository tests and benchmarks.
+-- Every tenant user's password is 'Admin@123' (same hash as the initial platform admin).
+
+INSERT INTO tenants (id, name, slug, status, created_by, created_date, last_modified_by, last_modified_date)
+VALUES
+    ('01900000-0000-7000-8000-000000000001', 'Acme Corporation', 'acme', 'ACTIVE',
+     '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP, '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP),
+    ('01900000-0000-7000-8000-000000000002', 'Globex', 'globex', 'SUSPENDED',
+     '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP, '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP)
+ON CONFLICT (id) DO NOTHING;
+
+INSERT INTO tenant_users (id, tenant_id, email, password_hash, first_name, last_name, status,
+                          created_by, created_date, last_modified_by, last_modified_date)
+VALUES
+    ('01900000-0000-7000-8000-000000000101', '01900000-0000-7000-8000-000000000001', 'alice@acme.test',
+     '$2a$10$8K1p/a0dL3EjY6xJVUWzyeH3dC9hBGGaQpxWRMn9fLM.K3WK/1YBK', 'Alice', 'Anderson', 'ACTIVE',
+     '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP, '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP),
+    ('01900000-0000-7000-8000-000000000102', '01900000-0000-7000-8000-000000000001', 'bob@acme.test',
+     '$2a$10$8K1p/a0dL3EjY6xJVUWzyeH3dC9hBGGaQpxWRMn9fLM.K3WK/1YBK', 'Bob', 'Brown', 'ACTIVE',
+     '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP, '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP),
+    ('01900000-0000-7000-8000-000000000201', '01900000-0000-7000-8000-000000000002', 'carol@globex.test',
+     '$2a$10$8K1p/a0dL3EjY6xJVUWzyeH3dC9hBGGaQpxWRMn9fLM.K3WK/1YBK', 'Carol', 'Clark', 'SUSPENDED',
+     '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP, '00000000-0000-0000-0000-000000000001', CURRENT_TIMESTAMP)
+ON CONFLICT (id) DO NOTHING;